@@ -0,0 +1,121 @@
+package ng.edu.futo.sict_e_library.benchmarks.document_service;
+
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobEntry;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobIndex;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.StagedBlob;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The document-service blob store holding {@code blobs} files of {@code blobSize} bytes:
+ * <ul>
+ *     <li>{@code indexLookup}: how a download finds its blob, one probe of the in-memory index</li>
+ *     <li>{@code shardedStat} and {@code flatStat}: the file-system lookup the index replaces, in
+ *     the 256-way sharded layout and in a single directory holding every blob (as hard links)</li>
+ *     <li>{@code write}: stage and commit a new blob, i.e. hash, fsync, rename into its shard and
+ *     insert its row</li>
+ *     <li>{@code openIndex} and {@code rebuildIndex}: what startup costs when the index file is
+ *     intact, and when it has to be rebuilt from {@code content_blobs} and the disk</li>
+ * </ul>
+ * Blobs are small so the numbers reflect the store's own overhead rather than disk bandwidth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class BlobStoreBenchmark {
+
+    @Param({"100000"})
+    private int blobs;
+
+    @Param({"1024"})
+    private int blobSize;
+
+    private Path rootDir;
+    private Path flatDir;
+    private ConfigurableApplicationContext context;
+    private BlobStore blobStore;
+    private TransactionTemplate transactionTemplate;
+    private String[] hashes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rootDir = Files.createTempDirectory("blob-store-bench");
+        context = DocumentServiceContext.start(rootDir);
+        blobStore = context.getBean(BlobStore.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        hashes = DocumentServiceContext.seedBlobs(context, blobs, blobSize);
+
+        flatDir = Files.createDirectories(rootDir.resolve("flat"));
+        for (String sha256 : hashes) {
+            Files.createLink(flatDir.resolve(sha256), blobStore.blobPath(sha256));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(rootDir);
+    }
+
+    @Benchmark
+    public BlobEntry indexLookup() {
+        return blobStore.find(randomHash());
+    }
+
+    @Benchmark
+    public BasicFileAttributes shardedStat() throws IOException {
+        return Files.readAttributes(blobStore.blobPath(randomHash()), BasicFileAttributes.class);
+    }
+
+    @Benchmark
+    public BasicFileAttributes flatStat() throws IOException {
+        return Files.readAttributes(flatDir.resolve(randomHash()), BasicFileAttributes.class);
+    }
+
+    @Benchmark
+    public ContentBlob write() throws IOException {
+        byte[] content = new byte[blobSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        StagedBlob staged = blobStore.stage(new ByteArrayInputStream(content));
+        return transactionTemplate.execute(status -> blobStore.commit(staged));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int openIndex() throws IOException {
+        try (BlobIndex index = new BlobIndex(rootDir.resolve("blob-index.dat"))) {
+            return index.size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public void rebuildIndex() {
+        blobStore.rebuildIndex();
+    }
+
+    private String randomHash() {
+        return hashes[ThreadLocalRandom.current().nextInt(hashes.length)];
+    }
+}
@@ -0,0 +1,151 @@
+package ng.edu.futo.sict_e_library.benchmarks.document_service;
+
+import ng.edu.futo.sict_e_library.document_service.extraction.DocxTextExtractor;
+import ng.edu.futo.sict_e_library.document_service.extraction.PdfTextExtractor;
+import ng.edu.futo.sict_e_library.document_service.extraction.PdfThumbnailRenderer;
+import ng.edu.futo.sict_e_library.document_service.extraction.PptxTextExtractor;
+import ng.edu.futo.sict_e_library.document_service.extraction.PptxThumbnailRenderer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time one processing worker spends per file and stage, for {@code pages}-page PDF, DOCX and
+ * PPTX files of generated text: text extraction ({@code *Text}) and the first-page
+ * thumbnail ({@code *Thumbnail}). Divide the upload rate by these to size
+ * {@code document.processing.workers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g", "-Djava.awt.headless=true"})
+public class DocumentProcessingBenchmark {
+
+    private static final int MAX_CHARS = 1_000_000;
+    private static final int THUMBNAIL_WIDTH = 240;
+    private static final String[] WORDS = ("the discrete fourier transform of a finite sequence equally spaced samples " +
+            "converts function into same length frequency domain signal filter convolution spectrum window").split(" ");
+
+    @Param({"20"})
+    private int pages;
+
+    private final Random random = new Random(42);
+    private Path dir;
+    private Path pdf;
+    private Path docx;
+    private Path pptx;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("document-processing-bench");
+        pdf = writePdf(dir.resolve("notes.pdf"));
+        docx = writeDocx(dir.resolve("notes.docx"));
+        pptx = writePptx(dir.resolve("slides.pptx"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(dir);
+    }
+
+    @Benchmark
+    public String pdfText() throws IOException {
+        return new PdfTextExtractor().extract(pdf, MAX_CHARS);
+    }
+
+    @Benchmark
+    public BufferedImage pdfThumbnail() throws IOException {
+        return new PdfThumbnailRenderer().render(pdf, THUMBNAIL_WIDTH);
+    }
+
+    @Benchmark
+    public String docxText() throws IOException {
+        return new DocxTextExtractor().extract(docx, MAX_CHARS);
+    }
+
+    @Benchmark
+    public String pptxText() throws IOException {
+        return new PptxTextExtractor().extract(pptx, MAX_CHARS);
+    }
+
+    @Benchmark
+    public BufferedImage pptxThumbnail() throws IOException {
+        return new PptxThumbnailRenderer().render(pptx, THUMBNAIL_WIDTH);
+    }
+
+    // Varied words, so the Office files compress like real ones rather than tripping POI's zip-bomb check
+    private String line() {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return line.toString().trim();
+    }
+
+    private Path writePdf(Path file) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(12);
+                    content.newLineAtOffset(50, 740);
+                    for (int line = 0; line < 55; line++) {
+                        content.showText(line());
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+
+    private Path writeDocx(Path file) throws IOException {
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            for (int paragraph = 0; paragraph < pages * 55; paragraph++) {
+                document.createParagraph().createRun().setText(line());
+            }
+            document.write(out);
+        }
+        return file;
+    }
+
+    private Path writePptx(Path file) throws IOException {
+        try (XMLSlideShow slideShow = new XMLSlideShow(); OutputStream out = Files.newOutputStream(file)) {
+            for (int s = 0; s < pages; s++) {
+                XSLFSlide slide = slideShow.createSlide();
+                XSLFTextBox box = slide.createTextBox();
+                box.setAnchor(new Rectangle(40, 40, 640, 460));
+                for (int line = 0; line < 8; line++) {
+                    box.addNewTextParagraph().addNewTextRun().setText(line());
+                }
+            }
+            slideShow.write(out);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,138 @@
+package ng.edu.futo.sict_e_library.benchmarks.document_service;
+
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchIndex;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchQuery;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@code GET /api/docs} against the search index holding {@code documents} approved
+ * documents of {@code words} words of extracted text each, sampled so the report shows p99:
+ * <ul>
+ *     <li>{@code keyword}: two words, ranked with BM25, with category counts</li>
+ *     <li>{@code prefix}: one word and the first three letters of the next (search-as-you-type)</li>
+ *     <li>{@code keywordInCategory}: the same two words within one category</li>
+ *     <li>{@code browseCategory}: no keyword, newest first within one category</li>
+ * </ul>
+ * Words are drawn from a 15k-word vocabulary with a Zipf-like skew, so common words match most
+ * documents and rare ones few, as in real lecture notes. Query words come from the middle of the
+ * vocabulary. The index is built once per trial, with Lucene directly rather than through Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class DocumentSearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 15_000;
+    private static final String[] SYLLABLES = {
+            "al", "ba", "con", "de", "ek", "fo", "gra", "hy", "in", "ju", "ki", "lo", "mo", "na", "or",
+            "pe", "qua", "ro", "si", "tu", "un", "ve", "wa", "xe", "yo", "ze"
+    };
+    private static final DocumentCategory[] CATEGORIES = DocumentCategory.values();
+
+    @Param({"50000"})
+    private int documents;
+
+    @Param({"500"})
+    private int words;
+
+    private Path indexDir;
+    private DocumentSearchIndex index;
+    private String[] vocabulary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            vocabulary[i] = word(i);
+        }
+
+        indexDir = Files.createTempDirectory("document-search-bench");
+        index = new DocumentSearchIndex(indexDir);
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        long began = System.nanoTime();
+        for (int i = 0; i < documents; i++) {
+            Document document = Document.builder()
+                    .id(String.format("doc-%06d", i))
+                    .title(text(random, 6))
+                    .description(text(random, 30))
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .status(DocumentStatus.APPROVED)
+                    .uploaderId("uploader-" + random.nextInt(200))
+                    .originalFilename("document-" + i + ".pdf")
+                    .contentType("application/pdf")
+                    .sizeBytes(100_000L + random.nextInt(10_000_000))
+                    .createdAt(start.plusMinutes(i * 30L))
+                    .build();
+            index.index(document, text(random, words));
+        }
+        index.commit();
+        index.refresh();
+        System.out.printf("%nIndexed %d documents in %d ms%n", documents, (System.nanoTime() - began) / 1_000_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        FileSystemUtils.deleteRecursively(indexDir);
+    }
+
+    @Benchmark
+    public DocumentSearchResult keyword() throws IOException {
+        return index.search(new DocumentSearchQuery(queryWord() + " " + queryWord(), null, false, 0, 20));
+    }
+
+    @Benchmark
+    public DocumentSearchResult prefix() throws IOException {
+        return index.search(new DocumentSearchQuery(queryWord() + " " + queryWord().substring(0, 3), null, true, 0, 20));
+    }
+
+    @Benchmark
+    public DocumentSearchResult keywordInCategory() throws IOException {
+        return index.search(new DocumentSearchQuery(queryWord() + " " + queryWord(), randomCategory(), false, 0, 20));
+    }
+
+    @Benchmark
+    public DocumentSearchResult browseCategory() throws IOException {
+        return index.search(new DocumentSearchQuery(null, randomCategory(), false, 0, 20));
+    }
+
+    private String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length * 8);
+        for (int i = 0; i < length; i++) {
+            // Rank r is drawn with probability roughly proportional to 1/r
+            int rank = (int) Math.pow(VOCABULARY_SIZE, random.nextDouble()) - 1;
+            text.append(vocabulary[rank]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String queryWord() {
+        return vocabulary[ThreadLocalRandom.current().nextInt(100, 2_000)];
+    }
+
+    private static DocumentCategory randomCategory() {
+        return CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+    }
+
+    private static String word(int n) {
+        // Three syllables give up to 26^3 distinct words of at least six letters
+        return SYLLABLES[n % 26] + SYLLABLES[n / 26 % 26] + SYLLABLES[n / 676 % 26];
+    }
+}
@@ -0,0 +1,97 @@
+package ng.edu.futo.sict_e_library.benchmarks.document_service;
+
+import ng.edu.futo.sict_e_library.document_service.DocumentServiceApplication;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Boots document-service against a private in-memory H2 database and a blob store in
+ * {@code rootDir}, and fills the store directly on disk and through JDBC batches, so storage
+ * benchmarks start from a realistic number of blobs without uploading each one.
+ */
+public final class DocumentServiceContext {
+
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private DocumentServiceContext() {
+    }
+
+    public static ConfigurableApplicationContext start(Path rootDir, String... extraProperties) {
+        return new SpringApplicationBuilder(DocumentServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.kafka.bootstrap-servers=localhost:9092",
+                        "eureka.client.enabled=false",
+                        "document.storage.root-dir=" + rootDir,
+                        "document.storage.scrub.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+    }
+
+    /**
+     * Writes {@code count} blobs of {@code size} random bytes into their shard directories,
+     * inserts their {@code content_blobs} rows and rebuilds the index from them. Returns the
+     * hashes in insertion order.
+     */
+    public static String[] seedBlobs(ConfigurableApplicationContext context, int count, int size) throws IOException {
+        BlobStore blobStore = context.getBean(BlobStore.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String sql = "INSERT INTO content_blobs (sha256, size_bytes, storage_path, ref_count, created_at) " +
+                "VALUES (?, ?, ?, 1, ?)";
+
+        MessageDigest digest = sha256();
+        Random random = new Random(42);
+        byte[] content = new byte[size];
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 0, 0));
+        String[] hashes = new String[count];
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(content);
+            String sha256 = HexFormat.of().formatHex(digest.digest(content));
+            Path path = blobStore.blobPath(sha256);
+            Files.createDirectories(path.getParent());
+            Files.write(path, content);
+            hashes[i] = sha256;
+            batch.add(new Object[]{sha256, (long) size, "blobs/" + sha256.substring(0, 2) + "/" + sha256, createdAt});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        blobStore.rebuildIndex();
+        return hashes;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.util.EmailValidator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@code EmailValidator.isValidFacultyEmail} call, run on every registration and
+ * import row. The emails cycle through exact, subdomain, mixed-case and rejected domains; run
+ * with {@code -prof gc} to see allocation per call, which should be 0.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidatorBenchmark {
+
+    private static final String[] EMAILS = {
+            "student@futo.edu.ng",
+            "dean@sict.futo.edu.ng",
+            "Lecturer@FUTO.EDU.NG",
+            "someone@gmail.com",
+            "student@students.sict.futo.edu.ng",
+            "visitor@notfuto.edu.ng",
+            "admin@seet.futo.edu.ng",
+            "librarian@unn.edu.ng"
+    };
+
+    private EmailValidator emailValidator;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "faculty.email.allowed-domains", "futo.edu.ng,unn.edu.ng,uniben.edu,unilag.edu.ng",
+                "faculty.email.validation-enabled", "true")));
+        emailValidator = new EmailValidator(environment);
+    }
+
+    @Benchmark
+    public boolean isValidFacultyEmail() {
+        return emailValidator.isValidFacultyEmail(EMAILS[next++ & (EMAILS.length - 1)]);
+    }
+}
@@ -0,0 +1,102 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import jakarta.persistence.EntityManagerFactory;
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.scheduler.StudentAccountExpiryScheduler;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code perf} persistence profile (JDBC batching, ordered inserts, fetch size) against the
+ * defaults, on two workloads at 20k users: one expiry run of the scheduler over 16k graduated
+ * students (each chunk appends an outbox event per row) and one registration. Statements
+ * prepared per operation are printed after each iteration from Hibernate's statistics.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistenceProfileBenchmark {
+
+    private static final int TOTAL_USERS = 20_000;
+
+    @Param({"default", "perf"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private StudentAccountExpiryScheduler scheduler;
+    private UserService userService;
+    private Statistics statistics;
+    private long operations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = UserServiceContext.start(
+                "spring.profiles.active=" + profile,
+                "scheduler.student-account-cleanup.enabled=true",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        UserServiceContext.seedUsers(context, TOTAL_USERS);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        scheduler = context.getBean(StudentAccountExpiryScheduler.class);
+        userService = context.getBean(UserService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetIteration() {
+        // Every seeded student graduated in the past and is active again, ready to be expired
+        jdbcTemplate.update("UPDATE users SET grad_year = 2020, status = 'ACTIVE', account_not_expired = TRUE " +
+                "WHERE role = 'STUDENT'");
+        jdbcTemplate.update("DELETE FROM user_event_outbox");
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%.2f statements/op%n", (double) statistics.getPrepareStatementCount() / Math.max(operations, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void expireGraduatedStudents() {
+        operations++;
+        scheduler.checkAndExpireStudentAccounts();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object registerUser() {
+        operations++;
+        int i = next++;
+        return userService.registerUser(UserRegistrationRequestDTO.builder()
+                .email(profile + "-reg" + i + "@futo.edu.ng")
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .role(UserRole.STUDENT)
+                .accountType(AccountType.STUDENT)
+                .department("Computer Science")
+                .matricNumber(profile + "-REG" + i)
+                .gradYear(Year.now().getValue() + 4)
+                .build());
+    }
+}
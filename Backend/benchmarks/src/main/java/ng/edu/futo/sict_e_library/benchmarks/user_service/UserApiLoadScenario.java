@@ -0,0 +1,253 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.edu.futo.sict_e_library.user_service.util.UserDataGenerator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load against a running user-service that was started with the {@code seed}
+ * profile. The scenario regenerates the seeded IDs and emails from the same seed and reference
+ * date, so every lookup hits a real user. Each worker sends its next request as soon as the
+ * previous one returns, picking the endpoint from a fixed read-heavy mix; latencies recorded
+ * after the warmup are reported per endpoint as p50/p90/p99/max with throughput.
+ * <p>
+ * Usage: {@code UserApiLoadScenario [base-url=http://localhost:8082] [users=100000] [seed=42]
+ * [reference-date=yyyy-mm-dd] [concurrency=16] [warmup=10] [duration=60]} (times in seconds);
+ * {@code users}, {@code seed} and {@code reference-date} must match the seeder's settings.
+ */
+public final class UserApiLoadScenario {
+
+    private enum Endpoint {
+        GET_BY_ID(35),
+        GET_BY_EMAIL(10),
+        LIST_KEYSET(10),
+        LIST_BY_ROLE(10),
+        SEARCH(15),
+        STATISTICS(5),
+        UPDATE_LAST_LOGIN(10),
+        UPDATE_STATUS(5);
+
+        private final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final int users;
+    private final UserDataGenerator generator;
+    private final Endpoint[] mix;
+
+    private UserApiLoadScenario(String baseUrl, int users, UserDataGenerator generator) {
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.users = users;
+        this.generator = generator;
+        List<Endpoint> weighted = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (int i = 0; i < endpoint.weight; i++) {
+                weighted.add(endpoint);
+            }
+        }
+        this.mix = weighted.toArray(Endpoint[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                System.err.println("Arguments are key=value pairs, got: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8082");
+        int users = Integer.parseInt(options.getOrDefault("users", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        LocalDate referenceDate = options.containsKey("reference-date")
+                ? LocalDate.parse(options.get("reference-date")) : LocalDate.now();
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "10"));
+        long duration = Long.parseLong(options.getOrDefault("duration", "60"));
+
+        UserApiLoadScenario scenario = new UserApiLoadScenario(baseUrl, users, new UserDataGenerator(seed, referenceDate));
+        System.out.printf("%d workers against %s for %d s (+%d s warmup), %d seeded users%n",
+                concurrency, baseUrl, duration, warmup, users);
+        scenario.run(concurrency, warmup, duration);
+    }
+
+    private void run(int concurrency, long warmupSeconds, long durationSeconds) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            SplittableRandom random = new SplittableRandom(w);
+            futures.add(workers.submit(() -> drive(random, measureFrom, end)));
+        }
+        Recorder total = new Recorder();
+        for (Future<Recorder> future : futures) {
+            total.merge(future.get());
+        }
+        workers.shutdown();
+
+        total.print(Duration.ofNanos(end - measureFrom).toNanos() / 1e9);
+    }
+
+    private Recorder drive(SplittableRandom random, long measureFrom, long end) {
+        Recorder recorder = new Recorder();
+        String cursor = null;
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            Endpoint endpoint = mix[random.nextInt(mix.length)];
+            int user = random.nextInt(users);
+            HttpRequest request = switch (endpoint) {
+                case GET_BY_ID -> get("/api/users/" + generator.userId(user));
+                case GET_BY_EMAIL -> get("/api/users/email/" + encode(generator.email(user)));
+                case LIST_KEYSET -> get("/api/users?size=50" + (cursor != null ? "&cursor=" + encode(cursor) : ""));
+                case LIST_BY_ROLE -> get("/api/users/role/STUDENT?size=50");
+                case SEARCH -> get("/api/users/search?keyword=" + encode(prefix(generator.lastName(user))));
+                case STATISTICS -> get("/api/users/statistics");
+                case UPDATE_LAST_LOGIN -> put("/api/users/" + generator.userId(user) + "/last-login");
+                case UPDATE_STATUS -> put("/api/users/" + generator.userId(user) + "/status?status=ACTIVE");
+            };
+
+            boolean ok;
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                ok = response.statusCode() < 400;
+                if (ok && endpoint == Endpoint.LIST_KEYSET) {
+                    // walk the listing page by page, starting over at the end
+                    JsonNode next = OBJECT_MAPPER.readTree(response.body()).path("data").path("nextCursor");
+                    cursor = next.isTextual() ? next.asText() : null;
+                }
+            } catch (IOException ex) {
+                ok = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (now >= measureFrom) {
+                recorder.record(endpoint, System.nanoTime() - now, ok);
+            }
+        }
+        return recorder;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest put(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private static String prefix(String name) {
+        return name.substring(0, Math.min(name.length(), 4));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Raw latencies per endpoint for one worker; kept exact rather than bucketed, a minute of
+     * load is at most a few million longs.
+     */
+    private static final class Recorder {
+
+        private final Map<Endpoint, long[]> latencies = new HashMap<>();
+        private final Map<Endpoint, Integer> counts = new HashMap<>();
+        private final Map<Endpoint, Integer> errors = new HashMap<>();
+
+        void record(Endpoint endpoint, long nanos, boolean ok) {
+            int count = counts.getOrDefault(endpoint, 0);
+            long[] values = latencies.computeIfAbsent(endpoint, e -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(endpoint, values);
+            }
+            values[count] = nanos;
+            counts.put(endpoint, count + 1);
+            if (!ok) {
+                errors.merge(endpoint, 1, Integer::sum);
+            }
+        }
+
+        void merge(Recorder other) {
+            for (Endpoint endpoint : other.counts.keySet()) {
+                long[] values = other.latencies.get(endpoint);
+                for (int i = 0; i < other.counts.get(endpoint); i++) {
+                    record(endpoint, values[i], true);
+                }
+            }
+            other.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Integer::sum));
+        }
+
+        void print(double seconds) {
+            System.out.printf("%n%-18s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            long[] all = new long[0];
+            int allErrors = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                int count = counts.getOrDefault(endpoint, 0);
+                if (count == 0) {
+                    continue;
+                }
+                long[] values = Arrays.copyOf(latencies.get(endpoint), count);
+                int failed = errors.getOrDefault(endpoint, 0);
+                printRow(endpoint.name(), values, failed, seconds);
+                all = concat(all, values);
+                allErrors += failed;
+            }
+            if (all.length > 0) {
+                printRow("TOTAL", all, allErrors, seconds);
+            }
+        }
+
+        private static void printRow(String name, long[] values, int failed, double seconds) {
+            Arrays.sort(values);
+            System.out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", name, values.length, failed,
+                    values.length / seconds, percentile(values, 50), percentile(values, 90), percentile(values, 99),
+                    values[values.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+
+        private static long[] concat(long[] first, long[] second) {
+            long[] result = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import ng.edu.futo.sict_e_library.user_service.event.serialization.UserEventDeserializer;
+import ng.edu.futo.sict_e_library.user_service.event.serialization.UserEventFormat;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@code user-events} value in each {@link UserEventFormat}: encode and decode time
+ * per event, plus the encoded size, printed once per trial as {@code bytes/event}. The events
+ * mimic what the expiry scheduler emits in bulk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserEventSerializationBenchmark {
+
+    private static final String TOPIC = "user-events";
+    private static final int EVENTS = 1024;
+
+    @Param({"JSON", "BINARY"})
+    private UserEventFormat format;
+
+    private Serializer<UserEvent> serializer;
+    private final UserEventDeserializer deserializer = new UserEventDeserializer();
+    private final UserEvent[] events = new UserEvent[EVENTS];
+    private final byte[][] encoded = new byte[EVENTS][];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = format.serializer();
+        long totalBytes = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            events[i] = UserEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType((i % 2 == 0 ? UserEventType.USER_EXPIRED : UserEventType.USER_EXPIRY_WARNING).name())
+                    .userId(UUID.randomUUID().toString())
+                    .email("student" + i + "@students.futo.edu.ng")
+                    .firstName("Student" + i)
+                    .lastName("Surname" + i)
+                    .message("Your e-library account has expired after graduation")
+                    .timestamp(LocalDateTime.of(2025, 1, 1, 2, 0).plusSeconds(i))
+                    .build();
+            encoded[i] = serializer.serialize(TOPIC, events[i]);
+            totalBytes += encoded[i].length;
+        }
+        System.out.printf("%n%s: %.1f bytes/event%n", format, (double) totalBytes / EVENTS);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, events[next++ & (EVENTS - 1)]);
+    }
+
+    @Benchmark
+    public UserEvent deserialize() {
+        return deserializer.deserialize(TOPIC, encoded[next++ & (EVENTS - 1)]);
+    }
+}
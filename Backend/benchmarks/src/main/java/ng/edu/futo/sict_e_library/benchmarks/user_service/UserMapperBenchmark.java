@@ -0,0 +1,71 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import ng.edu.futo.sict_e_library.user_service.util.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one row into a {@link UserResponseDTO}, paid once per user on every listing
+ * page and cache miss: from a loaded {@link User} entity, and from the {@link UserView} row that
+ * the listing queries build with a constructor expression.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+    private User entity;
+    private UserView view;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime createdAt = LocalDateTime.of(2022, 9, 1, 8, 30);
+        entity = User.builder()
+                .id(UUID.randomUUID().toString())
+                .email("student42@futo.edu.ng")
+                .firstName("Chiamaka")
+                .lastName("Okafor")
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .phoneNumber("08031234567")
+                .department("Computer Science")
+                .matricNumber("20221234567")
+                .gradYear(2027)
+                .emailVerified(true)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusDays(3))
+                .lastLoginAt(createdAt.plusDays(30))
+                .version(4L)
+                .build();
+
+        view = new UserView(entity.getId(), entity.getEmail(), entity.getFirstName(), entity.getLastName(),
+                entity.getRole(), entity.getStatus(), entity.getAccountType(), entity.getPhoneNumber(),
+                entity.getDepartment(), entity.getMatricNumber(), entity.getStaffId(), entity.getGradYear(),
+                entity.getEmailVerified(), entity.getCreatedAt(), entity.getUpdatedAt(), entity.getLastLoginAt(),
+                entity.getVersion());
+    }
+
+    @Benchmark
+    public UserResponseDTO fromEntity() {
+        return userMapper.toResponseDTO(entity);
+    }
+
+    @Benchmark
+    public UserResponseDTO fromProjection() {
+        return userMapper.toResponseDTO(view);
+    }
+}
@@ -0,0 +1,98 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.exception.DuplicateUserException;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The registration hot path at 100k existing users: the three separate {@code exists} probes
+ * it used to run against the single combined probe, and a registration storm from four threads
+ * in which every eighth request reuses a matric number that is already taken. The number of
+ * duplicate matric numbers that made it into the table is printed at the end of each trial
+ * and should always be 0.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRegistrationBenchmark {
+
+    private static final int TOTAL_USERS = 100_000;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = UserServiceContext.start();
+        UserServiceContext.seedUsers(context, TOTAL_USERS);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRejected() {
+        System.out.printf("%n%d duplicate registrations rejected%n", rejected.getAndSet(0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Long duplicates = context.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT COUNT(matric_number) - COUNT(DISTINCT matric_number) FROM users", Long.class);
+        System.out.printf("%n%d duplicate matric numbers stored%n", duplicates);
+        context.close();
+    }
+
+    @Benchmark
+    public boolean separateExistsProbes() {
+        int i = next.incrementAndGet();
+        return userRepository.existsByEmail("new" + i + "@futo.edu.ng")
+                || userRepository.existsByMatricNumber("NEW" + i)
+                || userRepository.existsByStaffId("STAFF" + i);
+    }
+
+    @Benchmark
+    public boolean combinedProbe() {
+        int i = next.incrementAndGet();
+        return !userRepository.findIdentifierCollisions("new" + i + "@futo.edu.ng", "NEW" + i, "STAFF" + i).isEmpty();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object registrationStorm() {
+        int i = next.incrementAndGet();
+        // every eighth request reuses a seeded student's matric number
+        String matricNumber = i % 8 == 0 ? "2020" + (i % TOTAL_USERS / 20 * 20) : "REG" + i;
+        try {
+            return userService.registerUser(UserRegistrationRequestDTO.builder()
+                    .email("reg" + i + "@futo.edu.ng")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .role(UserRole.STUDENT)
+                    .accountType(AccountType.STUDENT)
+                    .department("Computer Science")
+                    .matricNumber(matricNumber)
+                    .gradYear(Year.now().getValue() + 4)
+                    .build());
+        } catch (DuplicateUserException | DataIntegrityViolationException ex) {
+            rejected.incrementAndGet();
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.RoleStatusCount;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserIdentifiers;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user-service queries behind its hot endpoints, called on the repository directly so the
+ * cache never answers, at 10k, 100k and 1M seeded users. Point lookups and keyset pages should
+ * stay flat as the table grows; the role/status matrix and substring search scan and are
+ * expected to grow with it (on PostgreSQL search is served by trigram indexes H2 lacks).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UserRepositoryQueryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000", "1000000"})
+    private int totalUsers;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = UserServiceContext.start();
+        UserServiceContext.seedUsers(context, totalUsers);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(UUID.nameUUIDFromBytes(("user-" + nextUser()).getBytes()).toString());
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail("user" + nextUser() + "@futo.edu.ng");
+    }
+
+    @Benchmark
+    public List<UserIdentifiers> registrationProbe() {
+        int i = nextUser();
+        return userRepository.findIdentifierCollisions("new" + i + "@futo.edu.ng", "NEW" + i, null);
+    }
+
+    @Benchmark
+    public List<User> keysetFirstPage() {
+        return userRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public List<RoleStatusCount> roleStatusCounts() {
+        return userRepository.countGroupedByRoleAndStatus();
+    }
+
+    @Benchmark
+    public Slice<UserView> search() {
+        String keyword = "last" + nextUser() % 1000;
+        return userRepository.searchUsers(keyword, "%" + keyword + "%", keyword + "%", PageRequest.of(0, 20));
+    }
+
+    private int nextUser() {
+        next = (next + 7919) % totalUsers;
+        return next;
+    }
+}
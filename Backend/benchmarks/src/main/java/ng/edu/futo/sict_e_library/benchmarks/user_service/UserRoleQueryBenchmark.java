@@ -0,0 +1,54 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.response.CursorPageResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of {@code GET /api/users/role/{role}} as the users table grows.
+ * With the role filter and keyset order served by {@code idx_role_created_at_id}, the score
+ * should stay flat across {@code totalUsers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRoleQueryBenchmark {
+
+    @Param({"10000", "100000"})
+    private int totalUsers;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private String secondPageCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = UserServiceContext.start();
+        UserServiceContext.seedUsers(context, totalUsers);
+        userService = context.getBean(UserService.class);
+        secondPageCursor = userService.getAllUsersByRole(UserRole.GUEST, null, 50).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<UserResponseDTO> firstPage() {
+        return userService.getAllUsersByRole(UserRole.GUEST, null, 50);
+    }
+
+    @Benchmark
+    public CursorPageResponseDTO<UserResponseDTO> nextPage() {
+        return userService.getAllUsersByRole(UserRole.GUEST, secondPageCursor, 50);
+    }
+}
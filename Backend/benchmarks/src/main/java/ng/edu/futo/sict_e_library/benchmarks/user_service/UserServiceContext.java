@@ -0,0 +1,98 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.UserServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots user-service against a private in-memory H2 database and seeds the users table,
+ * so repository and service benchmarks run against realistic row counts without PostgreSQL.
+ */
+public final class UserServiceContext {
+
+    private static final String[] ROLES = {"STUDENT", "ACADEMIC_STAFF", "ADMIN_STAFF", "GUEST"};
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    private UserServiceContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.kafka.bootstrap-servers=localhost:9092",
+                        "eureka.client.enabled=false",
+                        "faculty.email.allowed-domains=futo.edu.ng",
+                        "faculty.email.validation-enabled=true",
+                        "scheduler.student-account-cleanup.enabled=false",
+                        "scheduler.student-account-cleanup.cron=-",
+                        "scheduler.student-account-cleanup.warning-days-before-expiry=30",
+                        "user.cache.remote-invalidation.enabled=false",
+                        "user.events.outbox.relay-enabled=false",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+    }
+
+    /**
+     * Inserts {@code count} users with a fixed role mix (80% students, 10% academic staff,
+     * 5% admin staff, 5% guests) using JDBC batches.
+     */
+    public static void seedUsers(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        String sql = "INSERT INTO users (id, email, first_name, last_name, role, status, account_type, department, " +
+                "matric_number, grad_year, email_verified, account_not_expired, account_not_locked, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?, 'Computer Science', ?, ?, TRUE, TRUE, TRUE, ?, ?)";
+
+        LocalDateTime base = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String role = roleFor(i);
+            boolean student = role.equals("STUDENT");
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(i));
+            batch.add(new Object[]{
+                    UUID.nameUUIDFromBytes(("user-" + i).getBytes()).toString(),
+                    "user" + i + "@futo.edu.ng",
+                    "First" + i,
+                    "Last" + i,
+                    role,
+                    student ? "STUDENT" : "STAFF",
+                    student ? "2020" + i : null,
+                    student ? 2030 : null,
+                    createdAt,
+                    createdAt
+            });
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private static String roleFor(int i) {
+        int bucket = i % 20;
+        if (bucket < 16) {
+            return ROLES[0];
+        }
+        if (bucket < 18) {
+            return ROLES[1];
+        }
+        return bucket == 18 ? ROLES[2] : ROLES[3];
+    }
+}
@@ -0,0 +1,120 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import jakarta.persistence.EntityManagerFactory;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.service.UserCache;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One admin status change: the previous load-then-save path against the targeted, versioned
+ * {@code UPDATE} in {@code UserServiceImpl.updateUserStatus}. Updates cycle over a working set
+ * of {@value #HOT_USERS} users that have been viewed (and so cached) beforehand, as an admin
+ * opens a profile before editing it. Statements sent per operation are printed after each
+ * iteration from Hibernate's statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserUpdateBenchmark {
+
+    private static final int TOTAL_USERS = 10_000;
+    private static final int HOT_USERS = 256;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private UserEventOutbox userEventOutbox;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private String[] userIds;
+    private UserStatus[] statuses;
+    private int next;
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = UserServiceContext.start("spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        UserServiceContext.seedUsers(context, TOTAL_USERS);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        userCache = context.getBean(UserCache.class);
+        userEventOutbox = context.getBean(UserEventOutbox.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        userIds = new String[HOT_USERS];
+        statuses = new UserStatus[HOT_USERS];
+        for (int i = 0; i < HOT_USERS; i++) {
+            userIds[i] = UUID.nameUUIDFromBytes(("user-" + i * (TOTAL_USERS / HOT_USERS)).getBytes()).toString();
+            statuses[i] = UserStatus.ACTIVE;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void warmCacheAndResetCounters() {
+        for (String userId : userIds) {
+            userService.getUserById(userId);
+        }
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStatements() {
+        System.out.printf("%n%.2f statements/op%n", (double) statistics.getPrepareStatementCount() / Math.max(operations, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object loadAndSave() {
+        int i = nextUser();
+        String userId = userIds[i];
+        UserStatus target = toggle(i);
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userId).orElseThrow();
+            user.setStatus(target);
+            User saved = userRepository.save(user);
+            userCache.invalidate(userId, user.getEmail());
+            userEventOutbox.append(UserEventType.USER_STATUS_CHANGED, saved, "Your account status is now " + saved.getStatus());
+            return saved;
+        });
+    }
+
+    @Benchmark
+    public Object targetedUpdate() {
+        int i = nextUser();
+        return userService.updateUserStatus(userIds[i], toggle(i), null);
+    }
+
+    private int nextUser() {
+        operations++;
+        return next++ % HOT_USERS;
+    }
+
+    private UserStatus toggle(int i) {
+        statuses[i] = statuses[i] == UserStatus.ACTIVE ? UserStatus.SUSPENDED : UserStatus.ACTIVE;
+        return statuses[i];
+    }
+}
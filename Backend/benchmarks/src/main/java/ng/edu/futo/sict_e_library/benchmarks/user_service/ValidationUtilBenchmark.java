@@ -0,0 +1,77 @@
+package ng.edu.futo.sict_e_library.benchmarks.user_service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.util.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code ValidationUtil.validateUserRegistration}, run on every registration and
+ * import row, for a valid student, a valid staff member and a student request that fails
+ * every rule.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationUtilBenchmark {
+
+    private final ValidationUtil validationUtil = new ValidationUtil();
+    private UserRegistrationRequestDTO student;
+    private UserRegistrationRequestDTO staff;
+    private UserRegistrationRequestDTO invalidStudent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        student = UserRegistrationRequestDTO.builder()
+                .email("student42@futo.edu.ng")
+                .firstName("Chiamaka")
+                .lastName("Okafor")
+                .role(UserRole.STUDENT)
+                .accountType(AccountType.STUDENT)
+                .department("Computer Science")
+                .matricNumber("20221234567")
+                .gradYear(Year.now().getValue() + 2)
+                .build();
+        staff = UserRegistrationRequestDTO.builder()
+                .email("lecturer7@futo.edu.ng")
+                .firstName("Emeka")
+                .lastName("Nwosu")
+                .role(UserRole.ACADEMIC_STAFF)
+                .accountType(AccountType.STAFF)
+                .department("Information Technology")
+                .staffId("SP0007")
+                .build();
+        invalidStudent = UserRegistrationRequestDTO.builder()
+                .email("student43@futo.edu.ng")
+                .firstName("Ifeanyi")
+                .lastName("Eze")
+                .role(UserRole.STUDENT)
+                .accountType(AccountType.STUDENT)
+                .matricNumber(" ")
+                .gradYear(Year.now().getValue() - 1)
+                .build();
+    }
+
+    @Benchmark
+    public List<String> validStudent() {
+        return validationUtil.validateUserRegistration(student);
+    }
+
+    @Benchmark
+    public List<String> validStaff() {
+        return validationUtil.validateUserRegistration(staff);
+    }
+
+    @Benchmark
+    public List<String> invalidStudent() {
+        return validationUtil.validateUserRegistration(invalidStudent);
+    }
+}
@@ -2,8 +2,10 @@ package ng.edu.futo.sict_e_library.document_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartAutoConfiguration;
 
-@SpringBootApplication
+// Uploads are parsed as a stream by DocumentUploadServiceImpl, not spooled by the servlet container
+@SpringBootApplication(exclude = MultipartAutoConfiguration.class)
 public class DocumentServiceApplication {
 
 	public static void main(String[] args) {
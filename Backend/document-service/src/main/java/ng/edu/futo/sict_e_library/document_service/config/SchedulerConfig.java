@@ -0,0 +1,14 @@
+package ng.edu.futo.sict_e_library.document_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} jobs (blob scrubbing, search index commits, processing dispatch)
+ * on Spring Boot's auto-configured task scheduler, which uses virtual threads when
+ * {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+}
@@ -0,0 +1,83 @@
+package ng.edu.futo.sict_e_library.document_service.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.dto.response.ApiResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentSearchResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentContent;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentContentWriter;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentService;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentUploadService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("api/docs")
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentController {
+
+    // Set by the gateway from the caller's token
+    static final String USER_ID_HEADER = "X-User-Id";
+
+    private final DocumentService documentService;
+    private final DocumentUploadService documentUploadService;
+    private final DocumentContentWriter documentContentWriter;
+
+    @GetMapping
+    public ResponseEntity<ApiResponseDTO<DocumentSearchResponseDTO>> searchDocuments(@RequestParam(required = false) String keyword,
+                                                                                     @RequestParam(required = false) DocumentCategory category,
+                                                                                     @RequestParam(defaultValue = "false") boolean prefix,
+                                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                                     @RequestParam(defaultValue = "20") int size) {
+        log.debug("Searching documents (keyword: {}, category: {}, prefix: {}, page: {})", keyword, category, prefix, page);
+
+        DocumentSearchResponseDTO results = documentService.searchDocuments(keyword, category, prefix, page, size);
+        return ResponseEntity.ok(ApiResponseDTO.success("Documents retrieved successfully", results));
+    }
+
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDTO<DocumentResponseDTO>> uploadDocument(@RequestHeader(USER_ID_HEADER) String uploaderId,
+                                                                              HttpServletRequest request) {
+        log.debug("Received upload from user {} ({} bytes)", uploaderId, request.getContentLengthLong());
+
+        DocumentResponseDTO document = documentUploadService.uploadDocument(request, uploaderId);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponseDTO.success("Document uploaded; processing and approval pending", document));
+    }
+
+    @GetMapping("/{id}")
+    public void getDocument(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        log.debug("Serving document {} (range: {})", id, request.getHeader("Range"));
+
+        DocumentContent content = documentService.getDocumentContent(id);
+        documentContentWriter.write(content, request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public void getThumbnail(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        DocumentContent content = documentService.getThumbnailContent(id);
+        documentContentWriter.write(content, request, response);
+    }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<ApiResponseDTO<DocumentResponseDTO>> updateDocumentStatus(@PathVariable String id,
+                                                                                    @RequestParam DocumentStatus status) {
+        log.info("Setting status of document {} to {}", id, status);
+
+        DocumentResponseDTO document = documentService.updateDocumentStatus(id, status);
+        return ResponseEntity.ok(ApiResponseDTO.success("Document status updated successfully", document));
+    }
+}
@@ -0,0 +1,37 @@
+package ng.edu.futo.sict_e_library.document_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApiResponseDTO<T> {
+
+    private Boolean success;
+    private String message;
+    private T data;
+    private LocalDateTime timeStamp;
+
+    public static <T> ApiResponseDTO<T> success(String message, T data) {
+        return ApiResponseDTO.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timeStamp(LocalDateTime.now())
+                .build();
+    }
+
+    public static <T> ApiResponseDTO<T> error(String message) {
+        return ApiResponseDTO.<T>builder()
+                .success(false)
+                .message(message)
+                .timeStamp(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package ng.edu.futo.sict_e_library.document_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentResponseDTO {
+    private String id;
+    private String title;
+    private String description;
+    private DocumentCategory category;
+    private DocumentStatus status;
+    private String uploaderId;
+    private String doi;
+    private String originalFilename;
+    private String contentType;
+    private Long sizeBytes;
+    private String checksum;
+    private ProcessingStatus processingStatus;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package ng.edu.futo.sict_e_library.document_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentSearchHitDTO {
+    private String id;
+    private String title;
+    private String description;
+    private DocumentCategory category;
+    private String originalFilename;
+    private String contentType;
+    private Long sizeBytes;
+    private LocalDateTime createdAt;
+    // BM25 relevance; null when listing by date
+    private Float score;
+}
@@ -0,0 +1,23 @@
+package ng.edu.futo.sict_e_library.document_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentSearchResponseDTO {
+    private List<DocumentSearchHitDTO> items;
+    private Integer page;
+    private Integer size;
+    private Long totalHits;
+    // Matches per category for the keyword alone, whatever category was asked for
+    private Map<DocumentCategory, Long> categories;
+}
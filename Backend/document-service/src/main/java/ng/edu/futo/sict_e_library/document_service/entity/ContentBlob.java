@@ -0,0 +1,42 @@
+package ng.edu.futo.sict_e_library.document_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored file, named by the SHA-256 of its bytes. Documents with identical content share it;
+ * {@code refCount} is the number of documents pointing at it, and the {@code BlobScrubber} deletes
+ * it once that drops to zero.
+ */
+@Entity
+@Table(name = "content_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    // Relative to document.storage.root-dir
+    @Column(nullable = false, length = 500)
+    private String storagePath;
+
+    @Column(nullable = false)
+    private Integer refCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
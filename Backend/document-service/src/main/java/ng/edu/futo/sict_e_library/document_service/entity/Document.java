@@ -0,0 +1,90 @@
+package ng.edu.futo.sict_e_library.document_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "documents", indexes = {
+        @Index(name = "idx_documents_status_category", columnList = "status, category, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Document {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(length = 2000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DocumentCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DocumentStatus status;
+
+    @Column(nullable = false, length = 36)
+    private String uploaderId;
+
+    @Column(length = 255)
+    private String doi;
+
+    @Column(nullable = false, length = 255)
+    private String originalFilename;
+
+    @Column(nullable = false, length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long sizeBytes;
+
+    // Relative to document.storage.root-dir
+    @Column(nullable = false, length = 500)
+    private String storagePath;
+
+    // Hex SHA-256 of the stored bytes; doubles as the download ETag
+    @Column(length = 64)
+    private String checksum;
+
+    // Text and thumbnail extraction; null for rows from before the pipeline, until backfilled
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ProcessingStatus processingStatus;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        if (status == null) {
+            status = DocumentStatus.PENDING;
+        }
+    }
+}
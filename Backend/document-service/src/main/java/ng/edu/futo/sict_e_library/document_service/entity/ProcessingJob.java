@@ -0,0 +1,71 @@
+package ng.edu.futo.sict_e_library.document_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingJobState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Text and thumbnail extraction owed for one uploaded document. Rows are written in the same
+ * transaction as the document, so an upload is never stored without its job, and deleted once
+ * the job succeeds. Jobs that fail on every attempt stay behind as {@code DEAD}.
+ */
+@Entity
+@Table(name = "processing_jobs", indexes = {
+        @Index(name = "idx_processing_jobs_state_next_attempt", columnList = "state, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processing_jobs_seq")
+    @SequenceGenerator(name = "processing_jobs_seq", sequenceName = "processing_jobs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String documentId;
+
+    // The blob to extract from; its text and thumbnail are stored under the same hash
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    // Picks the extractors by extension
+    @Column(nullable = false, length = 255)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ProcessingJobState state;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime enqueuedAt;
+
+    // Not claimed before this; pushed back after each failed attempt
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // The instance running the job and when it claimed it; the owner renews heartbeatAt while it
+    // is alive, so a job whose heartbeat is older than the lease was left behind by a crash
+    @Column(length = 36)
+    private String claimedBy;
+
+    private LocalDateTime claimedAt;
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Set once a dead job is acknowledged by the dead-letter topic
+    private LocalDateTime deadLetterSentAt;
+}
@@ -0,0 +1,19 @@
+package ng.edu.futo.sict_e_library.document_service.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum DocumentCategory {
+    LECTURE_NOTES("Lecture Notes"),
+    TEXTBOOKS("Textbooks"),
+    RESEARCH_AND_PROJECTS("Research & Projects"),
+    PAST_QUESTIONS("Past Questions"),
+    EDUCATIONAL_ARTICLES("Educational Articles");
+
+    private final String displayName;
+
+    DocumentCategory(String displayName) {
+        this.displayName = displayName;
+    }
+
+}
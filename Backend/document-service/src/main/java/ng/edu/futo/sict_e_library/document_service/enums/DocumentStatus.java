@@ -0,0 +1,17 @@
+package ng.edu.futo.sict_e_library.document_service.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum DocumentStatus {
+    PENDING("Uploaded and awaiting approval; not visible to readers"),
+    APPROVED("Approved and visible in its category"),
+    REJECTED("Rejected by an admin");
+
+    private final String description;
+
+    DocumentStatus(String description) {
+        this.description = description;
+    }
+
+}
@@ -0,0 +1,17 @@
+package ng.edu.futo.sict_e_library.document_service.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ProcessingJobState {
+    QUEUED("Waiting for a worker, possibly until its next retry"),
+    RUNNING("Claimed by a worker"),
+    DEAD("Failed on every attempt; sent to the dead-letter topic");
+
+    private final String description;
+
+    ProcessingJobState(String description) {
+        this.description = description;
+    }
+
+}
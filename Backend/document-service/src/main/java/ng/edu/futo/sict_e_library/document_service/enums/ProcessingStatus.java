@@ -0,0 +1,18 @@
+package ng.edu.futo.sict_e_library.document_service.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum ProcessingStatus {
+    PENDING("Uploaded; text and thumbnail not yet extracted"),
+    PROCESSING("Text and thumbnail are being extracted"),
+    READY("Text and thumbnail extracted (where the format has them)"),
+    FAILED("Extraction failed on every attempt; found by title and description only");
+
+    private final String description;
+
+    ProcessingStatus(String description) {
+        this.description = description;
+    }
+
+}
@@ -0,0 +1,11 @@
+package ng.edu.futo.sict_e_library.document_service.exception;
+
+public class DocumentStorageException extends RuntimeException {
+    public DocumentStorageException(String message) {
+        super(message);
+    }
+
+    public DocumentStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
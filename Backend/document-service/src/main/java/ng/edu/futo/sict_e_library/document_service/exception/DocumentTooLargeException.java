@@ -0,0 +1,7 @@
+package ng.edu.futo.sict_e_library.document_service.exception;
+
+public class DocumentTooLargeException extends RuntimeException {
+    public DocumentTooLargeException(String message) {
+        super(message);
+    }
+}
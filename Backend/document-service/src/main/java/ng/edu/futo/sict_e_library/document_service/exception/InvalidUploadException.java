@@ -0,0 +1,7 @@
+package ng.edu.futo.sict_e_library.document_service.exception;
+
+public class InvalidUploadException extends RuntimeException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Word text (paragraphs, tables, headers and footers) with Apache POI.
+ */
+@Component
+public class DocxTextExtractor implements TextExtractor {
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("docx");
+    }
+
+    @Override
+    public String extract(Path file, int maxChars) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException | UnsupportedFileFormatException e) {
+            throw new IOException("Not a Word document: " + e.getMessage(), e);
+        }
+        // Read-only packages are let go with revert(); close() would try to save them
+        try (XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(pkg))) {
+            extractor.setCloseFilesystem(false);
+            return TextExtractor.limit(extractor.getText(), maxChars);
+        } finally {
+            pkg.revert();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * PDF text with PDFBox. The file is read through PDFBox's file-backed buffer rather than loaded
+ * onto the heap, and the text stops being collected at the limit.
+ */
+@Component
+public class PdfTextExtractor implements TextExtractor {
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("pdf");
+    }
+
+    @Override
+    public String extract(Path file, int maxChars) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            LimitedWriter text = new LimitedWriter(maxChars);
+            new PDFTextStripper().writeText(document, text);
+            return text.toString();
+        }
+    }
+
+    /**
+     * Keeps the first {@code limit} characters written and drops the rest.
+     */
+    private static final class LimitedWriter extends Writer {
+
+        private final StringBuilder text = new StringBuilder();
+        private final int limit;
+
+        private LimitedWriter(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            text.append(chars, offset, Math.min(length, limit - text.length()));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+}
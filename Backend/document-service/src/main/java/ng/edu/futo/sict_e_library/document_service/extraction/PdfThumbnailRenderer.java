@@ -0,0 +1,38 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * The first PDF page, rendered by PDFBox straight at thumbnail size rather than at full
+ * resolution and scaled down.
+ */
+@Component
+public class PdfThumbnailRenderer implements ThumbnailRenderer {
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("pdf");
+    }
+
+    @Override
+    public BufferedImage render(Path file, int width) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("The PDF has no pages");
+            }
+            PDRectangle page = document.getPage(0).getCropBox();
+            float scale = width / page.getWidth();
+            return new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+        }
+    }
+}
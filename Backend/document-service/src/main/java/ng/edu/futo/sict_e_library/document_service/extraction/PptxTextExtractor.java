@@ -0,0 +1,43 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.sl.extractor.SlideShowExtractor;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Slide text, speaker notes included, with Apache POI.
+ */
+@Component
+public class PptxTextExtractor implements TextExtractor {
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("pptx");
+    }
+
+    @Override
+    public String extract(Path file, int maxChars) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException | UnsupportedFileFormatException e) {
+            throw new IOException("Not a PowerPoint presentation: " + e.getMessage(), e);
+        }
+        // Read-only packages are let go with revert(); close() would try to save them
+        try (SlideShowExtractor<?, ?> extractor = new SlideShowExtractor<>(new XMLSlideShow(pkg))) {
+            extractor.setCloseFilesystem(false);
+            extractor.setNotesByDefault(true);
+            return TextExtractor.limit(extractor.getText(), maxChars);
+        } finally {
+            pkg.revert();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * The first slide, drawn by Apache POI onto a white image of thumbnail size.
+ */
+@Component
+public class PptxThumbnailRenderer implements ThumbnailRenderer {
+
+    @Override
+    public Set<String> extensions() {
+        return Set.of("pptx");
+    }
+
+    @Override
+    public BufferedImage render(Path file, int width) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException | UnsupportedFileFormatException e) {
+            throw new IOException("Not a PowerPoint presentation: " + e.getMessage(), e);
+        }
+        // Read-only packages are let go with revert(); close() would try to save them
+        try {
+            XMLSlideShow slideShow = new XMLSlideShow(pkg);
+            if (slideShow.getSlides().isEmpty()) {
+                throw new IOException("The presentation has no slides");
+            }
+            Dimension size = slideShow.getPageSize();
+            double scale = (double) width / size.width;
+            BufferedImage image = new BufferedImage(width, Math.max(1, (int) Math.round(size.height * scale)),
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setPaint(Color.WHITE);
+                graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+                graphics.scale(scale, scale);
+                slideShow.getSlides().getFirst().draw(graphics);
+            } finally {
+                graphics.dispose();
+            }
+            return image;
+        } finally {
+            pkg.revert();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.ExtractedTextStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Extracts the text of a stored blob with the {@link TextExtractor} for its file extension and
+ * keeps it in the {@link ExtractedTextStore}. Content is extracted once: re-uploads of the same
+ * file find the text already there. At most {@code document.extraction.max-chars} characters are
+ * kept per file. Runs on the processing workers, never in an upload request.
+ */
+@Service
+@Slf4j
+public class TextExtractionService {
+
+    private final Map<String, TextExtractor> extractors = new HashMap<>();
+    private final BlobStore blobStore;
+    private final ExtractedTextStore textStore;
+    private final int maxChars;
+
+    public TextExtractionService(List<TextExtractor> extractors,
+                                 BlobStore blobStore,
+                                 ExtractedTextStore textStore,
+                                 @Value("${document.extraction.max-chars:1000000}") int maxChars) {
+        for (TextExtractor extractor : extractors) {
+            for (String extension : extractor.extensions()) {
+                this.extractors.put(extension, extractor);
+            }
+        }
+        this.blobStore = blobStore;
+        this.textStore = textStore;
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Extracts and stores the text of blob {@code sha256}, uploaded as {@code filename}, unless
+     * that was done before or the format has no extractor. Returns whether anything was
+     * extracted. Failures are thrown, for the processing pipeline to retry.
+     */
+    public boolean extractText(String sha256, String filename) throws IOException {
+        TextExtractor extractor = extractors.get(extension(filename));
+        if (extractor == null || textStore.contains(sha256)) {
+            return false;
+        }
+        try {
+            String text = extractor.extract(blobStore.blobPath(sha256), maxChars);
+            textStore.write(sha256, text);
+            log.debug("Extracted {} characters from {}", text.length(), filename);
+            return true;
+        } catch (RuntimeException e) {
+            // Parsers throw all sorts on malformed files
+            throw new IOException("Could not extract text from " + filename + ": " + e, e);
+        }
+    }
+
+    /**
+     * The lower-case extension extractors are chosen by, or an empty string.
+     */
+    public static String extension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Pulls the plain text out of one file format so the document can be found by its content.
+ */
+public interface TextExtractor {
+
+    /**
+     * Lower-case file extensions this extractor reads, e.g. {@code pdf}.
+     */
+    Set<String> extensions();
+
+    /**
+     * At most {@code maxChars} characters of the file's text.
+     */
+    String extract(Path file, int maxChars) throws IOException;
+
+    static String limit(String text, int maxChars) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+}
@@ -0,0 +1,22 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Draws the first page of one file format as a small preview image.
+ */
+public interface ThumbnailRenderer {
+
+    /**
+     * Lower-case file extensions this renderer reads, e.g. {@code pdf}.
+     */
+    Set<String> extensions();
+
+    /**
+     * The first page scaled to {@code width} pixels wide, keeping its aspect ratio.
+     */
+    BufferedImage render(Path file, int width) throws IOException;
+}
@@ -0,0 +1,61 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.ThumbnailStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the first page of a stored blob with the {@link ThumbnailRenderer} for its file
+ * extension, {@code document.processing.thumbnail-width} pixels wide, and keeps it in the
+ * {@link ThumbnailStore}. Formats without a renderer (DOCX) get no thumbnail.
+ */
+@Service
+@Slf4j
+public class ThumbnailService {
+
+    private final Map<String, ThumbnailRenderer> renderers = new HashMap<>();
+    private final BlobStore blobStore;
+    private final ThumbnailStore thumbnailStore;
+    private final int width;
+
+    public ThumbnailService(List<ThumbnailRenderer> renderers,
+                            BlobStore blobStore,
+                            ThumbnailStore thumbnailStore,
+                            @Value("${document.processing.thumbnail-width:240}") int width) {
+        for (ThumbnailRenderer renderer : renderers) {
+            for (String extension : renderer.extensions()) {
+                this.renderers.put(extension, renderer);
+            }
+        }
+        this.blobStore = blobStore;
+        this.thumbnailStore = thumbnailStore;
+        this.width = width;
+    }
+
+    /**
+     * Renders and stores the thumbnail of blob {@code sha256}, uploaded as {@code filename},
+     * unless it exists or the format has no renderer. Returns whether anything was rendered.
+     */
+    public boolean renderThumbnail(String sha256, String filename) throws IOException {
+        ThumbnailRenderer renderer = renderers.get(TextExtractionService.extension(filename));
+        if (renderer == null || thumbnailStore.contains(sha256)) {
+            return false;
+        }
+        try {
+            BufferedImage image = renderer.render(blobStore.blobPath(sha256), width);
+            thumbnailStore.write(sha256, image);
+            log.debug("Rendered a {}x{} thumbnail of {}", image.getWidth(), image.getHeight(), filename);
+            return true;
+        } catch (RuntimeException e) {
+            throw new IOException("Could not render a thumbnail of " + filename + ": " + e, e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ng.edu.futo.sict_e_library.document_service.processing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.repository.ProcessingJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reports dead processing jobs to the {@code document.processing.dead-letter.topic} Kafka topic,
+ * keyed by document ID, as JSON. A job is marked sent once the broker acknowledges it; until
+ * then it is offered again on every pass, so delivery is at-least-once. Dead jobs stay in the
+ * table for inspection either way.
+ */
+@Component
+@Slf4j
+public class DeadLetterRelay {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final ProcessingJobRepository jobRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final String topic;
+    private final Duration sendTimeout;
+
+    public DeadLetterRelay(ProcessingJobRepository jobRepository,
+                           KafkaTemplate<String, String> kafkaTemplate,
+                           ObjectMapper objectMapper,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${document.processing.dead-letter.relay-enabled:true}") boolean enabled,
+                           @Value("${document.processing.dead-letter.topic:document-processing-dlt}") String topic,
+                           @Value("${document.processing.dead-letter.send-timeout:PT30S}") Duration sendTimeout) {
+        this.jobRepository = jobRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.topic = topic;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${document.processing.dead-letter.poll-interval:PT1M}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = relay();
+            } while (relayed == BATCH_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Dead-letter relay pass failed, unsent jobs will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends one batch of unsent dead jobs and marks them sent. Returns how many were sent.
+     */
+    int relay() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<ProcessingJob> batch = jobRepository.lockUnsentDeadLetters(Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            CompletableFuture<?>[] acks = batch.stream()
+                    .map(job -> kafkaTemplate.send(topic, job.getDocumentId(), toJson(job)))
+                    .toArray(CompletableFuture[]::new);
+            kafkaTemplate.flush();
+            try {
+                CompletableFuture.allOf(acks).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending dead letters", e);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new IllegalStateException("Kafka did not acknowledge the dead letters", e);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            batch.forEach(job -> job.setDeadLetterSentAt(now));
+            return batch.size();
+        });
+        if (relayed != null && relayed > 0) {
+            log.info("Sent {} dead processing jobs to {}", relayed, topic);
+        }
+        return relayed == null ? 0 : relayed;
+    }
+
+    private String toJson(ProcessingJob job) {
+        try {
+            return objectMapper.writeValueAsString(new DeadLetter(job.getId(), job.getDocumentId(), job.getSha256(),
+                    job.getFilename(), job.getAttempts(), job.getLastError(), job.getEnqueuedAt()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise dead letter for job " + job.getId(), e);
+        }
+    }
+
+    record DeadLetter(Long jobId, String documentId, String sha256, String filename, int attempts,
+                      String lastError, LocalDateTime enqueuedAt) {
+    }
+}
@@ -0,0 +1,66 @@
+package ng.edu.futo.sict_e_library.document_service.processing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.extraction.TextExtractionService;
+import ng.edu.futo.sict_e_library.document_service.extraction.ThumbnailService;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages one job goes through: text extraction, then the first-page thumbnail. Each stage
+ * skips work already done for the same blob, so a retried job only repeats what failed.
+ * <p>
+ * Every stage is timed in {@code document.processing.stage.duration}, tagged with the
+ * {@code stage}, the file {@code format} and the {@code outcome} ({@code done}, {@code skipped}
+ * or {@code failed}).
+ */
+@Component
+public class DocumentProcessor {
+
+    static final String STAGE_TIMER = "document.processing.stage.duration";
+
+    private final TextExtractionService textExtractionService;
+    private final ThumbnailService thumbnailService;
+    private final MeterRegistry meterRegistry;
+
+    public DocumentProcessor(TextExtractionService textExtractionService,
+                             ThumbnailService thumbnailService,
+                             MeterRegistry meterRegistry) {
+        this.textExtractionService = textExtractionService;
+        this.thumbnailService = thumbnailService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void process(ProcessingJob job) throws IOException {
+        String format = TextExtractionService.extension(job.getFilename());
+        stage("text", format, () -> textExtractionService.extractText(job.getSha256(), job.getFilename()));
+        stage("thumbnail", format, () -> thumbnailService.renderThumbnail(job.getSha256(), job.getFilename()));
+    }
+
+    private void stage(String stage, String format, Stage work) throws IOException {
+        long start = System.nanoTime();
+        String outcome = "failed";
+        try {
+            outcome = work.run() ? "done" : "skipped";
+        } catch (IOException e) {
+            throw new IOException(stage + " stage failed: " + e.getMessage(), e);
+        } finally {
+            Timer.builder(STAGE_TIMER)
+                    .tag("stage", stage)
+                    .tag("format", format)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        boolean run() throws IOException;
+    }
+}
@@ -0,0 +1,294 @@
+package ng.edu.futo.sict_e_library.document_service.processing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingJobState;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.repository.ProcessingJobRepository;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentIndexer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ProcessingJob}s on a fixed pool of {@code document.processing.workers} threads
+ * with room for {@code queue-capacity} more jobs in memory.
+ * <p>
+ * The {@code processing_jobs} table is the queue; the pool only ever claims as many due jobs as
+ * it has free slots, so a burst of uploads waits in the table rather than on the heap, and
+ * uploads never wait for a worker. Claiming runs every {@code poll-interval}, as soon as an
+ * upload commits, and whenever a worker frees up while a backlog remains.
+ * <p>
+ * A failed job is retried after {@code retry-backoff}, doubling each time, up to
+ * {@code max-attempts}; then it is marked {@code DEAD}, its document {@code FAILED}, and
+ * {@link DeadLetterRelay} reports it.
+ * <p>
+ * Each claimed job records this instance as its owner, and every {@code heartbeat-interval} the
+ * owner renews the lease on the jobs it is still running. A running job whose heartbeat is older
+ * than {@code lease} belonged to an instance that died, and is queued again by whichever instance
+ * notices first, at startup or on its next heartbeat. Jobs of live instances are left alone.
+ * <p>
+ * Metrics: {@code document.processing.queue.depth} (by {@code state}),
+ * {@code document.processing.in.flight}, {@code document.processing.queue.wait} (due to
+ * started), the per-stage timers of {@link DocumentProcessor}, and the
+ * {@code document.processing.retries} and {@code document.processing.dead.letters} counters.
+ */
+@Component
+@Slf4j
+public class ProcessingDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ProcessingJobRepository jobRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentProcessor documentProcessor;
+    private final DocumentIndexer documentIndexer;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final int capacity;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+    private final ThreadPoolExecutor workers;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong running = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final Timer queueWait;
+    private final Counter retries;
+    private final Counter deadLetters;
+    private volatile boolean backlog;
+
+    public ProcessingDispatcher(ProcessingJobRepository jobRepository,
+                                DocumentRepository documentRepository,
+                                DocumentProcessor documentProcessor,
+                                DocumentIndexer documentIndexer,
+                                TransactionTemplate transactionTemplate,
+                                TaskScheduler taskScheduler,
+                                MeterRegistry meterRegistry,
+                                @Value("${document.processing.enabled:true}") boolean enabled,
+                                @Value("${document.processing.workers:2}") int workers,
+                                @Value("${document.processing.queue-capacity:8}") int queueCapacity,
+                                @Value("${document.processing.max-attempts:4}") int maxAttempts,
+                                @Value("${document.processing.retry-backoff:PT30S}") Duration retryBackoff,
+                                // Several heartbeat intervals, so one slow heartbeat does not give a live job away
+                                @Value("${document.processing.lease:PT2M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.documentRepository = documentRepository;
+        this.documentProcessor = documentProcessor;
+        this.documentIndexer = documentIndexer;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.capacity = workers + queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        // Parsing and rendering are CPU-bound, so these are platform threads whatever the request threads are
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("document-processing-", 1).factory());
+
+        Gauge.builder("document.processing.queue.depth", queued, AtomicLong::get).tag("state", "queued").register(meterRegistry);
+        Gauge.builder("document.processing.queue.depth", running, AtomicLong::get).tag("state", "running").register(meterRegistry);
+        Gauge.builder("document.processing.queue.depth", dead, AtomicLong::get).tag("state", "dead").register(meterRegistry);
+        Gauge.builder("document.processing.in.flight", inFlight, AtomicInteger::get).register(meterRegistry);
+        this.queueWait = Timer.builder("document.processing.queue.wait").publishPercentileHistogram().register(meterRegistry);
+        this.retries = Counter.builder("document.processing.retries").register(meterRegistry);
+        this.deadLetters = Counter.builder("document.processing.dead.letters").register(meterRegistry);
+    }
+
+    /**
+     * Queues again the jobs whose owner died without finishing them, then starts on the backlog.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        requeueExpired();
+        wakeUp();
+    }
+
+    /**
+     * Renews the lease on this instance's running jobs and takes back the jobs of dead instances.
+     */
+    @Scheduled(fixedDelayString = "${document.processing.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.renewLeases(owner, LocalDateTime.now()));
+            if (requeueExpired() > 0) {
+                wakeUp();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Processing heartbeat failed, leases will be renewed on the next one: {}", e.getMessage());
+        }
+    }
+
+    private int requeueExpired() {
+        Integer requeued = transactionTemplate.execute(status -> jobRepository.requeueExpired(LocalDateTime.now().minus(lease)));
+        if (requeued != null && requeued > 0) {
+            log.info("Queued {} processing jobs again after their owner stopped renewing the lease", requeued);
+            return requeued;
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${document.processing.poll-interval:PT5S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        dispatch();
+    }
+
+    /**
+     * Claims due jobs on the scheduler thread, without holding up the caller.
+     */
+    public void wakeUp() {
+        if (enabled) {
+            taskScheduler.schedule(this::dispatch, Instant.now());
+        }
+    }
+
+    /**
+     * Claims as many due jobs as there are free slots and hands them to the workers.
+     */
+    public synchronized void dispatch() {
+        try {
+            int free = capacity - inFlight.get();
+            List<ProcessingJob> claimed = free > 0 ? claim(free) : List.of();
+            backlog = free <= 0 || claimed.size() == free;
+            for (ProcessingJob job : claimed) {
+                inFlight.incrementAndGet();
+                try {
+                    workers.execute(() -> run(job));
+                } catch (RejectedExecutionException e) {
+                    // Only while shutting down; the job is queued again once its lease expires
+                    inFlight.decrementAndGet();
+                }
+            }
+            updateDepth();
+        } catch (RuntimeException e) {
+            log.warn("Processing dispatch failed, due jobs will be claimed on the next poll: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private List<ProcessingJob> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ProcessingJob> due = jobRepository.lockDue(now, Limit.of(limit));
+            for (ProcessingJob job : due) {
+                job.setState(ProcessingJobState.RUNNING);
+                job.setClaimedBy(owner);
+                job.setClaimedAt(now);
+                job.setHeartbeatAt(now);
+                documentRepository.updateProcessingStatus(job.getDocumentId(), ProcessingStatus.PROCESSING);
+            }
+            return due;
+        });
+    }
+
+    private void run(ProcessingJob job) {
+        queueWait.record(Duration.between(job.getNextAttemptAt(), LocalDateTime.now()));
+        try {
+            documentProcessor.process(job);
+            succeed(job);
+        } catch (Exception e) {
+            fail(job, e);
+        } finally {
+            inFlight.decrementAndGet();
+            if (backlog) {
+                wakeUp();
+            }
+        }
+    }
+
+    private void succeed(ProcessingJob job) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jobRepository.deleteById(job.getId());
+            documentRepository.updateProcessingStatus(job.getDocumentId(), ProcessingStatus.READY);
+        });
+        log.debug("Processed document {} ({})", job.getDocumentId(), job.getFilename());
+
+        // Approved before its text was ready: index it again with the text
+        documentRepository.findById(job.getDocumentId())
+                .filter(document -> document.getStatus() == DocumentStatus.APPROVED)
+                .ifPresent(documentIndexer::sync);
+    }
+
+    private void fail(ProcessingJob failed, Exception cause) {
+        // A job whose lease lapsed may already be running elsewhere; that attempt owns it now
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findById(failed.getId())
+                .filter(job -> owner.equals(job.getClaimedBy()))
+                .ifPresent(job -> recordFailure(job, cause)));
+    }
+
+    private void recordFailure(ProcessingJob job, Exception cause) {
+        int attempts = job.getAttempts() + 1;
+        job.setAttempts(attempts);
+        job.setLastError(truncate(cause.getMessage() != null ? cause.getMessage() : cause.toString()));
+        job.setClaimedBy(null);
+        job.setClaimedAt(null);
+        job.setHeartbeatAt(null);
+        if (attempts >= maxAttempts) {
+            job.setState(ProcessingJobState.DEAD);
+            documentRepository.updateProcessingStatus(job.getDocumentId(), ProcessingStatus.FAILED);
+            deadLetters.increment();
+            log.error("Giving up on document {} ({}) after {} attempts: {}",
+                    job.getDocumentId(), job.getFilename(), attempts, job.getLastError());
+        } else {
+            Duration delay = retryBackoff.multipliedBy(1L << (attempts - 1));
+            job.setState(ProcessingJobState.QUEUED);
+            job.setNextAttemptAt(LocalDateTime.now().plus(delay));
+            retries.increment();
+            log.warn("Processing document {} ({}) failed, retrying in {}: {}",
+                    job.getDocumentId(), job.getFilename(), delay, job.getLastError());
+        }
+    }
+
+    private void updateDepth() {
+        queued.set(jobRepository.countByState(ProcessingJobState.QUEUED));
+        running.set(jobRepository.countByState(ProcessingJobState.RUNNING));
+        dead.set(jobRepository.countByState(ProcessingJobState.DEAD));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,95 @@
+package ng.edu.futo.sict_e_library.document_service.processing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingJobState;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.repository.ProcessingJobRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queues text and thumbnail extraction for documents as {@link ProcessingJob} rows, for the
+ * {@link ProcessingDispatcher} to run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProcessingQueue {
+
+    private static final int BACKFILL_PAGE_SIZE = 500;
+
+    private final ProcessingJobRepository jobRepository;
+    private final DocumentRepository documentRepository;
+    private final ProcessingDispatcher dispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Queues the document in the caller's transaction, so the job exists exactly when the
+     * document does, and wakes the dispatcher once that transaction commits.
+     */
+    public ProcessingJob enqueue(Document document) {
+        ProcessingJob job = save(document);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.wakeUp();
+                }
+            });
+        }
+        return job;
+    }
+
+    /**
+     * Queues the documents uploaded before there was a pipeline. Rows without a checksum predate
+     * content-addressed storage and are left as they are.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int queued = 0;
+        String after = "";
+        List<Document> page;
+        do {
+            page = documentRepository.findTop500ByProcessingStatusIsNullAndIdGreaterThanOrderByIdAsc(after);
+            List<Document> processable = page.stream().filter(document -> document.getChecksum() != null).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Document document : processable) {
+                    save(document);
+                    documentRepository.updateProcessingStatus(document.getId(), ProcessingStatus.PENDING);
+                }
+            });
+            queued += processable.size();
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == BACKFILL_PAGE_SIZE);
+        if (queued > 0) {
+            log.info("Queued {} documents uploaded before processing existed", queued);
+            dispatcher.wakeUp();
+        }
+    }
+
+    private ProcessingJob save(Document document) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.save(ProcessingJob.builder()
+                .documentId(document.getId())
+                .sha256(document.getChecksum())
+                .filename(document.getOriginalFilename())
+                .state(ProcessingJobState.QUEUED)
+                .attempts(0)
+                .enqueuedAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+}
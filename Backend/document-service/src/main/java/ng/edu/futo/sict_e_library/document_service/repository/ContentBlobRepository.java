@@ -0,0 +1,33 @@
+package ng.edu.futo.sict_e_library.document_service.repository;
+
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ContentBlobRepository extends JpaRepository<ContentBlob, String> {
+
+    // A single UPDATE, so concurrent uploads of the same file cannot lose a reference
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ContentBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int incrementRefCount(@Param("sha256") String sha256);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ContentBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int decrementRefCount(@Param("sha256") String sha256);
+
+    List<ContentBlob> findBySha256StartingWithAndRefCount(String prefix, Integer refCount);
+
+    // Conditional, so a blob referenced again since it was listed is kept
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ContentBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+
+    // Keyset pages for rebuilding the blob index without loading every row at once
+    List<ContentBlob> findTop1000BySha256GreaterThanOrderBySha256Asc(String sha256);
+}
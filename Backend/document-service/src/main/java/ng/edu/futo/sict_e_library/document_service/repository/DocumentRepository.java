@@ -0,0 +1,31 @@
+package ng.edu.futo.sict_e_library.document_service.repository;
+
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DocumentRepository extends JpaRepository<Document, String> {
+    Optional<Document> findByIdAndStatus(String id, DocumentStatus status);
+
+    long countByStatus(DocumentStatus status);
+
+    // Keyset pages for rebuilding the search index
+    List<Document> findTop500ByStatusAndIdGreaterThanOrderByIdAsc(DocumentStatus status, String id);
+
+    // Rows uploaded before the processing pipeline existed
+    List<Document> findTop500ByProcessingStatusIsNullAndIdGreaterThanOrderByIdAsc(String id);
+
+    // Leaves the row version alone, so a worker never conflicts with a concurrent approval
+    @Modifying
+    @Query("UPDATE Document d SET d.processingStatus = :processingStatus WHERE d.id = :id")
+    int updateProcessingStatus(@Param("id") String id, @Param("processingStatus") ProcessingStatus processingStatus);
+}
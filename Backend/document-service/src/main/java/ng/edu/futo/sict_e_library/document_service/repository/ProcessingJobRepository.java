@@ -0,0 +1,50 @@
+package ng.edu.futo.sict_e_library.document_service.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingJobState;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, Long> {
+
+    /**
+     * Queued jobs that are due, oldest first, locked for claiming. Rows locked by another
+     * instance are skipped (lock timeout -2 is Hibernate's SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ProcessingJob j WHERE j.state = 'QUEUED' AND j.nextAttemptAt <= :now " +
+            "ORDER BY j.nextAttemptAt ASC, j.id ASC")
+    List<ProcessingJob> lockDue(@Param("now") LocalDateTime now, Limit limit);
+
+    // Dead jobs the dead-letter topic has not acknowledged yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM ProcessingJob j WHERE j.state = 'DEAD' AND j.deadLetterSentAt IS NULL ORDER BY j.id ASC")
+    List<ProcessingJob> lockUnsentDeadLetters(Limit limit);
+
+    long countByState(ProcessingJobState state);
+
+    // Keeps the lease on the jobs this instance is still running
+    @Modifying
+    @Query("UPDATE ProcessingJob j SET j.heartbeatAt = :now WHERE j.state = 'RUNNING' AND j.claimedBy = :owner")
+    int renewLeases(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    // Running jobs whose owner stopped renewing the lease, i.e. claimed by an instance that died
+    @Modifying
+    @Query("UPDATE ProcessingJob j SET j.state = 'QUEUED', j.claimedBy = NULL, j.claimedAt = NULL, j.heartbeatAt = NULL " +
+            "WHERE j.state = 'RUNNING' AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)")
+    int requeueExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
@@ -0,0 +1,14 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+
+import java.time.LocalDateTime;
+
+/**
+ * A matching document as stored in the search index, so results need no database round trip.
+ * {@code score} is the BM25 relevance, or {@code NaN} when listing by date.
+ */
+public record DocumentHit(String id, String title, String description, DocumentCategory category,
+                          String originalFilename, String contentType, Long sizeBytes,
+                          LocalDateTime createdAt, float score) {
+}
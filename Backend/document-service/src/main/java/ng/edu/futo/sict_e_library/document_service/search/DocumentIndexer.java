@@ -0,0 +1,89 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.storage.ExtractedTextStore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Keeps the {@link DocumentSearchIndex} in step with the documents table: a document is
+ * searchable exactly while it is approved.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentIndexer {
+
+    private static final int REINDEX_PAGE_SIZE = 500;
+
+    private final DocumentSearchIndex searchIndex;
+    private final DocumentRepository documentRepository;
+    private final ExtractedTextStore textStore;
+
+    /**
+     * Adds or removes the document to match its status and refreshes the index, so the next
+     * search sees the change. Called after the status change commits.
+     */
+    public void sync(Document document) {
+        try {
+            if (document.getStatus() == DocumentStatus.APPROVED) {
+                searchIndex.index(document, text(document));
+            } else {
+                searchIndex.delete(document.getId());
+            }
+            searchIndex.refresh();
+        } catch (IOException e) {
+            // The database has the change; the index catches up when it is next rebuilt
+            log.error("Could not update document {} in the search index", document.getId(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the index when it does not hold exactly the approved documents, e.g. on first
+     * start, after a crash lost uncommitted changes, or after a database restore.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() throws IOException {
+        long approved = documentRepository.countByStatus(DocumentStatus.APPROVED);
+        int indexed = searchIndex.numDocs();
+        if (approved == indexed) {
+            log.info("Search index holds all {} approved documents", indexed);
+            return;
+        }
+        log.info("Search index holds {} of {} approved documents, rebuilding it", indexed, approved);
+        reindexAll();
+    }
+
+    public void reindexAll() throws IOException {
+        long start = System.currentTimeMillis();
+        searchIndex.deleteAll();
+        int count = 0;
+        String after = "";
+        List<Document> page;
+        do {
+            page = documentRepository.findTop500ByStatusAndIdGreaterThanOrderByIdAsc(DocumentStatus.APPROVED, after);
+            for (Document document : page) {
+                searchIndex.index(document, text(document));
+                count++;
+            }
+            if (!page.isEmpty()) {
+                after = page.getLast().getId();
+            }
+        } while (page.size() == REINDEX_PAGE_SIZE);
+        searchIndex.commit();
+        searchIndex.refresh();
+        log.info("Indexed {} approved documents in {} ms", count, System.currentTimeMillis() - start);
+    }
+
+    private String text(Document document) throws IOException {
+        return document.getChecksum() != null ? textStore.read(document.getChecksum()) : null;
+    }
+}
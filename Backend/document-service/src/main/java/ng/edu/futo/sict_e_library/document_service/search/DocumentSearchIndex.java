@@ -0,0 +1,352 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.search.similarities.Similarity;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Full-text index of approved documents, embedded in the service with Lucene under
+ * {@code document.search.index-dir}. Title, description and extracted text are analysed for
+ * English (stop words, stemming) and ranked with BM25, a title match counting most. Categories
+ * are indexed as facets, so every search also returns how many matches each category has.
+ * <p>
+ * Searches read from a near-real-time reader: {@link #refresh()} makes changes visible without
+ * a commit, which only happens every {@code document.search.commit-interval} and on shutdown.
+ * Changes since the last commit are lost in a crash, and the index is reconciled with the
+ * database at startup (see {@link DocumentIndexer}).
+ */
+@Component
+@Slf4j
+public class DocumentSearchIndex implements Closeable {
+
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String CONTENT = "content";
+    static final String CATEGORY = "category";
+    static final String FILENAME = "filename";
+    static final String CONTENT_TYPE = "contentType";
+    static final String SIZE = "size";
+    static final String CREATED_AT = "createdAt";
+
+    // Searched fields and their weight; a word in the title says more than one in the text
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE, 3f, DESCRIPTION, 2f, CONTENT, 1f);
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final Sort NEWEST_FIRST = new Sort(new SortField(CREATED_AT, SortField.Type.LONG, true));
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Similarity similarity = new BM25Similarity();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile SortedSetDocValuesReaderState facetState;
+
+    public DocumentSearchIndex(@Value("${document.search.index-dir:./data/search-index}") Path indexDir) {
+        try {
+            this.directory = FSDirectory.open(indexDir);
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setSimilarity(similarity)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, new SearcherFactory() {
+                @Override
+                public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                    IndexSearcher searcher = new IndexSearcher(reader);
+                    searcher.setSimilarity(similarity);
+                    return searcher;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the search index under " + indexDir, e);
+        }
+    }
+
+    /**
+     * Adds the document, or replaces it if already indexed. Not visible until {@link #refresh()}.
+     */
+    public void index(Document document, String text) throws IOException {
+        org.apache.lucene.document.Document doc = new org.apache.lucene.document.Document();
+        doc.add(new StringField(ID, document.getId(), Field.Store.YES));
+        doc.add(new TextField(TITLE, document.getTitle(), Field.Store.YES));
+        if (document.getDescription() != null) {
+            doc.add(new TextField(DESCRIPTION, document.getDescription(), Field.Store.YES));
+        }
+        if (text != null) {
+            doc.add(new TextField(CONTENT, text, Field.Store.NO));
+        }
+        doc.add(new StringField(CATEGORY, document.getCategory().name(), Field.Store.YES));
+        doc.add(new SortedSetDocValuesFacetField(CATEGORY, document.getCategory().name()));
+        // Rows from before uploads were streamed may lack file details
+        if (document.getOriginalFilename() != null) {
+            doc.add(new StoredField(FILENAME, document.getOriginalFilename()));
+        }
+        if (document.getContentType() != null) {
+            doc.add(new StoredField(CONTENT_TYPE, document.getContentType()));
+        }
+        if (document.getSizeBytes() != null) {
+            doc.add(new StoredField(SIZE, document.getSizeBytes()));
+        }
+        long createdAt = document.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        doc.add(new NumericDocValuesField(CREATED_AT, createdAt));
+        doc.add(new StoredField(CREATED_AT, createdAt));
+        writer.updateDocument(new Term(ID, document.getId()), facetsConfig.build(doc));
+    }
+
+    public void delete(String documentId) throws IOException {
+        writer.deleteDocuments(new Term(ID, documentId));
+    }
+
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    /**
+     * Makes every change so far visible to searches, waiting if another refresh is under way.
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Documents visible to searches.
+     */
+    public int numDocs() throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return searcher.getIndexReader().numDocs();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    public DocumentSearchResult search(DocumentSearchQuery query) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            if (searcher.getIndexReader().numDocs() == 0) {
+                return new DocumentSearchResult(List.of(), 0, Map.of());
+            }
+            Query keywordQuery = keywordQuery(query.keyword(), query.prefix());
+            Query base = keywordQuery != null ? keywordQuery : new MatchAllDocsQuery();
+            Sort sort = keywordQuery != null ? null : NEWEST_FIRST;
+            int window = (query.page() + 1) * query.size();
+
+            TopDocs top;
+            FacetsCollector facets;
+            if (query.category() == null) {
+                FacetsCollectorManager.FacetsResult result = sort == null
+                        ? FacetsCollectorManager.search(searcher, base, window, new FacetsCollectorManager())
+                        : FacetsCollectorManager.search(searcher, base, window, sort, new FacetsCollectorManager());
+                top = result.topDocs();
+                facets = result.facetsCollector();
+            } else {
+                // Facet counts ignore the category filter so the other categories' counts stay visible
+                facets = searcher.search(base, new FacetsCollectorManager());
+                Query filtered = new BooleanQuery.Builder()
+                        .add(base, BooleanClause.Occur.MUST)
+                        .add(new TermQuery(new Term(CATEGORY, query.category().name())), BooleanClause.Occur.FILTER)
+                        .build();
+                top = sort == null ? searcher.search(filtered, window) : searcher.search(filtered, window, sort);
+            }
+
+            Map<DocumentCategory, Long> counts = categoryCounts(searcher, facets);
+            long total = query.category() == null
+                    ? counts.values().stream().mapToLong(Long::longValue).sum()
+                    : counts.getOrDefault(query.category(), 0L);
+            return new DocumentSearchResult(hits(searcher, top, query.page() * query.size(), sort == null), total, counts);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${document.search.commit-interval:PT1M}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+            log.debug("Committed the search index ({} documents)", writer.getDocStats().numDocs);
+        }
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Every word must match in some field. With {@code prefix}, the last word also matches
+     * anything it begins (at least two characters, to keep the expansion small).
+     */
+    private Query keywordQuery(String keyword, boolean prefix) throws IOException {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String text = keyword.strip();
+        String partial = null;
+        if (prefix) {
+            int cut = lastWhitespace(text) + 1;
+            partial = text.substring(cut);
+            text = text.substring(0, cut);
+        }
+
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        int clauses = 0;
+        for (String term : analyze(text)) {
+            builder.add(anyField(term, null), BooleanClause.Occur.MUST);
+            clauses++;
+        }
+        if (partial != null) {
+            BytesRef normalized = analyzer.normalize(TITLE, partial);
+            List<String> stems = analyze(partial);
+            if (normalized.length >= MIN_PREFIX_LENGTH) {
+                // The finished word may have been stemmed in the index ("algorithms" -> "algorithm")
+                builder.add(anyField(stems.isEmpty() ? null : stems.getFirst(), normalized.utf8ToString()),
+                        BooleanClause.Occur.MUST);
+                clauses++;
+            } else if (!stems.isEmpty()) {
+                builder.add(anyField(stems.getFirst(), null), BooleanClause.Occur.MUST);
+                clauses++;
+            }
+        }
+        // Only stop words (or a one-letter prefix) left: nothing to look for
+        return clauses == 0 ? new MatchNoDocsQuery() : builder.build();
+    }
+
+    private static Query anyField(String term, String prefix) {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+            if (term != null) {
+                builder.add(new BoostQuery(new TermQuery(new Term(field.getKey(), term)), field.getValue()),
+                        BooleanClause.Occur.SHOULD);
+            }
+            if (prefix != null) {
+                builder.add(new BoostQuery(new PrefixQuery(new Term(field.getKey(), prefix)), field.getValue()),
+                        BooleanClause.Occur.SHOULD);
+            }
+        }
+        return builder.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private Map<DocumentCategory, Long> categoryCounts(IndexSearcher searcher, FacetsCollector facets) throws IOException {
+        SortedSetDocValuesReaderState state = facetState;
+        if (state == null || state.getReader() != searcher.getIndexReader()) {
+            // Built once per reader; cheap next to the search, but not free
+            state = new DefaultSortedSetDocValuesReaderState(searcher.getIndexReader(), facetsConfig);
+            facetState = state;
+        }
+        Map<DocumentCategory, Long> counts = new EnumMap<>(DocumentCategory.class);
+        FacetResult result = new SortedSetDocValuesFacetCounts(state, facets)
+                .getTopChildren(DocumentCategory.values().length, CATEGORY);
+        if (result != null) {
+            for (LabelAndValue category : result.labelValues) {
+                counts.put(DocumentCategory.valueOf(category.label), category.value.longValue());
+            }
+        }
+        return counts;
+    }
+
+    private static List<DocumentHit> hits(IndexSearcher searcher, TopDocs top, int from, boolean scored) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<DocumentHit> hits = new ArrayList<>();
+        for (int i = from; i < top.scoreDocs.length; i++) {
+            ScoreDoc scoreDoc = top.scoreDocs[i];
+            org.apache.lucene.document.Document doc = storedFields.document(scoreDoc.doc);
+            hits.add(new DocumentHit(
+                    doc.get(ID),
+                    doc.get(TITLE),
+                    doc.get(DESCRIPTION),
+                    DocumentCategory.valueOf(doc.get(CATEGORY)),
+                    doc.get(FILENAME),
+                    doc.get(CONTENT_TYPE),
+                    doc.getField(SIZE) != null ? doc.getField(SIZE).numericValue().longValue() : null,
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(doc.getField(CREATED_AT).numericValue().longValue()),
+                            ZoneId.systemDefault()),
+                    scored ? scoreDoc.score : Float.NaN));
+        }
+        return hits;
+    }
+
+    private static int lastWhitespace(String text) {
+        for (int i = text.length() - 1; i >= 0; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
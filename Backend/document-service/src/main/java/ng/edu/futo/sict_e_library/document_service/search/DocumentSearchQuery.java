@@ -0,0 +1,10 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+
+/**
+ * One search: {@code keyword} may be blank to list the newest documents, {@code category} is
+ * optional, and {@code prefix} treats the last word as unfinished (search-as-you-type).
+ */
+public record DocumentSearchQuery(String keyword, DocumentCategory category, boolean prefix, int page, int size) {
+}
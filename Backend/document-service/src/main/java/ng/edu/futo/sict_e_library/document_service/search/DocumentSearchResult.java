@@ -0,0 +1,13 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of hits, the total number of matches, and the matches per category for the keyword
+ * alone, so a category filter still shows how many results the other categories have.
+ */
+public record DocumentSearchResult(List<DocumentHit> hits, long totalHits, Map<DocumentCategory, Long> categoryCounts) {
+}
@@ -0,0 +1,12 @@
+package ng.edu.futo.sict_e_library.document_service.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A stored file ready to be sent: its location and size on disk, and the validators and headers
+ * a download needs.
+ */
+public record DocumentContent(Path path, long size, String etag, Instant lastModified,
+                              String contentType, String filename) {
+}
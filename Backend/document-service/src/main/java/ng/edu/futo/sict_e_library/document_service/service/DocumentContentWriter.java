@@ -0,0 +1,190 @@
+package ng.edu.futo.sict_e_library.document_service.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a stored file as an HTTP response without reading it onto the heap, with the
+ * validators and range handling PDF viewers rely on to fetch a large file a few pages at a time:
+ * <ul>
+ *     <li>{@code ETag} and {@code Last-Modified} on every response; {@code If-None-Match} (or,
+ *     without it, {@code If-Modified-Since}) answers {@code 304}.</li>
+ *     <li>A single {@code Range} answers {@code 206} with that slice, or {@code 416} when it lies
+ *     past the end. {@code If-Range} that no longer matches, malformed ranges and multi-range
+ *     requests get the whole file instead, as RFC 9110 allows.</li>
+ * </ul>
+ * When the connector supports sendfile (Tomcat NIO does by default), files of at least
+ * {@code document.download.sendfile-min-size} are handed to it: Tomcat sends them after the
+ * handler returns with {@code FileChannel.transferTo} straight to the socket, and the request
+ * thread is free meanwhile. Smaller files, and containers without sendfile, go through
+ * {@code transferTo} into the response stream, which copies through a small fixed buffer.
+ */
+@Component
+@Slf4j
+public class DocumentContentWriter {
+
+    // Request attributes of Tomcat's sendfile support (org.apache.coyote.Constants)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final long sendfileMinSize;
+
+    public DocumentContentWriter(@Value("${document.download.sendfile-min-size:48KB}") DataSize sendfileMinSize) {
+        this.sendfileMinSize = sendfileMinSize.toBytes();
+    }
+
+    public void write(DocumentContent content, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, content.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, content.lastModified().toEpochMilli());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Revalidate on each use; the validators make that a 304 when nothing changed
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (isNotModified(content, request)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = content.size();
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = requestedRange(content, request);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(content.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(content.filename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (length >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, content.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        transfer(content, start, length, response);
+    }
+
+    private static void transfer(DocumentContent content, long start, long length, HttpServletResponse response)
+            throws IOException {
+        try (FileChannel file = FileChannel.open(content.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("File shrank while it was being sent: " + content.path());
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        } catch (IOException e) {
+            if (!response.isCommitted()) {
+                throw e;
+            }
+            // Viewers cancel range requests all the time; the response is already under way
+            log.debug("Download of {} ended early: {}", content.filename(), e.getMessage());
+        }
+    }
+
+    private static boolean isNotModified(DocumentContent content, HttpServletRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.trim().equals("*") || containsWeakMatch(ifNoneMatch, content.etag());
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        // HTTP dates have whole seconds
+        return ifModifiedSince >= 0 && content.lastModified().getEpochSecond() * 1000 <= ifModifiedSince;
+    }
+
+    /**
+     * The single range to send, or {@code null} for the whole file.
+     */
+    private static HttpRange requestedRange(DocumentContent content, HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !ifRangeMatches(content, request)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.getFirst() : null;
+    }
+
+    private static boolean ifRangeMatches(DocumentContent content, HttpServletRequest request) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range needs a strong match, so a weak tag never matches
+            return ifRange.equals(content.etag());
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && content.lastModified().getEpochSecond() * 1000 == date;
+    }
+
+    private static boolean containsWeakMatch(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            // An unparseable date is ignored, as if the header were absent
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ng.edu.futo.sict_e_library.document_service.service;
+
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentSearchResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+
+public interface DocumentService {
+    DocumentContent getDocumentContent(String documentId);
+
+    DocumentContent getThumbnailContent(String documentId);
+
+    DocumentSearchResponseDTO searchDocuments(String keyword, DocumentCategory category, boolean prefix, int page, int size);
+
+    DocumentResponseDTO updateDocumentStatus(String documentId, DocumentStatus status);
+}
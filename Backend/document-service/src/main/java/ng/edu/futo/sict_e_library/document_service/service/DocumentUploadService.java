@@ -0,0 +1,12 @@
+package ng.edu.futo.sict_e_library.document_service.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+
+public interface DocumentUploadService {
+    /**
+     * Stores the multipart upload (a {@code file} part plus {@code title}, {@code description},
+     * {@code category} and optional {@code doi} fields) as a new pending document.
+     */
+    DocumentResponseDTO uploadDocument(HttpServletRequest request, String uploaderId);
+}
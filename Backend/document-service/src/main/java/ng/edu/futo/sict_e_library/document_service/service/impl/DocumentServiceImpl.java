@@ -0,0 +1,159 @@
+package ng.edu.futo.sict_e_library.document_service.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentSearchResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.exception.DocumentNotFoundException;
+import ng.edu.futo.sict_e_library.document_service.exception.DocumentStorageException;
+import ng.edu.futo.sict_e_library.document_service.exception.InvalidSearchException;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentIndexer;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchIndex;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchQuery;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentSearchResult;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentContent;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentService;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobEntry;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.ThumbnailStore;
+import ng.edu.futo.sict_e_library.document_service.util.DocumentMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class DocumentServiceImpl implements DocumentService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    // Deep pages cost a full top-N collection each; nobody reads past the first few hundred hits
+    private static final int MAX_RESULT_WINDOW = 1_000;
+
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+    private final DocumentSearchIndex searchIndex;
+    private final DocumentIndexer documentIndexer;
+    private final DocumentMapper documentMapper;
+    private final ThumbnailStore thumbnailStore;
+
+    @Override
+    public DocumentContent getDocumentContent(String documentId) {
+        // Pending and rejected uploads are invisible to readers
+        Document document = documentRepository.findByIdAndStatus(documentId, DocumentStatus.APPROVED)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found with ID: " + documentId));
+
+        BlobEntry blob = document.getChecksum() != null ? blobStore.find(document.getChecksum()) : null;
+        if (blob != null) {
+            // Indexed blobs are served without touching the database again or the file system
+            if (blob.damaged()) {
+                throw new DocumentStorageException("Stored file failed its integrity check for document: " + documentId);
+            }
+            return new DocumentContent(blobStore.blobPath(blob.sha256()), blob.size(), etag(document),
+                    blob.lastModified(), document.getContentType(), document.getOriginalFilename());
+        }
+
+        Path path = blobStore.resolve(document.getStoragePath());
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            throw new DocumentStorageException("Stored file is missing for document: " + documentId, e);
+        } catch (IOException e) {
+            throw new DocumentStorageException("Stored file is unreadable for document: " + documentId, e);
+        }
+
+        return new DocumentContent(path, attributes.size(), etag(document), attributes.lastModifiedTime().toInstant(),
+                document.getContentType(), document.getOriginalFilename());
+    }
+
+    @Override
+    public DocumentContent getThumbnailContent(String documentId) {
+        Document document = documentRepository.findByIdAndStatus(documentId, DocumentStatus.APPROVED)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found with ID: " + documentId));
+
+        if (document.getChecksum() == null) {
+            throw new DocumentNotFoundException("No thumbnail for document: " + documentId);
+        }
+        Path path = thumbnailStore.path(document.getChecksum());
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // DOCX files, and documents still being processed, have none
+            throw new DocumentNotFoundException("No thumbnail for document: " + documentId);
+        }
+        return new DocumentContent(path, attributes.size(), "\"" + document.getChecksum() + "-thumbnail\"",
+                attributes.lastModifiedTime().toInstant(), "image/png", thumbnailName(document.getOriginalFilename()));
+    }
+
+    @Override
+    public DocumentSearchResponseDTO searchDocuments(String keyword, DocumentCategory category, boolean prefix,
+                                                     int page, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        if ((long) (pageNumber + 1) * pageSize > MAX_RESULT_WINDOW) {
+            throw new InvalidSearchException("Search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+        }
+
+        DocumentSearchResult result;
+        try {
+            result = searchIndex.search(new DocumentSearchQuery(keyword, category, prefix, pageNumber, pageSize));
+        } catch (IOException e) {
+            throw new DocumentStorageException("Search index is unreadable", e);
+        }
+
+        return DocumentSearchResponseDTO.builder()
+                .items(result.hits().stream().map(documentMapper::toSearchHitDTO).toList())
+                .page(pageNumber)
+                .size(pageSize)
+                .totalHits(result.totalHits())
+                .categories(result.categoryCounts())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public DocumentResponseDTO updateDocumentStatus(String documentId, DocumentStatus status) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new DocumentNotFoundException("Document not found with ID: " + documentId));
+
+        document.setStatus(status);
+        Document saved = documentRepository.saveAndFlush(document);
+        log.info("Document {} is now {}", documentId, status);
+
+        // Readers must never find a document the database does not yet show as approved
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                documentIndexer.sync(saved);
+            }
+        });
+        return documentMapper.toResponseDTO(saved);
+    }
+
+    private static String thumbnailName(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return (dot < 0 ? filename : filename.substring(0, dot)) + ".png";
+    }
+
+    private static String etag(Document document) {
+        // The checksum names the bytes themselves; older rows fall back to the row version
+        String tag = document.getChecksum() != null
+                ? document.getChecksum()
+                : document.getId() + "-" + document.getVersion();
+        return "\"" + tag + "\"";
+    }
+}
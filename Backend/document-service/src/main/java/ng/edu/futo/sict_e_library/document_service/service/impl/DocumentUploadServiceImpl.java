@@ -0,0 +1,258 @@
+package ng.edu.futo.sict_e_library.document_service.service.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import ng.edu.futo.sict_e_library.document_service.exception.DocumentTooLargeException;
+import ng.edu.futo.sict_e_library.document_service.exception.InvalidUploadException;
+import ng.edu.futo.sict_e_library.document_service.processing.ProcessingQueue;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.service.DocumentUploadService;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.StagedBlob;
+import ng.edu.futo.sict_e_library.document_service.util.DocumentMapper;
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the multipart body as a stream: form fields are small and kept as strings, and the
+ * {@code file} part goes straight from the request into the {@link BlobStore}, so a document is
+ * never held in memory or spooled to a temporary file first. That is why Spring's own multipart
+ * handling is switched off for this service.
+ * <p>
+ * Oversized uploads are refused as early as possible: on the declared {@code Content-Length}
+ * before anything is read, and otherwise as soon as the stream passes
+ * {@code document.upload.max-file-size} or {@code max-request-size}. Files whose extension is not
+ * allowed are refused from the part header, before their bytes are read.
+ * <p>
+ * Text and thumbnail extraction is queued in the same transaction and done later by the
+ * processing workers, so the response only waits for the file to reach the disk.
+ */
+@Service
+@Slf4j
+public class DocumentUploadServiceImpl implements DocumentUploadService {
+
+    private static final String FILE_FIELD = "file";
+    private static final int MAX_FIELD_LENGTH = 4096;
+    private static final int MAX_PARTS = 10;
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final BlobStore blobStore;
+    private final DocumentRepository documentRepository;
+    private final DocumentMapper documentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessingQueue processingQueue;
+    private final long maxFileSize;
+    private final long maxRequestSize;
+    private final Set<String> allowedExtensions;
+
+    public DocumentUploadServiceImpl(BlobStore blobStore,
+                                     DocumentRepository documentRepository,
+                                     DocumentMapper documentMapper,
+                                     TransactionTemplate transactionTemplate,
+                                     ProcessingQueue processingQueue,
+                                     @Value("${document.upload.max-file-size:100MB}") DataSize maxFileSize,
+                                     @Value("${document.upload.max-request-size:101MB}") DataSize maxRequestSize,
+                                     @Value("${document.upload.allowed-extensions:pdf,docx,pptx}") List<String> allowedExtensions) {
+        this.blobStore = blobStore;
+        this.documentRepository = documentRepository;
+        this.documentMapper = documentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.processingQueue = processingQueue;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxRequestSize = maxRequestSize.toBytes();
+        this.allowedExtensions = allowedExtensions.stream()
+                .map(extension -> extension.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public DocumentResponseDTO uploadDocument(HttpServletRequest request, String uploaderId) {
+        long declaredLength = request.getContentLengthLong();
+        if (declaredLength > maxRequestSize) {
+            throw new DocumentTooLargeException("Upload of " + declaredLength + " bytes exceeds the limit of "
+                    + maxRequestSize + " bytes");
+        }
+        if (!JakartaServletFileUpload.isMultipartContent(request)) {
+            throw new InvalidUploadException("Uploads must be sent as multipart/form-data");
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setSizeMax(maxRequestSize);
+        upload.setFileSizeMax(maxFileSize);
+        upload.setFileCountMax(MAX_PARTS);
+
+        Map<String, String> fields = new HashMap<>();
+        StagedBlob staged = null;
+        String filename = null;
+        String contentType = null;
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                if (item.isFormField()) {
+                    fields.put(item.getFieldName(), readField(item));
+                    continue;
+                }
+                if (!FILE_FIELD.equals(item.getFieldName()) || staged != null) {
+                    throw new InvalidUploadException("Expected a single file part named '" + FILE_FIELD + "'");
+                }
+                filename = checkFilename(item.getName());
+                contentType = item.getContentType() != null ? item.getContentType() : DEFAULT_CONTENT_TYPE;
+                staged = blobStore.stage(item.getInputStream());
+            }
+        } catch (IOException e) {
+            discard(staged);
+            FileUploadSizeException tooLarge = findSizeException(e);
+            if (tooLarge != null) {
+                throw new DocumentTooLargeException("Upload exceeds the limit of " + tooLarge.getPermitted() + " bytes");
+            }
+            throw new InvalidUploadException("Could not read the upload: " + e.getMessage());
+        } catch (RuntimeException e) {
+            discard(staged);
+            throw e;
+        }
+
+        if (staged == null) {
+            throw new InvalidUploadException("The upload has no '" + FILE_FIELD + "' part");
+        }
+        try {
+            Document document = toNewDocument(fields, uploaderId, filename, contentType);
+            return save(document, staged);
+        } catch (RuntimeException e) {
+            discard(staged);
+            throw e;
+        }
+    }
+
+    private DocumentResponseDTO save(Document document, StagedBlob staged) {
+        try {
+            return saveOnce(document, staged);
+        } catch (DataIntegrityViolationException e) {
+            // Another upload of the same new file inserted its blob first; this one now just references it
+            log.debug("Blob {} was stored concurrently, retrying as a reference", staged.sha256());
+            return saveOnce(document, staged);
+        }
+    }
+
+    private DocumentResponseDTO saveOnce(Document document, StagedBlob staged) {
+        return transactionTemplate.execute(status -> {
+            ContentBlob blob = blobStore.commit(staged);
+            document.setId(null);
+            document.setVersion(null);
+            document.setChecksum(blob.getSha256());
+            document.setSizeBytes(blob.getSizeBytes());
+            document.setStoragePath(blob.getStoragePath());
+            Document saved = documentRepository.save(document);
+            // Text and thumbnail are extracted by the processing workers after the response
+            processingQueue.enqueue(saved);
+            log.debug("Stored document {} as blob {} ({} references)", saved.getId(), blob.getSha256(), blob.getRefCount());
+            return documentMapper.toResponseDTO(saved);
+        });
+    }
+
+    private Document toNewDocument(Map<String, String> fields, String uploaderId, String filename, String contentType) {
+        String title = fields.get("title");
+        if (title == null || title.isBlank()) {
+            throw new InvalidUploadException("Title is required");
+        }
+        if (title.length() > 255) {
+            throw new InvalidUploadException("Title must be at most 255 characters");
+        }
+        String description = fields.get("description");
+        if (description != null && description.length() > 2000) {
+            throw new InvalidUploadException("Description must be at most 2000 characters");
+        }
+        String doi = fields.get("doi");
+        if (doi != null && doi.length() > 255) {
+            throw new InvalidUploadException("DOI must be at most 255 characters");
+        }
+
+        return Document.builder()
+                .title(title.trim())
+                .description(description)
+                .category(parseCategory(fields.get("category")))
+                .status(DocumentStatus.PENDING)
+                .processingStatus(ProcessingStatus.PENDING)
+                .uploaderId(uploaderId)
+                .doi(doi == null || doi.isBlank() ? null : doi.trim())
+                .originalFilename(filename)
+                .contentType(contentType)
+                .build();
+    }
+
+    private static DocumentCategory parseCategory(String category) {
+        if (category == null || category.isBlank()) {
+            throw new InvalidUploadException("Category is required");
+        }
+        try {
+            return DocumentCategory.valueOf(category.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidUploadException("Category must be one of " + Arrays.toString(DocumentCategory.values()));
+        }
+    }
+
+    private String checkFilename(String name) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidUploadException("The file part has no filename");
+        }
+        // Browsers on Windows may send the full client path
+        String filename = name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1).trim();
+        int dot = filename.lastIndexOf('.');
+        String extension = dot < 0 ? "" : filename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (filename.length() > 255 || !allowedExtensions.contains(extension)) {
+            throw new InvalidUploadException("Only " + allowedExtensions + " files up to 255 characters in name are accepted");
+        }
+        return filename;
+    }
+
+    private static String readField(FileItemInput item) throws IOException {
+        try (InputStream in = item.getInputStream()) {
+            byte[] value = in.readNBytes(MAX_FIELD_LENGTH + 1);
+            if (value.length > MAX_FIELD_LENGTH) {
+                throw new InvalidUploadException("Field '" + item.getFieldName() + "' is too long");
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static FileUploadSizeException findSizeException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FileUploadSizeException sizeException) {
+                return sizeException;
+            }
+        }
+        return null;
+    }
+
+    private void discard(StagedBlob staged) {
+        if (staged != null) {
+            blobStore.discard(staged);
+        }
+    }
+}
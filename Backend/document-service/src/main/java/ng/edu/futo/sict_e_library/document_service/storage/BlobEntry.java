@@ -0,0 +1,15 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import java.time.Instant;
+
+/**
+ * What the {@link BlobIndex} knows about one stored blob. Its location follows from the hash
+ * ({@link BlobStore#blobPath}); {@code damaged} is set when the file is missing or no longer
+ * matches its hash, and cleared once a good copy is back.
+ */
+public record BlobEntry(String sha256, long size, Instant lastModified, boolean damaged) {
+
+    public BlobEntry withDamaged(boolean damaged) {
+        return new BlobEntry(sha256, size, lastModified, damaged);
+    }
+}
@@ -0,0 +1,270 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * The catalogue of stored blobs, held in memory and persisted as an append-only file of
+ * fixed-width records, so a download can find its blob's size and state without a database
+ * query or a file-system lookup. After an 8-byte header (magic and format version) each record
+ * is 53 bytes:
+ * <pre>
+ *   sha256 (32) | size (8) | last modified, epoch ms (8) | flags (1) | CRC32 of the first 49 bytes (4)
+ * </pre>
+ * A later record for the same hash replaces an earlier one; a record flagged removed drops the
+ * blob from the index until it is put again. Records are appended without
+ * forcing them to disk: the {@code content_blobs} table stays the source of truth, and
+ * {@link BlobStore} rebuilds the file from it when the file is missing, damaged or out of step.
+ */
+@Slf4j
+public class BlobIndex implements Closeable {
+
+    static final int RECORD_SIZE = 53;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAGIC = 0x45424958;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HASH_SIZE = 32;
+    private static final byte FLAG_DAMAGED = 1;
+    private static final byte FLAG_REMOVED = 2;
+    private static final int READ_BATCH = 4096;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path file;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Map<String, BlobEntry> entries = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    private long recordCount;
+    private volatile boolean intact;
+
+    /**
+     * Opens the index at {@code file} and reads all its records into memory. A torn record at
+     * the end, left by a crash in the middle of an append, is cut off. Any other damage, or a
+     * missing file, starts an empty index and leaves {@link #isIntact()} false.
+     */
+    public BlobIndex(Path file) throws IOException {
+        this.file = file;
+        this.intact = Files.exists(file) && read();
+        if (!intact) {
+            entries = new ConcurrentHashMap<>();
+            recordCount = 0;
+            writeFile(Map.of());
+        }
+        channel = openForAppend();
+    }
+
+    public BlobEntry get(String sha256) {
+        return entries.get(sha256);
+    }
+
+    public Collection<BlobEntry> entries() {
+        return entries.values();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether the file was read completely when the index was opened, or has been rewritten since.
+     */
+    public boolean isIntact() {
+        return intact;
+    }
+
+    /**
+     * Records on file, including ones since replaced by a later record for the same blob.
+     */
+    public long recordCount() {
+        return recordCount;
+    }
+
+    public void put(BlobEntry entry) {
+        writeLock.lock();
+        try {
+            entries.put(entry.sha256(), entry);
+            append(encode(entry, entry.damaged() ? FLAG_DAMAGED : 0));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops a blob from the index by appending a removal record for it.
+     */
+    public void remove(String sha256) {
+        writeLock.lock();
+        try {
+            if (entries.remove(sha256) != null) {
+                append(encode(new BlobEntry(sha256, 0, Instant.EPOCH, false), FLAG_REMOVED));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with exactly {@code replacement}: a new file is written beside the old
+     * one, forced to disk and renamed over it, so a crash leaves one or the other.
+     */
+    public void rewrite(Collection<BlobEntry> replacement) throws IOException {
+        Map<String, BlobEntry> fresh = new ConcurrentHashMap<>(Math.max(16, replacement.size() * 4 / 3 + 1));
+        for (BlobEntry entry : replacement) {
+            fresh.put(entry.sha256(), entry);
+        }
+        writeLock.lock();
+        try {
+            writeFile(fresh);
+            channel.close();
+            entries = fresh;
+            recordCount = fresh.size();
+            intact = true;
+            channel = openForAppend();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the file when superseded records make up most of it.
+     */
+    public void compactIfWasteful() throws IOException {
+        if (recordCount > 2L * entries.size() + READ_BATCH) {
+            log.info("Compacting blob index: {} records for {} blobs", recordCount, entries.size());
+            rewrite(new HashMap<>(entries).values());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            channel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean read() throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(in, header);
+            if (header.position() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                log.warn("Blob index {} has an unknown header, rebuilding it", file);
+                return false;
+            }
+
+            long records = (in.size() - HEADER_SIZE) / RECORD_SIZE;
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * READ_BATCH);
+            byte[] hash = new byte[HASH_SIZE];
+            CRC32 crc = new CRC32();
+            for (long done = 0; done < records; ) {
+                buffer.clear().limit((int) Math.min(READ_BATCH, records - done) * RECORD_SIZE);
+                readFully(in, buffer);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    crc.reset();
+                    crc.update(buffer.slice(buffer.position(), RECORD_SIZE - Integer.BYTES));
+                    buffer.get(hash);
+                    long size = buffer.getLong();
+                    long lastModified = buffer.getLong();
+                    byte flags = buffer.get();
+                    if (buffer.getInt() != (int) crc.getValue()) {
+                        log.warn("Blob index {} has a corrupt record at {}, rebuilding it", file, done);
+                        return false;
+                    }
+                    String sha256 = HEX.formatHex(hash);
+                    if ((flags & FLAG_REMOVED) != 0) {
+                        entries.remove(sha256);
+                    } else {
+                        entries.put(sha256, new BlobEntry(sha256, size, Instant.ofEpochMilli(lastModified),
+                                (flags & FLAG_DAMAGED) != 0));
+                    }
+                    done++;
+                }
+            }
+            recordCount = records;
+            return true;
+        }
+    }
+
+    // Called with the write lock held
+    private void append(ByteBuffer record) {
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            recordCount++;
+        } catch (IOException e) {
+            // The change still holds in memory; the next start finds the file out of step and rebuilds it
+            log.warn("Could not append a record to blob index {}: {}", file, e.getMessage());
+        }
+    }
+
+    private FileChannel openForAppend() throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.WRITE);
+        long end = HEADER_SIZE + recordCount * RECORD_SIZE;
+        if (opened.size() > end) {
+            log.warn("Dropping a torn record at the end of blob index {}", file);
+            opened.truncate(end);
+        }
+        return opened.position(end);
+    }
+
+    private void writeFile(Map<String, BlobEntry> content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * READ_BATCH);
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+            for (BlobEntry entry : content.values()) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(out, buffer.flip());
+                    buffer.clear();
+                }
+                buffer.put(encode(entry, entry.damaged() ? FLAG_DAMAGED : 0));
+            }
+            writeFully(out, buffer.flip());
+            out.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static ByteBuffer encode(BlobEntry entry, byte flags) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(HEX.parseHex(entry.sha256()))
+                .putLong(entry.size())
+                .putLong(entry.lastModified().toEpochMilli())
+                .put(flags);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, RECORD_SIZE - Integer.BYTES);
+        return record.putInt((int) crc.getValue()).flip();
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
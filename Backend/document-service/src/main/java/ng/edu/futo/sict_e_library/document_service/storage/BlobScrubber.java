@@ -0,0 +1,276 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.repository.ContentBlobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background integrity checks for the {@link BlobStore}, one shard directory per run, so a full
+ * pass takes 256 runs of {@code document.storage.scrub.interval} (about 21 hours at the default)
+ * and never reads more than a 256th of the store at once. Each run:
+ * <ul>
+ *     <li>deletes blobs whose {@code refCount} has dropped to zero: the row, the file and the index
+ *     record. The row is deleted only while still unreferenced, and the file before that deletion
+ *     commits, so an upload of the same content either keeps the blob or waits and stores it
+ *     afresh.</li>
+ *     <li>re-hashes every indexed blob in the shard. One that is missing or no longer matches its
+ *     hash is marked damaged, so downloads fail instead of serving the wrong bytes, and a corrupt
+ *     file is moved to {@code quarantine/}. A damaged blob found whole again (restored from a
+ *     backup) is marked good.</li>
+ *     <li>looks at files the index does not know, once they are older than
+ *     {@code document.storage.scrub.orphan-grace}. With no {@code content_blobs} row they are left
+ *     over from uploads rolled back after the rename, and are deleted; with a row, their index
+ *     record was lost in a crash, and they are indexed again.</li>
+ *     <li>deletes staged uploads in {@code incoming/} older than the same grace period.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class BlobScrubber {
+
+    static final int SHARDS = 256;
+    private static final String QUARANTINE_DIR = "quarantine";
+    private static final int HASH_LENGTH = 64;
+
+    private final BlobStore blobStore;
+    private final ContentBlobRepository contentBlobRepository;
+    private final DirectBufferPool bufferPool;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration orphanGrace;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public BlobScrubber(BlobStore blobStore,
+                        ContentBlobRepository contentBlobRepository,
+                        DirectBufferPool bufferPool,
+                        TransactionTemplate transactionTemplate,
+                        @Value("${document.storage.scrub.enabled:true}") boolean enabled,
+                        @Value("${document.storage.scrub.orphan-grace:PT1H}") Duration orphanGrace) {
+        this.blobStore = blobStore;
+        this.contentBlobRepository = contentBlobRepository;
+        this.bufferPool = bufferPool;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.orphanGrace = orphanGrace;
+    }
+
+    @Scheduled(fixedDelayString = "${document.storage.scrub.interval:PT5M}",
+            initialDelayString = "${document.storage.scrub.interval:PT5M}")
+    public void scrubNextShard() {
+        if (!enabled) {
+            return;
+        }
+        ScrubReport report = scrubShard(nextShard.getAndUpdate(shard -> (shard + 1) % SHARDS));
+        if (report.damaged() > 0) {
+            log.error("Blob scrub of shard {} found {} damaged blobs", report.shard(), report.damaged());
+        }
+        log.debug("Blob scrub of shard {}: {}", report.shard(), report);
+    }
+
+    public ScrubReport scrubShard(int shard) {
+        String prefix = HexFormat.of().toHexDigits((byte) shard);
+        Path dir = blobStore.blobDir().resolve(prefix);
+        Instant cutoff = Instant.now().minus(orphanGrace);
+        BlobIndex index = blobStore.index();
+        int unreferencedDeleted = deleteUnreferenced(prefix);
+        Map<String, BasicFileAttributes> unindexed = listFiles(dir);
+
+        int verified = 0;
+        int damaged = 0;
+        int restored = 0;
+        for (BlobEntry entry : index.entries()) {
+            if (!entry.sha256().startsWith(prefix)) {
+                continue;
+            }
+            BasicFileAttributes attributes = unindexed.remove(entry.sha256());
+            switch (check(entry, dir.resolve(entry.sha256()), attributes)) {
+                case VERIFIED -> verified++;
+                case RESTORED -> restored++;
+                case DAMAGED -> damaged++;
+            }
+        }
+
+        int reindexed = 0;
+        int orphansDeleted = 0;
+        for (Map.Entry<String, BasicFileAttributes> file : unindexed.entrySet()) {
+            String name = file.getKey();
+            BasicFileAttributes attributes = file.getValue();
+            if (!isBlobName(name) || attributes.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                continue;
+            }
+            if (contentBlobRepository.existsById(name)) {
+                index.put(new BlobEntry(name, attributes.size(), attributes.lastModifiedTime().toInstant(), false));
+                reindexed++;
+            } else if (delete(dir.resolve(name))) {
+                log.info("Deleted orphaned blob {}", name);
+                orphansDeleted++;
+            }
+        }
+
+        return new ScrubReport(prefix, unreferencedDeleted, verified, damaged, restored, reindexed,
+                orphansDeleted, deleteStaleUploads(cutoff));
+    }
+
+    private int deleteUnreferenced(String prefix) {
+        List<ContentBlob> unreferenced = contentBlobRepository.findBySha256StartingWithAndRefCount(prefix, 0);
+        int deleted = 0;
+        for (ContentBlob blob : unreferenced) {
+            String sha256 = blob.getSha256();
+            boolean removed = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (contentBlobRepository.deleteIfUnreferenced(sha256) == 0) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(blobStore.blobPath(sha256));
+                } catch (IOException e) {
+                    log.warn("Could not delete unreferenced blob {}: {}", sha256, e.getMessage());
+                    status.setRollbackOnly();
+                    return false;
+                }
+                blobStore.index().remove(sha256);
+                return true;
+            }));
+            if (removed) {
+                log.info("Deleted unreferenced blob {}", sha256);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private Outcome check(BlobEntry entry, Path path, BasicFileAttributes attributes) {
+        if (attributes == null) {
+            if (!entry.damaged()) {
+                log.error("Blob {} is missing from the store", entry.sha256());
+                blobStore.index().put(entry.withDamaged(true));
+            }
+            return Outcome.DAMAGED;
+        }
+
+        String actual;
+        try {
+            actual = hash(path);
+        } catch (NoSuchFileException e) {
+            // Replaced or quarantined while this run was listing the shard; the next pass sees it
+            return entry.damaged() ? Outcome.DAMAGED : Outcome.VERIFIED;
+        } catch (IOException e) {
+            log.error("Could not read blob {}: {}", entry.sha256(), e.getMessage());
+            blobStore.index().put(entry.withDamaged(true));
+            return Outcome.DAMAGED;
+        }
+
+        if (actual.equals(entry.sha256())) {
+            if (!entry.damaged()) {
+                return Outcome.VERIFIED;
+            }
+            log.info("Blob {} is whole again", entry.sha256());
+            blobStore.index().put(new BlobEntry(entry.sha256(), attributes.size(),
+                    attributes.lastModifiedTime().toInstant(), false));
+            return Outcome.RESTORED;
+        }
+
+        log.error("Blob {} no longer matches its hash (read {}), quarantining it", entry.sha256(), actual);
+        quarantine(path, entry.sha256());
+        blobStore.index().put(entry.withDamaged(true));
+        return Outcome.DAMAGED;
+    }
+
+    private String hash(Path path) throws IOException {
+        MessageDigest digest = BlobStore.sha256();
+        ByteBuffer buffer = bufferPool.acquire();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                digest.update(buffer.flip());
+                buffer.clear();
+            }
+        } finally {
+            bufferPool.release(buffer);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void quarantine(Path path, String sha256) {
+        Path target = blobStore.rootDir().resolve(QUARANTINE_DIR).resolve(sha256 + "-" + System.currentTimeMillis());
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not quarantine blob {}: {}", sha256, e.getMessage());
+        }
+    }
+
+    private int deleteStaleUploads(Instant cutoff) {
+        int deleted = 0;
+        for (Map.Entry<String, BasicFileAttributes> file : listFiles(blobStore.incomingDir()).entrySet()) {
+            if (file.getValue().lastModifiedTime().toInstant().isBefore(cutoff)
+                    && delete(blobStore.incomingDir().resolve(file.getKey()))) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private static Map<String, BasicFileAttributes> listFiles(Path dir) {
+        Map<String, BasicFileAttributes> files = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.put(path.getFileName().toString(), attributes);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Shards are created with their first blob
+        } catch (IOException e) {
+            log.warn("Could not list {}: {}", dir, e.getMessage());
+        }
+        return files;
+    }
+
+    private static boolean delete(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isBlobName(String name) {
+        return name.length() == HASH_LENGTH && name.chars().allMatch(HexFormat::isHexDigit);
+    }
+
+    private enum Outcome {
+        VERIFIED, RESTORED, DAMAGED
+    }
+
+    /**
+     * What one run found and did in its shard.
+     */
+    public record ScrubReport(String shard, int unreferencedDeleted, int verified, int damaged, int restored,
+                              int reindexed, int orphansDeleted, int stagedUploadsDeleted) {
+    }
+}
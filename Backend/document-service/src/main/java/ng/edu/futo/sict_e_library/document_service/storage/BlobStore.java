@@ -0,0 +1,330 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.exception.DocumentStorageException;
+import ng.edu.futo.sict_e_library.document_service.repository.ContentBlobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Content-addressed file storage under {@code document.storage.root-dir}. Every distinct file is
+ * kept once, named by its SHA-256, with a {@link ContentBlob} row counting the documents that use
+ * it, so a lecturer re-uploading last semester's slides adds a reference, not a copy. Blobs are
+ * spread over 256 directories by the first byte of their hash ({@code blobs/3f/3fa9...}), which
+ * keeps each directory a few thousand entries long even with a million files.
+ * <p>
+ * An upload is first {@linkplain #stage streamed} into {@code incoming/} on the same file system,
+ * hashed as it is written, and then {@linkplain #commit committed} in the caller's transaction:
+ * known content only gains a reference and the staged file is dropped; new content is forced to
+ * disk and renamed into place while its freshly inserted row is still locked, so a blob path
+ * only ever holds a complete file.
+ * <p>
+ * The {@link BlobIndex} in {@code blob-index.dat} lets downloads {@linkplain #find find} a blob
+ * without asking the database or the file system. It is checked against {@code content_blobs}
+ * once the application is ready and rebuilt from it when they disagree; the {@link BlobScrubber}
+ * keeps it honest about blobs that go missing or bad.
+ */
+@Component
+@Slf4j
+public class BlobStore {
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String INCOMING_DIR = "incoming";
+    private static final String INDEX_FILE = "blob-index.dat";
+    private static final int SHARD_PREFIX_LENGTH = 2;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final Path rootDir;
+    private final Path incomingDir;
+    private final Path blobDir;
+    private final DirectBufferPool bufferPool;
+    private final ContentBlobRepository contentBlobRepository;
+    private final BlobIndex index;
+
+    public BlobStore(@Value("${document.storage.root-dir:./data/documents}") Path rootDir,
+                     DirectBufferPool bufferPool,
+                     ContentBlobRepository contentBlobRepository) {
+        this.rootDir = rootDir.toAbsolutePath().normalize();
+        this.incomingDir = this.rootDir.resolve(INCOMING_DIR);
+        this.blobDir = this.rootDir.resolve(BLOB_DIR);
+        this.bufferPool = bufferPool;
+        this.contentBlobRepository = contentBlobRepository;
+        try {
+            Files.createDirectories(incomingDir);
+            Files.createDirectories(blobDir);
+            this.index = new BlobIndex(this.rootDir.resolve(INDEX_FILE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the document store under " + this.rootDir, e);
+        }
+    }
+
+    /**
+     * Writes the stream to a new file in {@code incoming/} through a pooled direct buffer,
+     * computing its SHA-256 on the way. The stream is read to its end but not closed.
+     */
+    public StagedBlob stage(InputStream in) throws IOException {
+        Path staged = incomingDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = bufferPool.acquire();
+        long size = 0;
+        try (FileChannel target = FileChannel.open(staged, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(in);
+            boolean end = false;
+            while (!end) {
+                // The stream hands over a few KB per read; fill the whole buffer before each write
+                while (buffer.hasRemaining()) {
+                    if (source.read(buffer) < 0) {
+                        end = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer);
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                buffer.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        } finally {
+            bufferPool.release(buffer);
+        }
+        return new StagedBlob(staged, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    /**
+     * Adds one reference to the staged content and returns its blob. Must run inside the
+     * transaction that saves the referencing document, so the reference and the document commit
+     * or roll back together. Two uploads of the same new file can both try to insert it; the
+     * loser fails with a {@code DataIntegrityViolationException} and can simply be retried.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public ContentBlob commit(StagedBlob staged) {
+        String sha256 = staged.sha256();
+        if (contentBlobRepository.incrementRefCount(sha256) > 0) {
+            BlobEntry known = index.get(sha256);
+            if (known != null && known.damaged()) {
+                // A good copy of a blob the scrubber found missing or corrupt: put it back
+                place(staged);
+                index.put(new BlobEntry(sha256, staged.size(), Instant.now(), false));
+                log.info("Restored damaged blob {} from a new upload", sha256);
+            } else {
+                discard(staged);
+            }
+            return contentBlobRepository.findById(sha256).orElseThrow();
+        }
+
+        place(staged);
+        ContentBlob blob = contentBlobRepository.saveAndFlush(ContentBlob.builder()
+                .sha256(sha256)
+                .sizeBytes(staged.size())
+                .storagePath(storagePath(sha256))
+                .refCount(1)
+                .build());
+        // Only blobs with a committed row are indexed; a rolled-back one is an orphan for the scrubber
+        BlobEntry entry = new BlobEntry(sha256, staged.size(), Instant.now(), false);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(entry);
+            }
+        });
+        return blob;
+    }
+
+    /**
+     * Drops one reference to a blob, in the transaction that deletes or repoints the referencing
+     * document. The file stays until the {@link BlobScrubber} finds the blob unreferenced, so
+     * an upload of the same content in the meantime only adds the reference back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String sha256) {
+        if (contentBlobRepository.decrementRefCount(sha256) == 0) {
+            log.warn("Released blob {}, which had no references", sha256);
+        }
+    }
+
+    /**
+     * Removes a staged file that will not be committed. Safe to call more than once.
+     */
+    public void discard(StagedBlob staged) {
+        try {
+            Files.deleteIfExists(staged.path());
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload {}: {}", staged.path(), e.getMessage());
+        }
+    }
+
+    public Path resolve(String storagePath) {
+        Path path = rootDir.resolve(storagePath).normalize();
+        // Stored paths come from the database, but never serve anything outside the root
+        if (!path.startsWith(rootDir)) {
+            throw new DocumentStorageException("Storage path escapes the document root: " + storagePath);
+        }
+        return path;
+    }
+
+    /**
+     * The indexed state of a blob, or {@code null} when the index does not know it (not yet
+     * loaded, or a file stored before there was an index).
+     */
+    public BlobEntry find(String sha256) {
+        return index.get(sha256);
+    }
+
+    public Path blobPath(String sha256) {
+        return rootDir.resolve(storagePath(sha256));
+    }
+
+    /**
+     * Reconciles the index with {@code content_blobs}: kept as read when it is intact and has a
+     * blob for every row, rebuilt otherwise. Lookups fall back to the file system until then.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long rows = contentBlobRepository.count();
+        if (index.isIntact() && index.size() == rows) {
+            try {
+                index.compactIfWasteful();
+            } catch (IOException e) {
+                log.warn("Could not compact the blob index: {}", e.getMessage());
+            }
+            log.info("Loaded blob index with {} blobs", rows);
+            return;
+        }
+        log.info("Blob index has {} blobs for {} rows, rebuilding it", index.size(), rows);
+        rebuildIndex();
+    }
+
+    /**
+     * Rewrites the index from {@code content_blobs} and what is on disk, e.g. after restoring a
+     * backup. Blobs whose file is missing or has the wrong size are marked damaged.
+     */
+    public void rebuildIndex() {
+        List<BlobEntry> entries = new ArrayList<>();
+        String after = "";
+        List<ContentBlob> page;
+        do {
+            page = contentBlobRepository.findTop1000BySha256GreaterThanOrderBySha256Asc(after);
+            for (ContentBlob blob : page) {
+                entries.add(inspect(blob));
+            }
+            if (!page.isEmpty()) {
+                after = page.getLast().getSha256();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        try {
+            index.rewrite(entries);
+        } catch (IOException e) {
+            throw new DocumentStorageException("Could not write the blob index", e);
+        }
+        long damaged = entries.stream().filter(BlobEntry::damaged).count();
+        log.info("Rebuilt blob index with {} blobs ({} damaged)", entries.size(), damaged);
+    }
+
+    @PreDestroy
+    public void closeIndex() throws IOException {
+        index.close();
+    }
+
+    static String storagePath(String sha256) {
+        return BLOB_DIR + "/" + sha256.substring(0, SHARD_PREFIX_LENGTH) + "/" + sha256;
+    }
+
+    BlobIndex index() {
+        return index;
+    }
+
+    Path blobDir() {
+        return blobDir;
+    }
+
+    Path incomingDir() {
+        return incomingDir;
+    }
+
+    Path rootDir() {
+        return rootDir;
+    }
+
+    private BlobEntry inspect(ContentBlob blob) {
+        Instant created = blob.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(blobPath(blob.getSha256()), BasicFileAttributes.class);
+            return new BlobEntry(blob.getSha256(), attributes.size(), attributes.lastModifiedTime().toInstant(),
+                    attributes.size() != blob.getSizeBytes());
+        } catch (IOException e) {
+            log.warn("Blob {} is missing from the store", blob.getSha256());
+            return new BlobEntry(blob.getSha256(), blob.getSizeBytes(), created, true);
+        }
+    }
+
+    /**
+     * Forces the staged file to disk, then renames it to its blob path, replacing whatever was
+     * there, and forces the directory so the rename itself survives a crash.
+     */
+    private void place(StagedBlob staged) {
+        Path target = blobPath(staged.sha256());
+        try {
+            force(staged.path());
+            Files.createDirectories(target.getParent());
+            Files.move(staged.path(), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            force(target.getParent());
+        } catch (IOException e) {
+            throw new DocumentStorageException("Could not store blob " + staged.sha256(), e);
+        }
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened or synced on every platform; the data itself was forced
+            if (!Files.isDirectory(path)) {
+                throw e;
+            }
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed-size direct buffers for writing uploads to disk. A direct buffer goes to the file
+ * channel without the extra copy the JDK makes for heap buffers, but is slow to allocate, so
+ * up to {@code document.upload.buffer-pool-size} are kept for reuse; buffers beyond that (more
+ * concurrent uploads than the pool) are allocated on demand and left to the garbage collector.
+ */
+@Component
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> idle;
+
+    public DirectBufferPool(@Value("${document.upload.buffer-size:64KB}") DataSize bufferSize,
+                            @Value("${document.upload.buffer-pool-size:16}") int poolSize) {
+        this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        idle.offer(buffer.clear());
+    }
+}
@@ -0,0 +1,67 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Text extracted from stored blobs, kept beside them as {@code text/<shard>/<sha256>.txt} so it
+ * is extracted once per distinct file and is there to re-index from whenever a document is
+ * approved or the search index is rebuilt.
+ */
+@Component
+public class ExtractedTextStore {
+
+    private static final String TEXT_DIR = "text";
+
+    private final Path textDir;
+
+    public ExtractedTextStore(BlobStore blobStore) {
+        this.textDir = blobStore.rootDir().resolve(TEXT_DIR);
+        try {
+            Files.createDirectories(textDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the text store under " + textDir, e);
+        }
+    }
+
+    public boolean contains(String sha256) {
+        return Files.exists(path(sha256));
+    }
+
+    /**
+     * The stored text, or {@code null} when none was extracted.
+     */
+    public String read(String sha256) throws IOException {
+        try {
+            return Files.readString(path(sha256));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes beside the final name and renames into place, so readers never see partial text.
+     */
+    public void write(String sha256, String text) throws IOException {
+        Path target = path(sha256);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(UUID.randomUUID() + ".tmp");
+        try {
+            Files.writeString(temp, text);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path path(String sha256) {
+        return textDir.resolve(sha256.substring(0, 2)).resolve(sha256 + ".txt");
+    }
+}
@@ -0,0 +1,10 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Uploaded bytes written to the store's incoming directory, with their digest, waiting for
+ * {@link BlobStore#commit} or {@link BlobStore#discard}.
+ */
+public record StagedBlob(Path path, String sha256, long size) {
+}
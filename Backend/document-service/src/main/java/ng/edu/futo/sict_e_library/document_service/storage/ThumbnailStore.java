@@ -0,0 +1,61 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * First-page previews of stored blobs, kept beside them as
+ * {@code thumbnails/<shard>/<sha256>.png} so each distinct file is rendered once.
+ */
+@Component
+public class ThumbnailStore {
+
+    private static final String THUMBNAIL_DIR = "thumbnails";
+
+    private final Path thumbnailDir;
+
+    public ThumbnailStore(BlobStore blobStore) {
+        this.thumbnailDir = blobStore.rootDir().resolve(THUMBNAIL_DIR);
+        try {
+            Files.createDirectories(thumbnailDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create the thumbnail store under " + thumbnailDir, e);
+        }
+    }
+
+    public boolean contains(String sha256) {
+        return Files.exists(path(sha256));
+    }
+
+    /**
+     * Where the PNG of blob {@code sha256} is, or would be.
+     */
+    public Path path(String sha256) {
+        return thumbnailDir.resolve(sha256.substring(0, 2)).resolve(sha256 + ".png");
+    }
+
+    /**
+     * Writes beside the final name and renames into place, so readers never see a partial image.
+     */
+    public void write(String sha256, BufferedImage image) throws IOException {
+        Path target = path(sha256);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(UUID.randomUUID() + ".tmp");
+        try {
+            if (!ImageIO.write(image, "png", temp.toFile())) {
+                throw new IOException("No PNG writer available");
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
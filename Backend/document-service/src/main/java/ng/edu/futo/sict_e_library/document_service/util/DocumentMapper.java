@@ -0,0 +1,43 @@
+package ng.edu.futo.sict_e_library.document_service.util;
+
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentResponseDTO;
+import ng.edu.futo.sict_e_library.document_service.dto.response.DocumentSearchHitDTO;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.search.DocumentHit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DocumentMapper {
+
+    public DocumentResponseDTO toResponseDTO(Document document) {
+        return DocumentResponseDTO.builder()
+                .id(document.getId())
+                .title(document.getTitle())
+                .description(document.getDescription())
+                .category(document.getCategory())
+                .status(document.getStatus())
+                .uploaderId(document.getUploaderId())
+                .doi(document.getDoi())
+                .originalFilename(document.getOriginalFilename())
+                .contentType(document.getContentType())
+                .sizeBytes(document.getSizeBytes())
+                .checksum(document.getChecksum())
+                .processingStatus(document.getProcessingStatus())
+                .createdAt(document.getCreatedAt())
+                .build();
+    }
+
+    public DocumentSearchHitDTO toSearchHitDTO(DocumentHit hit) {
+        return DocumentSearchHitDTO.builder()
+                .id(hit.id())
+                .title(hit.title())
+                .description(hit.description())
+                .category(hit.category())
+                .originalFilename(hit.originalFilename())
+                .contentType(hit.contentType())
+                .sizeBytes(hit.sizeBytes())
+                .createdAt(hit.createdAt())
+                .score(Float.isNaN(hit.score()) ? null : hit.score())
+                .build();
+    }
+}
@@ -2,8 +2,10 @@ package ng.edu.futo.sict_e_library.document_service;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class DocumentServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,341 @@
+package ng.edu.futo.sict_e_library.document_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import ng.edu.futo.sict_e_library.document_service.extraction.TextExtractorsTest;
+import ng.edu.futo.sict_e_library.document_service.repository.ContentBlobRepository;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.repository.ProcessingJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uploads and downloads over a real Tomcat connector, so large responses go through sendfile
+ * and uploads through the streaming multipart parser.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "document.upload.max-file-size=3MB",
+        "document.upload.max-request-size=4MB"
+})
+@ActiveProfiles("test")
+@DisplayName("Document Controller Tests")
+public class DocumentControllerTest {
+
+    private static final int FILE_SIZE = 2 * 1024 * 1024;
+    private static final String BOUNDARY = "----elibrary-test-boundary";
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${document.storage.root-dir}")
+    private Path rootDir;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+
+    @Autowired
+    private ProcessingJobRepository processingJobRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] bytes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bytes = new byte[FILE_SIZE];
+        new Random(7).nextBytes(bytes);
+        Files.createDirectories(rootDir);
+        Files.write(rootDir.resolve("textbook.pdf"), bytes);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        processingJobRepository.deleteAll();
+        documentRepository.deleteAll();
+        contentBlobRepository.deleteAll();
+        Files.deleteIfExists(rootDir.resolve("textbook.pdf"));
+        FileSystemUtils.deleteRecursively(rootDir.resolve("blobs"));
+        Files.createDirectories(rootDir.resolve("blobs"));
+    }
+
+    @Test
+    @DisplayName("Should stream an approved document whole and by range")
+    void testDownloadApprovedDocument() throws Exception {
+        // Given
+        Document document = documentRepository.save(document(DocumentStatus.APPROVED));
+
+        // When
+        HttpResponse<byte[]> full = get(document.getId(), null);
+        HttpResponse<byte[]> range = get(document.getId(), "bytes=1048576-1048675");
+
+        // Then
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.body()).isEqualTo(bytes);
+        assertThat(full.headers().firstValue("ETag")).hasValue("\"" + document.getChecksum() + "\"");
+        assertThat(range.statusCode()).isEqualTo(206);
+        assertThat(range.headers().firstValue("Content-Range")).hasValue("bytes 1048576-1048675/" + FILE_SIZE);
+        assertThat(range.body()).isEqualTo(Arrays.copyOfRange(bytes, 1048576, 1048676));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for a document that is not approved")
+    void testPendingDocumentIsHidden() throws Exception {
+        // Given
+        Document document = documentRepository.save(document(DocumentStatus.PENDING));
+
+        // When
+        HttpResponse<byte[]> response = get(document.getId(), null);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should store identical uploads once and count their references")
+    void testUploadDeduplicatesContent() throws Exception {
+        // When
+        HttpResponse<String> first = upload(multipart("Week 1 slides", "LECTURE_NOTES", "week1.pdf", bytes), true);
+        HttpResponse<String> second = upload(multipart("Week 1 slides (2026)", "LECTURE_NOTES", "week1.pdf", bytes), true);
+
+        // Then
+        assertThat(first.statusCode()).isEqualTo(201);
+        assertThat(second.statusCode()).isEqualTo(201);
+        JsonNode firstDocument = objectMapper.readTree(first.body()).get("data");
+        JsonNode secondDocument = objectMapper.readTree(second.body()).get("data");
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        assertThat(firstDocument.get("checksum").asText()).isEqualTo(sha256);
+        assertThat(firstDocument.get("status").asText()).isEqualTo("PENDING");
+        assertThat(secondDocument.get("id").asText()).isNotEqualTo(firstDocument.get("id").asText());
+
+        ContentBlob blob = contentBlobRepository.findById(sha256).orElseThrow();
+        assertThat(blob.getRefCount()).isEqualTo(2);
+        assertThat(Files.readAllBytes(rootDir.resolve(blob.getStoragePath()))).isEqualTo(bytes);
+        assertThat(incomingFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject an upload whose declared length is over the limit before reading it")
+    void testUploadRejectedOnContentLength() throws Exception {
+        // When
+        HttpResponse<String> response = upload(multipart("Big", "TEXTBOOKS", "big.pdf", new byte[5 * 1024 * 1024]), true);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(413);
+        assertThat(incomingFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a streamed upload once the file passes the limit")
+    void testUploadRejectedWhileStreaming() throws Exception {
+        // Given: no Content-Length, so only the running byte count can catch it
+        byte[] body = multipart("Big", "TEXTBOOKS", "big.pdf", new byte[(int) (3.5 * 1024 * 1024)]);
+
+        // When
+        HttpResponse<String> response = upload(body, false);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(413);
+        assertThat(incomingFiles()).isZero();
+        assertThat(contentBlobRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject files with an extension that is not allowed")
+    void testUploadRejectsExtension() throws Exception {
+        // When
+        HttpResponse<String> response = upload(multipart("Script", "LECTURE_NOTES", "run.exe", bytes), true);
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(documentRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find an uploaded document by its content once approved, and not after rejection")
+    void testSearchFollowsApproval() throws Exception {
+        // Given
+        TextExtractorsTest.pdf(rootDir.resolve("signals.pdf"), "The z-transform of a discrete sequence");
+        byte[] pdf = Files.readAllBytes(rootDir.resolve("signals.pdf"));
+        HttpResponse<String> uploaded = upload(multipart("Signals and Systems", "LECTURE_NOTES", "signals.pdf", pdf), true);
+        JsonNode document = objectMapper.readTree(uploaded.body()).get("data");
+        String id = document.get("id").asText();
+
+        // When: approved while its text may still be extracting
+        JsonNode pending = search("keyword=discrete+sequence");
+        HttpResponse<String> approved = setStatus(id, "APPROVED");
+        awaitProcessing(id);
+        JsonNode found = search("keyword=discrete+seq&prefix=true");
+        JsonNode filtered = search("keyword=discrete&category=TEXTBOOKS");
+        setStatus(id, "REJECTED");
+        JsonNode rejected = search("keyword=discrete+sequence");
+
+        // Then
+        assertThat(document.get("processingStatus").asText()).isEqualTo("PENDING");
+        assertThat(pending.get("totalHits").asLong()).isZero();
+        assertThat(approved.statusCode()).isEqualTo(200);
+        assertThat(found.get("totalHits").asLong()).isEqualTo(1);
+        assertThat(found.get("items").get(0).get("id").asText()).isEqualTo(id);
+        assertThat(found.get("items").get(0).get("title").asText()).isEqualTo("Signals and Systems");
+        assertThat(found.get("categories").get("LECTURE_NOTES").asLong()).isEqualTo(1);
+        assertThat(filtered.get("items")).isEmpty();
+        assertThat(rejected.get("totalHits").asLong()).isZero();
+        Files.delete(rootDir.resolve("signals.pdf"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown category and a page past the result window")
+    void testSearchValidation() throws Exception {
+        // When
+        HttpResponse<String> category = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/docs?category=NOVELS")).build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> deep = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/docs?page=100&size=50")).build(), HttpResponse.BodyHandlers.ofString());
+
+        // Then
+        assertThat(category.statusCode()).isEqualTo(400);
+        assertThat(deep.statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should serve the first-page thumbnail of an approved, processed PDF")
+    void testThumbnail() throws Exception {
+        // Given
+        TextExtractorsTest.pdf(rootDir.resolve("cover.pdf"), "Strength of Materials");
+        byte[] pdf = Files.readAllBytes(rootDir.resolve("cover.pdf"));
+        HttpResponse<String> uploaded = upload(multipart("Strength of Materials", "TEXTBOOKS", "cover.pdf", pdf), true);
+        String id = objectMapper.readTree(uploaded.body()).get("data").get("id").asText();
+        awaitProcessing(id);
+
+        // When
+        HttpResponse<byte[]> pending = get(id + "/thumbnail", null);
+        setStatus(id, "APPROVED");
+        HttpResponse<byte[]> thumbnail = get(id + "/thumbnail", null);
+
+        // Then
+        assertThat(pending.statusCode()).isEqualTo(404);
+        assertThat(thumbnail.statusCode()).isEqualTo(200);
+        assertThat(thumbnail.headers().firstValue("Content-Type")).hasValue("image/png");
+        assertThat(ImageIO.read(new ByteArrayInputStream(thumbnail.body())).getWidth()).isEqualTo(240);
+        Files.delete(rootDir.resolve("cover.pdf"));
+    }
+
+    private void awaitProcessing(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ProcessingStatus status = documentRepository.findById(id).orElseThrow().getProcessingStatus();
+            if (status == ProcessingStatus.READY || status == ProcessingStatus.FAILED) {
+                assertThat(status).isEqualTo(ProcessingStatus.READY);
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Document " + id + " was not processed in time");
+    }
+
+    private JsonNode search(String query) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/docs?" + query)).build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body()).get("data");
+    }
+
+    private HttpResponse<String> setStatus(String id, String status) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/docs/" + id + "/status?status=" + status))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<byte[]> get(String id, String range) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/docs/" + id));
+        if (range != null) {
+            request.header("Range", range);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<String> upload(byte[] body, boolean withLength) throws Exception {
+        HttpRequest.BodyPublisher publisher = withLength
+                ? HttpRequest.BodyPublishers.ofByteArray(body)
+                : HttpRequest.BodyPublishers.ofInputStream(() -> new SequenceInputStream(
+                        new ByteArrayInputStream(body, 0, body.length / 2),
+                        new ByteArrayInputStream(body, body.length / 2, body.length - body.length / 2)));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/docs/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .header("X-User-Id", "lecturer-1")
+                .POST(publisher)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] multipart(String title, String category, String filename, byte[] content) throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(field("title", title));
+        body.write(field("category", category));
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n" +
+                "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    private static byte[] field(String name, String value) {
+        return ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long incomingFiles() throws Exception {
+        try (Stream<Path> files = Files.list(rootDir.resolve("incoming"))) {
+            return files.count();
+        }
+    }
+
+    private static Document document(DocumentStatus status) {
+        return Document.builder()
+                .title("Engineering Mathematics")
+                .category(DocumentCategory.TEXTBOOKS)
+                .status(status)
+                .uploaderId("uploader-1")
+                .originalFilename("textbook.pdf")
+                .contentType("application/pdf")
+                .sizeBytes((long) FILE_SIZE)
+                .storagePath("textbook.pdf")
+                .checksum("d2f1c0ffee")
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Text Extractor Tests")
+public class TextExtractorsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should extract the text of every PDF page")
+    void testPdf() throws Exception {
+        // Given
+        Path file = pdf(tempDir.resolve("notes.pdf"), "Fourier series", "Laplace transforms");
+
+        // When
+        String text = new PdfTextExtractor().extract(file, 1000);
+
+        // Then
+        assertThat(text).contains("Fourier series").contains("Laplace transforms");
+    }
+
+    @Test
+    @DisplayName("Should stop reading a PDF at the character limit")
+    void testPdfLimit() throws Exception {
+        // Given
+        Path file = pdf(tempDir.resolve("long.pdf"), "Fourier series", "Laplace transforms");
+
+        // When
+        String text = new PdfTextExtractor().extract(file, 7);
+
+        // Then
+        assertThat(text).isEqualTo("Fourier");
+    }
+
+    @Test
+    @DisplayName("Should extract paragraphs from a Word document")
+    void testDocx() throws Exception {
+        // Given
+        Path file = tempDir.resolve("project.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            document.createParagraph().createRun().setText("Design of a solar inverter");
+            document.createParagraph().createRun().setText("Chapter one: introduction");
+            document.write(out);
+        }
+
+        // When
+        String text = new DocxTextExtractor().extract(file, 1000);
+
+        // Then
+        assertThat(text).contains("Design of a solar inverter").contains("Chapter one: introduction");
+    }
+
+    @Test
+    @DisplayName("Should extract slide text and speaker notes from a presentation")
+    void testPptx() throws Exception {
+        // Given
+        Path file = tempDir.resolve("lecture.pptx");
+        try (XMLSlideShow slideShow = new XMLSlideShow(); OutputStream out = Files.newOutputStream(file)) {
+            XSLFSlide slide = slideShow.createSlide();
+            XSLFTextBox box = slide.createTextBox();
+            box.setText("Pipelining hazards");
+            slideShow.getNotesSlide(slide).getPlaceholder(1).setText("Mention branch prediction");
+            slideShow.write(out);
+        }
+
+        // When
+        String text = new PptxTextExtractor().extract(file, 1000);
+
+        // Then
+        assertThat(text).contains("Pipelining hazards").contains("Mention branch prediction");
+        assertThat(file).exists();
+    }
+
+    @Test
+    @DisplayName("Should fail with an IOException on a file that is not what its extension says")
+    void testMalformedFile() throws Exception {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("fake.docx"), "not a zip");
+
+        // When / Then
+        assertThatThrownBy(() -> new DocxTextExtractor().extract(file, 1000)).isInstanceOf(IOException.class);
+    }
+
+    public static Path pdf(Path file, String... pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (String line : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText(line);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
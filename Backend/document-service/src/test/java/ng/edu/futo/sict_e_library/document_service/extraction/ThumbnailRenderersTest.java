@@ -0,0 +1,71 @@
+package ng.edu.futo.sict_e_library.document_service.extraction;
+
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Thumbnail Renderer Tests")
+public class ThumbnailRenderersTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should render the first PDF page at the requested width and page proportions")
+    void testPdf() throws Exception {
+        // Given: US Letter pages, 612 x 792 points
+        Path file = TextExtractorsTest.pdf(tempDir.resolve("notes.pdf"), "Fourier series", "Laplace transforms");
+
+        // When
+        BufferedImage image = new PdfThumbnailRenderer().render(file, 240);
+
+        // Then
+        assertThat(image.getWidth()).isEqualTo(240);
+        assertThat(image.getHeight()).isEqualTo(310);
+    }
+
+    @Test
+    @DisplayName("Should draw the first slide of a presentation at the requested width")
+    void testPptx() throws Exception {
+        // Given
+        Path file = tempDir.resolve("lecture.pptx");
+        try (XMLSlideShow slideShow = new XMLSlideShow(); OutputStream out = Files.newOutputStream(file)) {
+            slideShow.setPageSize(new Dimension(960, 540));
+            XSLFTextBox box = slideShow.createSlide().createTextBox();
+            box.setAnchor(new Rectangle(50, 50, 500, 100));
+            box.setText("Pipelining hazards");
+            slideShow.write(out);
+        }
+
+        // When
+        BufferedImage image = new PptxThumbnailRenderer().render(file, 240);
+
+        // Then
+        assertThat(image.getWidth()).isEqualTo(240);
+        assertThat(image.getHeight()).isEqualTo(135);
+        assertThat(image.getRGB(0, 0)).isEqualTo(0xFFFFFFFF);
+    }
+
+    @Test
+    @DisplayName("Should fail with an IOException on a damaged PDF")
+    void testMalformedPdf() throws Exception {
+        // Given
+        Path file = Files.writeString(tempDir.resolve("fake.pdf"), "%PDF-1.7 truncated");
+
+        // When / Then
+        assertThatThrownBy(() -> new PdfThumbnailRenderer().render(file, 240)).isInstanceOf(IOException.class);
+    }
+}
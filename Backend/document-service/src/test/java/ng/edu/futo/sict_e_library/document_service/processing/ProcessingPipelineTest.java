@@ -0,0 +1,229 @@
+package ng.edu.futo.sict_e_library.document_service.processing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.entity.ProcessingJob;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingJobState;
+import ng.edu.futo.sict_e_library.document_service.enums.ProcessingStatus;
+import ng.edu.futo.sict_e_library.document_service.extraction.TextExtractorsTest;
+import ng.edu.futo.sict_e_library.document_service.repository.DocumentRepository;
+import ng.edu.futo.sict_e_library.document_service.repository.ProcessingJobRepository;
+import ng.edu.futo.sict_e_library.document_service.storage.BlobStore;
+import ng.edu.futo.sict_e_library.document_service.storage.ExtractedTextStore;
+import ng.edu.futo.sict_e_library.document_service.storage.StagedBlob;
+import ng.edu.futo.sict_e_library.document_service.storage.ThumbnailStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Processing Pipeline Tests")
+public class ProcessingPipelineTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private ProcessingQueue processingQueue;
+
+    @Autowired
+    private ProcessingDispatcher processingDispatcher;
+
+    @Autowired
+    private DeadLetterRelay deadLetterRelay;
+
+    @Autowired
+    private ProcessingJobRepository processingJobRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ExtractedTextStore textStore;
+
+    @Autowired
+    private ThumbnailStore thumbnailStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @AfterEach
+    void tearDown() {
+        processingJobRepository.deleteAll();
+        documentRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should extract text and a thumbnail in the background and delete the finished job")
+    void testProcessesUpload() throws Exception {
+        // Given
+        Path pdf = TextExtractorsTest.pdf(tempDir.resolve("notes.pdf"), "Kirchhoff's laws " + UUID.randomUUID());
+
+        // When
+        Document document = upload(pdf, "notes.pdf");
+        ProcessingStatus status = awaitProcessing(document.getId());
+
+        // Then
+        assertThat(status).isEqualTo(ProcessingStatus.READY);
+        assertThat(textStore.read(document.getChecksum())).contains("Kirchhoff's laws");
+        assertThat(thumbnailStore.contains(document.getChecksum())).isTrue();
+        assertThat(processingJobRepository.count()).isZero();
+        assertThat(meterRegistry.get(DocumentProcessor.STAGE_TIMER)
+                .tags("stage", "thumbnail", "format", "pdf", "outcome", "done").timer().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should retry a failing job, then mark it dead and report it to the dead-letter topic")
+    void testDeadLetter() throws Exception {
+        // Given
+        Path broken = Files.writeString(tempDir.resolve("broken.pdf"), "%PDF-1.7 " + UUID.randomUUID());
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        Document document = upload(broken, "broken.pdf");
+        ProcessingStatus status = awaitProcessing(document.getId());
+        int sent = deadLetterRelay.relay();
+
+        // Then
+        assertThat(status).isEqualTo(ProcessingStatus.FAILED);
+        ProcessingJob job = processingJobRepository.findAll().getFirst();
+        assertThat(job.getState()).isEqualTo(ProcessingJobState.DEAD);
+        assertThat(job.getAttempts()).isEqualTo(2);
+        assertThat(job.getLastError()).startsWith("text stage failed");
+        assertThat(job.getDeadLetterSentAt()).isNotNull();
+        assertThat(sent).isEqualTo(1);
+        verify(kafkaTemplate).send(eq("document-processing-dlt"), eq(document.getId()), contains(document.getChecksum()));
+        assertThat(deadLetterRelay.relay()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run a job whose owner stopped renewing the lease once the service starts again")
+    void testRecoversJobsWithExpiredLease() throws Exception {
+        // Given: a job claimed by an instance that crashed ten minutes ago
+        Document document = claimedElsewhere("slides.pdf", "Op-amp circuits", LocalDateTime.now().minusMinutes(10));
+
+        // When
+        processingDispatcher.recover();
+
+        // Then
+        assertThat(awaitProcessing(document.getId())).isEqualTo(ProcessingStatus.READY);
+    }
+
+    @Test
+    @DisplayName("Should leave a job alone while its owner keeps renewing the lease")
+    void testKeepsJobsWithLiveLease() throws Exception {
+        // Given: a job another live instance is running right now
+        Document document = claimedElsewhere("handout.pdf", "Thevenin equivalents", LocalDateTime.now());
+
+        // When
+        processingDispatcher.recover();
+        processingDispatcher.heartbeat();
+        processingDispatcher.dispatch();
+
+        // Then
+        ProcessingJob job = processingJobRepository.findAll().getFirst();
+        assertThat(job.getState()).isEqualTo(ProcessingJobState.RUNNING);
+        assertThat(job.getClaimedBy()).isEqualTo("other-instance");
+        assertThat(documentRepository.findById(document.getId()).orElseThrow().getProcessingStatus())
+                .isEqualTo(ProcessingStatus.PROCESSING);
+    }
+
+    private Document upload(Path file, String filename) throws Exception {
+        ContentBlob blob = store(file);
+        return transactionTemplate.execute(status -> {
+            Document saved = documentRepository.save(document(blob, filename));
+            processingQueue.enqueue(saved);
+            return saved;
+        });
+    }
+
+    private Document claimedElsewhere(String filename, String text, LocalDateTime heartbeatAt) throws Exception {
+        Path pdf = TextExtractorsTest.pdf(tempDir.resolve(filename), text + " " + UUID.randomUUID());
+        ContentBlob blob = store(pdf);
+        return transactionTemplate.execute(status -> {
+            Document saved = documentRepository.save(document(blob, filename));
+            documentRepository.updateProcessingStatus(saved.getId(), ProcessingStatus.PROCESSING);
+            processingJobRepository.save(ProcessingJob.builder()
+                    .documentId(saved.getId())
+                    .sha256(saved.getChecksum())
+                    .filename(filename)
+                    .state(ProcessingJobState.RUNNING)
+                    .attempts(0)
+                    .enqueuedAt(heartbeatAt)
+                    .nextAttemptAt(heartbeatAt)
+                    .claimedBy("other-instance")
+                    .claimedAt(heartbeatAt)
+                    .heartbeatAt(heartbeatAt)
+                    .build());
+            return saved;
+        });
+    }
+
+    private ContentBlob store(Path file) throws Exception {
+        StagedBlob staged;
+        try (InputStream in = Files.newInputStream(file)) {
+            staged = blobStore.stage(in);
+        }
+        return transactionTemplate.execute(status -> blobStore.commit(staged));
+    }
+
+    private ProcessingStatus awaitProcessing(String id) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            ProcessingStatus status = documentRepository.findById(id).orElseThrow().getProcessingStatus();
+            if (status == ProcessingStatus.READY || status == ProcessingStatus.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Document " + id + " was not processed in time");
+    }
+
+    private static Document document(ContentBlob blob, String filename) {
+        return Document.builder()
+                .title("Circuit Theory")
+                .category(DocumentCategory.LECTURE_NOTES)
+                .status(DocumentStatus.PENDING)
+                .processingStatus(ProcessingStatus.PENDING)
+                .uploaderId("uploader-1")
+                .originalFilename(filename)
+                .contentType("application/pdf")
+                .sizeBytes(blob.getSizeBytes())
+                .storagePath(blob.getStoragePath())
+                .checksum(blob.getSha256())
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package ng.edu.futo.sict_e_library.document_service.search;
+
+import ng.edu.futo.sict_e_library.document_service.entity.Document;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentCategory;
+import ng.edu.futo.sict_e_library.document_service.enums.DocumentStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("Document Search Index Tests")
+public class DocumentSearchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DocumentSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new DocumentSearchIndex(tempDir);
+        index.index(document("1", "Digital Signal Processing", "Sampling and filters", DocumentCategory.LECTURE_NOTES, 1),
+                "The discrete Fourier transform and its fast algorithms");
+        index.index(document("2", "Fourier Analysis", "A first course", DocumentCategory.TEXTBOOKS, 2),
+                "Series, integrals and transforms");
+        index.index(document("3", "Control Systems 2021", null, DocumentCategory.PAST_QUESTIONS, 3),
+                "Question 1: derive the transfer function using the Laplace transform");
+        index.index(document("4", "Solar Inverter Design", "Final year project", DocumentCategory.RESEARCH_AND_PROJECTS, 4),
+                null);
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    @DisplayName("Should rank a title match above a match in the text alone")
+    void testTitleRanksFirst() throws Exception {
+        // When
+        DocumentSearchResult result = index.search(new DocumentSearchQuery("fourier", null, false, 0, 10));
+
+        // Then
+        assertThat(ids(result)).containsExactly("2", "1");
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.hits().getFirst().score()).isGreaterThan(result.hits().get(1).score());
+    }
+
+    @Test
+    @DisplayName("Should match other forms of a word and require every word")
+    void testStemmingAndAllWords() throws Exception {
+        // When
+        DocumentSearchResult transforms = index.search(new DocumentSearchQuery("transforming", null, false, 0, 10));
+        DocumentSearchResult laplace = index.search(new DocumentSearchQuery("the Laplace transform", null, false, 0, 10));
+
+        // Then
+        assertThat(ids(transforms)).containsExactlyInAnyOrder("1", "2", "3");
+        assertThat(ids(laplace)).containsExactly("3");
+    }
+
+    @Test
+    @DisplayName("Should treat the last word as a prefix while typing")
+    void testPrefix() throws Exception {
+        // When
+        DocumentSearchResult typing = index.search(new DocumentSearchQuery("solar inv", null, true, 0, 10));
+        DocumentSearchResult finished = index.search(new DocumentSearchQuery("fast algorithms", null, true, 0, 10));
+        DocumentSearchResult tooShort = index.search(new DocumentSearchQuery("s", null, true, 0, 10));
+
+        // Then
+        assertThat(ids(typing)).containsExactly("4");
+        assertThat(ids(finished)).containsExactly("1");
+        assertThat(ids(tooShort)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should count matches per category and filter by category without changing the counts")
+    void testCategoryFacets() throws Exception {
+        // When
+        DocumentSearchResult all = index.search(new DocumentSearchQuery("transform", null, false, 0, 10));
+        DocumentSearchResult textbooks = index.search(new DocumentSearchQuery("transform", DocumentCategory.TEXTBOOKS, false, 0, 10));
+
+        // Then
+        assertThat(all.categoryCounts()).containsOnly(
+                entry(DocumentCategory.LECTURE_NOTES, 1L),
+                entry(DocumentCategory.TEXTBOOKS, 1L),
+                entry(DocumentCategory.PAST_QUESTIONS, 1L));
+        assertThat(ids(textbooks)).containsExactly("2");
+        assertThat(textbooks.totalHits()).isEqualTo(1);
+        assertThat(textbooks.categoryCounts()).isEqualTo(all.categoryCounts());
+    }
+
+    @Test
+    @DisplayName("Should list the newest documents first without a keyword, a page at a time")
+    void testBrowse() throws Exception {
+        // When
+        DocumentSearchResult first = index.search(new DocumentSearchQuery(null, null, false, 0, 3));
+        DocumentSearchResult second = index.search(new DocumentSearchQuery("  ", null, false, 1, 3));
+
+        // Then
+        assertThat(ids(first)).containsExactly("4", "3", "2");
+        assertThat(ids(second)).containsExactly("1");
+        assertThat(first.totalHits()).isEqualTo(4);
+        assertThat(first.hits().getFirst().score()).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should show updates and removals once refreshed")
+    void testRefresh() throws Exception {
+        // When
+        index.delete("2");
+        index.index(document("5", "Fourier Optics", null, DocumentCategory.TEXTBOOKS, 5), null);
+        DocumentSearchResult before = index.search(new DocumentSearchQuery("fourier", null, false, 0, 10));
+        index.refresh();
+        DocumentSearchResult after = index.search(new DocumentSearchQuery("fourier", null, false, 0, 10));
+
+        // Then
+        assertThat(ids(before)).containsExactly("2", "1");
+        assertThat(ids(after)).containsExactly("5", "1");
+        assertThat(index.numDocs()).isEqualTo(4);
+    }
+
+    private static List<String> ids(DocumentSearchResult result) {
+        return result.hits().stream().map(DocumentHit::id).toList();
+    }
+
+    private static Document document(String id, String title, String description, DocumentCategory category, int day) {
+        return Document.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .category(category)
+                .status(DocumentStatus.APPROVED)
+                .uploaderId("uploader-1")
+                .originalFilename(id + ".pdf")
+                .contentType("application/pdf")
+                .sizeBytes(1024L)
+                .createdAt(LocalDateTime.of(2026, 3, day, 9, 0))
+                .build();
+    }
+}
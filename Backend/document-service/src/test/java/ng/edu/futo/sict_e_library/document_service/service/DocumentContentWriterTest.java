@@ -0,0 +1,161 @@
+package ng.edu.futo.sict_e_library.document_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Document Content Writer Tests")
+public class DocumentContentWriterTest {
+
+    private static final String ETAG = "\"abc123\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-10T08:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private final DocumentContentWriter writer = new DocumentContentWriter(DataSize.ofKilobytes(48));
+    private byte[] bytes;
+    private DocumentContent content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bytes = new byte[1000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Path file = Files.write(tempDir.resolve("notes.pdf"), bytes);
+        content = new DocumentContent(file, bytes.length, ETAG, LAST_MODIFIED, "application/pdf", "CSC 301 notes.pdf");
+    }
+
+    @Test
+    @DisplayName("Should send the whole file with validators when no range is asked for")
+    void testFullDownload() throws Exception {
+        // When
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/api/docs/1"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(bytes);
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("Content-Disposition")).startsWith("inline");
+        assertThat(response.getContentLengthLong()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should send only the requested slice for a single range")
+    void testSingleRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.addHeader("Range", "bytes=100-199");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 100-199/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 100, 200));
+    }
+
+    @Test
+    @DisplayName("Should send the tail of the file for a suffix range")
+    void testSuffixRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.addHeader("Range", "bytes=-10");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 990-999/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 990, 1000));
+    }
+
+    @Test
+    @DisplayName("Should answer 416 for a range past the end of the file")
+    void testUnsatisfiableRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.addHeader("Range", "bytes=5000-");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    @DisplayName("Should send the whole file when If-Range no longer matches")
+    void testStaleIfRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.addHeader("Range", "bytes=0-99");
+        request.addHeader("If-Range", "\"old-version\"");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match lists the current ETag")
+    void testNotModified() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.addHeader("If-None-Match", "\"other\", W/" + ETAG);
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("Should hand large ranges to the connector's sendfile when it is supported")
+    void testSendfile() throws Exception {
+        // Given
+        DocumentContentWriter sendfileWriter = new DocumentContentWriter(DataSize.ofBytes(100));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/docs/1");
+        request.setAttribute(DocumentContentWriter.SENDFILE_SUPPORTED, Boolean.TRUE);
+        request.addHeader("Range", "bytes=200-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        sendfileWriter.write(content, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(DocumentContentWriter.SENDFILE_FILENAME)).isEqualTo(content.path().toString());
+        assertThat(request.getAttribute(DocumentContentWriter.SENDFILE_START)).isEqualTo(200L);
+        assertThat(request.getAttribute(DocumentContentWriter.SENDFILE_END)).isEqualTo(1000L);
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(content, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,146 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Blob Index Tests")
+public class BlobIndexTest {
+
+    private static final Instant MODIFIED = Instant.parse("2026-03-02T10:15:30.123Z");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should read back the latest record for each blob")
+    void testReopen() throws Exception {
+        // Given
+        Path file = tempDir.resolve("blob-index.dat");
+        try (BlobIndex index = new BlobIndex(file)) {
+            index.put(entry('a', 100, false));
+            index.put(entry('b', 200, false));
+            index.put(entry('a', 100, true));
+        }
+
+        // When
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            // Then
+            assertThat(reopened.isIntact()).isTrue();
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.recordCount()).isEqualTo(3);
+            assertThat(reopened.get(hash('a'))).isEqualTo(entry('a', 100, true));
+            assertThat(reopened.get(hash('b'))).isEqualTo(entry('b', 200, false));
+        }
+        assertThat(Files.size(file)).isEqualTo(8 + 3L * BlobIndex.RECORD_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should cut off a record torn by a crash and keep appending after the last whole one")
+    void testTornRecord() throws Exception {
+        // Given
+        Path file = tempDir.resolve("blob-index.dat");
+        try (BlobIndex index = new BlobIndex(file)) {
+            index.put(entry('a', 100, false));
+        }
+        Files.write(file, new byte[20], StandardOpenOption.APPEND);
+
+        // When
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            reopened.put(entry('b', 200, false));
+        }
+
+        // Then
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            assertThat(reopened.isIntact()).isTrue();
+            assertThat(reopened.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a corrupt record so the store rebuilds the index")
+    void testCorruptRecord() throws Exception {
+        // Given
+        Path file = tempDir.resolve("blob-index.dat");
+        try (BlobIndex index = new BlobIndex(file)) {
+            index.put(entry('a', 100, false));
+            index.put(entry('b', 200, false));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(8 + 40);
+            raw.write(0x7f);
+        }
+
+        // When
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            // Then
+            assertThat(reopened.isIntact()).isFalse();
+            assertThat(reopened.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep a removed blob out of the index when reopened, until it is put again")
+    void testRemove() throws Exception {
+        // Given
+        Path file = tempDir.resolve("blob-index.dat");
+        try (BlobIndex index = new BlobIndex(file)) {
+            index.put(entry('a', 100, false));
+            index.put(entry('b', 200, false));
+            index.put(entry('c', 300, false));
+
+            // When
+            index.remove(hash('a'));
+            index.remove(hash('c'));
+            index.put(entry('c', 300, false));
+        }
+
+        // Then
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            assertThat(reopened.isIntact()).isTrue();
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(reopened.get(hash('a'))).isNull();
+            assertThat(reopened.get(hash('c'))).isEqualTo(entry('c', 300, false));
+        }
+    }
+
+    @Test
+    @DisplayName("Should replace the whole index when rewritten")
+    void testRewrite() throws Exception {
+        // Given
+        Path file = tempDir.resolve("blob-index.dat");
+        try (BlobIndex index = new BlobIndex(file)) {
+            index.put(entry('a', 100, false));
+            index.put(entry('a', 100, true));
+
+            // When
+            index.rewrite(List.of(entry('b', 200, false)));
+            index.put(entry('c', 300, false));
+        }
+
+        // Then
+        try (BlobIndex reopened = new BlobIndex(file)) {
+            assertThat(reopened.recordCount()).isEqualTo(2);
+            assertThat(reopened.get(hash('a'))).isNull();
+            assertThat(reopened.get(hash('c'))).isEqualTo(entry('c', 300, false));
+        }
+        assertThat(file.resolveSibling("blob-index.dat.tmp")).doesNotExist();
+    }
+
+    private static BlobEntry entry(char digit, long size, boolean damaged) {
+        return new BlobEntry(hash(digit), size, MODIFIED, damaged);
+    }
+
+    private static String hash(char digit) {
+        return String.valueOf(digit).repeat(64);
+    }
+}
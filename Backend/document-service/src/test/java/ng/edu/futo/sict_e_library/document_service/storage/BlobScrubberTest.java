@@ -0,0 +1,210 @@
+package ng.edu.futo.sict_e_library.document_service.storage;
+
+import ng.edu.futo.sict_e_library.document_service.entity.ContentBlob;
+import ng.edu.futo.sict_e_library.document_service.repository.ContentBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "document.storage.root-dir=${java.io.tmpdir}/document-service-scrub-test")
+@ActiveProfiles("test")
+@DisplayName("Blob Scrubber Tests")
+public class BlobScrubberTest {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private BlobScrubber blobScrubber;
+
+    @Autowired
+    private ContentBlobRepository contentBlobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        contentBlobRepository.deleteAll();
+        blobStore.index().rewrite(List.of());
+        FileSystemUtils.deleteRecursively(blobStore.rootDir().resolve("quarantine"));
+        try (Stream<Path> shards = Files.list(blobStore.blobDir())) {
+            for (Path shard : shards.toList()) {
+                FileSystemUtils.deleteRecursively(shard);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should store blobs under their hash prefix and index them once committed")
+    void testCommitIndexesShardedBlob() throws Exception {
+        // When
+        ContentBlob blob = store("Lecture 4: pipelining");
+
+        // Then
+        assertThat(blob.getStoragePath()).isEqualTo("blobs/" + blob.getSha256().substring(0, 2) + "/" + blob.getSha256());
+        assertThat(blobStore.blobPath(blob.getSha256())).hasContent("Lecture 4: pipelining");
+        BlobEntry entry = blobStore.find(blob.getSha256());
+        assertThat(entry.size()).isEqualTo(blob.getSizeBytes());
+        assertThat(entry.damaged()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should quarantine a corrupt blob and take a good copy back from a new upload")
+    void testCorruptBlob() throws Exception {
+        // Given
+        ContentBlob blob = store("Past questions 2019");
+        Files.writeString(blobStore.blobPath(blob.getSha256()), "Past questions 2O19");
+
+        // When
+        BlobScrubber.ScrubReport report = blobScrubber.scrubShard(shardOf(blob));
+
+        // Then
+        assertThat(report.damaged()).isEqualTo(1);
+        assertThat(blobStore.find(blob.getSha256()).damaged()).isTrue();
+        assertThat(blobStore.blobPath(blob.getSha256())).doesNotExist();
+        try (Stream<Path> quarantined = Files.list(blobStore.rootDir().resolve("quarantine"))) {
+            assertThat(quarantined.toList()).hasSize(1);
+        }
+
+        // When
+        ContentBlob again = store("Past questions 2019");
+
+        // Then
+        assertThat(again.getRefCount()).isEqualTo(2);
+        assertThat(blobStore.find(blob.getSha256()).damaged()).isFalse();
+        assertThat(blobScrubber.scrubShard(shardOf(blob)).verified()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should mark a missing blob damaged, and whole again once it is restored")
+    void testMissingBlob() throws Exception {
+        // Given
+        ContentBlob blob = store("Engineering drawing notes");
+        Path path = blobStore.blobPath(blob.getSha256());
+        Path backup = Files.move(path, blobStore.rootDir().resolve("backup"));
+
+        // When
+        BlobScrubber.ScrubReport missing = blobScrubber.scrubShard(shardOf(blob));
+        Files.move(backup, path);
+        BlobScrubber.ScrubReport restored = blobScrubber.scrubShard(shardOf(blob));
+
+        // Then
+        assertThat(missing.damaged()).isEqualTo(1);
+        assertThat(restored.restored()).isEqualTo(1);
+        assertThat(blobStore.find(blob.getSha256()).damaged()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should delete a blob once its last reference is released")
+    void testUnreferencedBlob() throws Exception {
+        // Given
+        ContentBlob blob = store("Course outline");
+        store("Course outline");
+        release(blob);
+
+        // When
+        BlobScrubber.ScrubReport referenced = blobScrubber.scrubShard(shardOf(blob));
+
+        // Then
+        assertThat(referenced.unreferencedDeleted()).isZero();
+        assertThat(contentBlobRepository.findById(blob.getSha256()).orElseThrow().getRefCount()).isEqualTo(1);
+        assertThat(blobStore.blobPath(blob.getSha256())).exists();
+
+        // When
+        release(blob);
+        BlobScrubber.ScrubReport unreferenced = blobScrubber.scrubShard(shardOf(blob));
+
+        // Then
+        assertThat(unreferenced.unreferencedDeleted()).isEqualTo(1);
+        assertThat(unreferenced.damaged()).isZero();
+        assertThat(contentBlobRepository.existsById(blob.getSha256())).isFalse();
+        assertThat(blobStore.blobPath(blob.getSha256())).doesNotExist();
+        assertThat(blobStore.find(blob.getSha256())).isNull();
+
+        // When
+        ContentBlob again = store("Course outline");
+
+        // Then
+        assertThat(again.getRefCount()).isEqualTo(1);
+        assertThat(blobStore.blobPath(blob.getSha256())).hasContent("Course outline");
+    }
+
+    @Test
+    @DisplayName("Should delete old unreferenced files and stale uploads but keep recent ones")
+    void testOrphans() throws Exception {
+        // Given: a rolled-back upload renamed into place two hours ago, and one just now
+        String oldOrphan = sha256("rolled back long ago");
+        String newOrphan = oldOrphan.substring(0, 2) + sha256("in flight").substring(2);
+        Path shard = Files.createDirectories(blobStore.blobDir().resolve(oldOrphan.substring(0, 2)));
+        Files.writeString(shard.resolve(oldOrphan), "rolled back long ago");
+        Files.writeString(shard.resolve(newOrphan), "in flight");
+        Path stalled = Files.writeString(blobStore.incomingDir().resolve("stalled.part"), "half an upload");
+        FileTime twoHoursAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(shard.resolve(oldOrphan), twoHoursAgo);
+        Files.setLastModifiedTime(stalled, twoHoursAgo);
+
+        // When
+        BlobScrubber.ScrubReport report = blobScrubber.scrubShard(HexFormat.fromHexDigits(oldOrphan.substring(0, 2)));
+
+        // Then
+        assertThat(report.orphansDeleted()).isEqualTo(1);
+        assertThat(report.stagedUploadsDeleted()).isEqualTo(1);
+        assertThat(shard.resolve(oldOrphan)).doesNotExist();
+        assertThat(shard.resolve(newOrphan)).exists();
+        assertThat(stalled).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index from the table and mark blobs without a file damaged")
+    void testRebuildIndex() throws Exception {
+        // Given
+        ContentBlob kept = store("Kept");
+        ContentBlob lost = store("Lost");
+        Files.delete(blobStore.blobPath(lost.getSha256()));
+        blobStore.index().rewrite(List.of());
+
+        // When
+        blobStore.rebuildIndex();
+
+        // Then
+        assertThat(blobStore.index().size()).isEqualTo(2);
+        assertThat(blobStore.find(kept.getSha256()).damaged()).isFalse();
+        assertThat(blobStore.find(lost.getSha256()).damaged()).isTrue();
+    }
+
+    private ContentBlob store(String content) throws Exception {
+        StagedBlob staged = blobStore.stage(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        return transactionTemplate.execute(status -> blobStore.commit(staged));
+    }
+
+    private void release(ContentBlob blob) {
+        transactionTemplate.executeWithoutResult(status -> blobStore.release(blob.getSha256()));
+    }
+
+    private static int shardOf(ContentBlob blob) {
+        return HexFormat.fromHexDigits(blob.getSha256().substring(0, 2));
+    }
+
+    private static String sha256(String content) {
+        return HexFormat.of().formatHex(BlobStore.sha256().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
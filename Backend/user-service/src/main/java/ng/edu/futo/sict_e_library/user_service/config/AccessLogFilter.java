@@ -0,0 +1,96 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One access log line per request, written as key-value fields ({@code method}, {@code route},
+ * {@code status}, {@code latencyMs}, {@code userId}) to the {@code ...user_service.access}
+ * logger. Writes, errors and requests slower than {@code user.access-log.slow-threshold} are
+ * always logged; successful reads only at {@code user.access-log.read-sample-rate}, since they
+ * are most of the traffic and their latency is already in {@code http.server.requests}.
+ * <p>
+ * The request ID (the caller's {@code X-Request-Id}, or a new one) is echoed back and kept in
+ * the MDC as {@code requestId} while the request runs, so every line the request logs carries it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+    static final String REQUEST_ID = "requestId";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ng.edu.futo.sict_e_library.user_service.access");
+
+    private final double readSampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(@Value("${user.access-log.read-sample-rate:0.01}") double readSampleRate,
+                           @Value("${user.access-log.slow-threshold:PT1S}") Duration slowThreshold) {
+        this.readSampleRate = readSampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > 64) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID, requestId);
+
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            if (accessLog.isInfoEnabled() && shouldLog(request.getMethod(), response.getStatus(), elapsed)) {
+                log(request, response.getStatus(), elapsed);
+            }
+            MDC.remove(REQUEST_ID);
+        }
+    }
+
+    private boolean shouldLog(String method, int status, long elapsedNanos) {
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        return !read
+                || status >= 400
+                || elapsedNanos >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < readSampleRate;
+    }
+
+    private void log(HttpServletRequest request, int status, long elapsedNanos) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Object userId = variables instanceof Map<?, ?> map ? map.get("userId") : null;
+        LoggingEventBuilder event = accessLog.atInfo()
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route != null ? route : request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("latencyMs", elapsedNanos / 1_000_000);
+        if (userId != null) {
+            event = event.addKeyValue("userId", userId);
+        }
+        event.log("request completed");
+    }
+}
@@ -0,0 +1,54 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency distributions for the timers the service is judged by: {@code http.server.requests}
+ * (one series per endpoint URI template), {@code spring.data.repository.invocations} (one per
+ * repository method) and the scheduler's {@code user.scheduler.duration}. Each gets histogram
+ * buckets from 1 ms up to its own ceiling, from which Prometheus computes any percentile, per
+ * instance or across replicas, with {@code histogram_quantile}. Requests and queries top out at
+ * 30 s; a scheduler run walks every matching student and can take many minutes, so its buckets
+ * reach 2 h rather than lumping every long run into {@code +Inf}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Map<String, Duration> LATENCY_CEILINGS = Map.of(
+            "http.server.requests", Duration.ofSeconds(30),
+            "spring.data.repository.invocations", Duration.ofSeconds(30),
+            "user.scheduler.duration", Duration.ofHours(2));
+
+    @Bean
+    public MeterFilter latencyHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                Duration ceiling = LATENCY_CEILINGS.get(id.getName());
+                if (ceiling == null) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) ceiling.toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    @Bean
+    public static RepositoryRowMetrics repositoryRowMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryRowMetrics(meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Records how many rows every Spring Data repository method returns as the
+ * {@code user.repository.rows} summary, tagged with the repository and method. Its
+ * {@code _sum} counts rows read per method and its {@code _max} exposes the single call that
+ * loaded a whole table. Query latency itself is already timed by Spring Boot as
+ * {@code spring.data.repository.invocations}.
+ * <p>
+ * Collections and slices count their elements, an {@code Optional} or entity counts as 0 or 1,
+ * and a {@code Stream} is counted as it is consumed and recorded when it is closed. Counts,
+ * existence checks, modifying queries and void methods are not recorded.
+ */
+public class RepositoryRowMetrics implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryRowMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new RowCountingInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private class RowCountingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        // One summary per method, so the hot path skips the builder and the registry lookup
+        private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+        RowCountingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            if (invocation.getMethod().getReturnType() == void.class) {
+                return result;
+            }
+            String method = invocation.getMethod().getName();
+            if (result instanceof Stream<?> stream) {
+                AtomicLong rows = new AtomicLong();
+                return stream.peek(row -> rows.incrementAndGet()).onClose(() -> record(method, rows.get()));
+            }
+
+            long rows;
+            if (result == null) {
+                rows = 0;
+            } else if (result instanceof Collection<?> collection) {
+                rows = collection.size();
+            } else if (result instanceof Slice<?> slice) {
+                rows = slice.getNumberOfElements();
+            } else if (result instanceof Optional<?> optional) {
+                rows = optional.isPresent() ? 1 : 0;
+            } else if (result instanceof Number || result instanceof Boolean) {
+                return result;
+            } else {
+                rows = 1;
+            }
+            record(method, rows);
+            return result;
+        }
+
+        private void record(String method, long rows) {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return;
+            }
+            summaries.computeIfAbsent(method, name -> DistributionSummary.builder("user.repository.rows")
+                            .description("Rows returned per repository method call")
+                            .baseUnit("rows")
+                            .tag("repository", repository)
+                            .tag("method", name)
+                            .register(registry))
+                    .record(rows);
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package ng.edu.futo.sict_e_library.user_service.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Runs the {@code @Scheduled} jobs on a small pool of platform threads, or of virtual threads
+ * when {@code spring.threads.virtual.enabled=true} (the {@code virtual-threads} profile). Both
+ * are a {@link ThreadPoolTaskScheduler}: {@code SimpleAsyncTaskScheduler} runs every fixed-delay
+ * task on its single trigger thread, so one slow outbox relay or last-login flush would hold up
+ * all the others.
+ */
 @Configuration
 @EnableScheduling
 public class SchedulerConfig {
 
+    private static final String THREAD_NAME_PREFIX = "student-account-scheduler-";
+    private static final int POOL_SIZE = 10;
+
     @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
     public ThreadPoolTaskScheduler taskScheduler() {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
-        scheduler.setPoolSize(10);
-        scheduler.setThreadNamePrefix("student-account-scheduler-");
+        scheduler.setPoolSize(POOL_SIZE);
+        scheduler.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+
+        return scheduler;
+    }
+
+    @Bean(name = "taskScheduler")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskScheduler virtualThreadTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(POOL_SIZE);
+        scheduler.setThreadFactory(Thread.ofVirtual().name(THREAD_NAME_PREFIX, 1).factory());
         scheduler.setRemoveOnCancelPolicy(true);
         scheduler.initialize();
 
@@ -0,0 +1,64 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Creates the pg_trgm GIN indexes that make the leading-wildcard LIKE predicates of
+ * {@code UserRepository.searchUsers} indexable. JPA cannot declare expression or GIN indexes,
+ * so they are applied here on PostgreSQL only; other databases keep the plain query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndexInitializer implements ApplicationRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (LOWER(email) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (LOWER(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (LOWER(last_name) gin_trgm_ops)"
+    );
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${user.search.trigram-indexes.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+
+        try {
+            STATEMENTS.forEach(jdbcTemplate::execute);
+            log.info("Trigram search indexes are in place on the users table");
+        } catch (DataAccessException ex) {
+            // Most likely the role may not create extensions; search still works, just unindexed
+            log.warn("Could not create trigram search indexes, user search will scan the users table: {}", ex.getMessage());
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, "getDatabaseProductName");
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException ex) {
+            log.warn("Could not determine database product, skipping trigram search indexes: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.util.UserDataGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk-loads {@link UserDataGenerator} users into an empty users table when the {@code seed}
+ * profile is active, for load tests against a realistically sized database. Rows go in as JDBC
+ * batches; on PostgreSQL add {@code reWriteBatchedInserts=true} to the JDBC URL so each batch
+ * becomes one multi-row INSERT. A table that already has users is left alone.
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class UserSeeder implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${user.seed.count:100000}")
+    private int count;
+
+    @Value("${user.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${user.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${user.seed.reference-date:}")
+    private String referenceDate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Users table already has {} rows, skipping seed", existing);
+            return;
+        }
+
+        LocalDate today = referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate);
+        UserDataGenerator generator = new UserDataGenerator(randomSeed, today);
+        log.info("Seeding {} users (seed {}, reference date {})", count, randomSeed, today);
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            batch.add(generator.row(i));
+            if (batch.size() == batchSize || i == count - 1) {
+                jdbcTemplate.batchUpdate(UserDataGenerator.INSERT_SQL, batch);
+                batch.clear();
+                if ((i + 1) % (batchSize * 50) == 0) {
+                    log.info("Seeded {} of {} users", i + 1, count);
+                }
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Seeded {} users in {} s ({} rows/s)", count, String.format("%.1f", seconds),
+                Math.round(count / Math.max(seconds, 1e-3)));
+    }
+}
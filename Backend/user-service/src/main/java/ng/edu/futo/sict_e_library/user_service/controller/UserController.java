@@ -1,5 +1,6 @@
 package ng.edu.futo.sict_e_library.user_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,14 +8,27 @@ import ng.edu.futo.sict_e_library.user_service.dto.request.ProfileUpdateRequestD
 import ng.edu.futo.sict_e_library.user_service.dto.request.RoleUpdateRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.response.ApiResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.CursorPageResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.PagedResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportReportDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.service.UserImportService;
 import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
@@ -24,11 +38,16 @@ import java.util.Map;
 @Slf4j
 public class UserController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/register")
     public ResponseEntity<ApiResponseDTO<UserResponseDTO>> registerUser(@Valid @RequestBody UserRegistrationRequestDTO request) {
-        log.info("Received registration request for email: {}", request.getEmail());
+        log.debug("Received registration request for email: {}", request.getEmail());
 
         UserResponseDTO user = userService.registerUser(request);
         return ResponseEntity
@@ -36,9 +55,22 @@ public class UserController {
                 .body(ApiResponseDTO.success("User registered successfully", user));
     }
 
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON})
+    public ResponseEntity<ApiResponseDTO<UserImportReportDTO>> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                          InputStream body) {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        log.info("Received bulk {} user import", format);
+
+        UserImportReportDTO report = userImportService.importUsers(body, format);
+        return ResponseEntity.ok(ApiResponseDTO.success(
+                "Imported " + report.getImported() + " of " + report.getTotalRows() + " users", report));
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<ApiResponseDTO<UserResponseDTO>> getUserById(@PathVariable String userId) {
-        log.info("Fetching user with ID: {}", userId);
+        log.debug("Fetching user with ID: {}", userId);
 
         UserResponseDTO user = userService.getUserById(userId);
         return ResponseEntity.ok(ApiResponseDTO.success("User retrieved successfully", user));
@@ -46,31 +78,48 @@ public class UserController {
 
     @GetMapping("/email/{email}")
     public ResponseEntity<ApiResponseDTO<UserResponseDTO>> getUserByEmail(@PathVariable String email) {
-        log.info("Fetching user with email: {}", email);
+        log.debug("Fetching user with email: {}", email);
 
         UserResponseDTO user = userService.getUserByEmail(email);
         return ResponseEntity.ok(ApiResponseDTO.success("User retrieved successfully", user));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getAllUsers() {
-        log.info("Fetching all users");
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<UserResponseDTO>>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Fetching users page (cursor: {}, size: {})", cursor, size);
 
-        List<UserResponseDTO> users = userService.getAllUsers();
+        CursorPageResponseDTO<UserResponseDTO> users = userService.getAllUsers(cursor, size);
         return ResponseEntity.ok(ApiResponseDTO.success("Users retrieved successfully", users));
     }
 
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.debug("Streaming all users as NDJSON");
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            userService.streamAllUsers(user -> writeNdjsonLine(out, user));
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     @GetMapping("/role/{role}")
-    public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getAllUsersByRole(@PathVariable UserRole role) {
-        log.info("Fetching users with role: {}", role);
+    public ResponseEntity<ApiResponseDTO<CursorPageResponseDTO<UserResponseDTO>>> getAllUsersByRole(
+            @PathVariable UserRole role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.debug("Fetching users with role: {} (cursor: {}, size: {})", role, cursor, size);
 
-        List<UserResponseDTO> users = userService.getAllUsersByRole(role);
+        CursorPageResponseDTO<UserResponseDTO> users = userService.getAllUsersByRole(role, cursor, size);
         return ResponseEntity.ok(ApiResponseDTO.success("Users retrieved successfully", users));
     }
 
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getUsersByStatus(@PathVariable UserStatus status) {
-        log.info("Fetching users with status: {}", status);
+        log.debug("Fetching users with status: {}", status);
 
         List<UserResponseDTO> users = userService.getUsersByStatus(status);
         return ResponseEntity.ok(ApiResponseDTO.success("Users retrieved successfully", users));
@@ -78,23 +127,26 @@ public class UserController {
 
     @GetMapping("/department/{department}")
     public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getUsersByDepartment(@PathVariable String department) {
-        log.info("Fetching users in department: {}", department);
+        log.debug("Fetching users in department: {}", department);
 
         List<UserResponseDTO> users = userService.getUsersByDepartment(department);
         return ResponseEntity.ok(ApiResponseDTO.success("Users retrieved successfully", users));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> searchUsers(@RequestParam String keyword) {
-        log.info("Searching users with keyword: {}", keyword);
+    public ResponseEntity<ApiResponseDTO<PagedResponseDTO<UserResponseDTO>>> searchUsers(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.debug("Searching users with keyword: {} (page: {}, size: {})", keyword, page, size);
 
-        List<UserResponseDTO> users = userService.searchUsers(keyword);
+        PagedResponseDTO<UserResponseDTO> users = userService.searchUsers(keyword, page, size);
         return ResponseEntity.ok(ApiResponseDTO.success("Search completed successfully", users));
     }
 
     @PutMapping("/{userId}/profile")
     public ResponseEntity<ApiResponseDTO<UserResponseDTO>> updateProfile(@PathVariable String userId, @Valid @RequestBody ProfileUpdateRequestDTO request) {
-        log.info("Updating profile for user ID: {}", userId);
+        log.debug("Updating profile for user ID: {}", userId);
 
         UserResponseDTO user = userService.updateProfile(userId, request);
         return ResponseEntity.ok(ApiResponseDTO.success("Profile updated successfully", user));
@@ -102,23 +154,24 @@ public class UserController {
 
     @PutMapping("/{userId}/role")
     public ResponseEntity<ApiResponseDTO<UserResponseDTO>> updateUserRole(@PathVariable String userId, @Valid @RequestBody RoleUpdateRequestDTO request) {
-        log.info("Updating role for user ID: {} to {}", userId, request.getNewRole());
+        log.debug("Updating role for user ID: {} to {}", userId, request.getNewRole());
 
         UserResponseDTO user = userService.updateUserRole(userId, request);
         return ResponseEntity.ok(ApiResponseDTO.success("User role updated successfully", user));
     }
 
     @PutMapping("/{userId}/status")
-    public ResponseEntity<ApiResponseDTO<UserResponseDTO>> updateUserStatus(@PathVariable String userId, @RequestParam UserStatus status) {
-        log.info("Updating status for user ID: {} to {}", userId, status);
+    public ResponseEntity<ApiResponseDTO<UserResponseDTO>> updateUserStatus(@PathVariable String userId, @RequestParam UserStatus status,
+                                                                         @RequestParam(required = false) Long version) {
+        log.debug("Updating status for user ID: {} to {}", userId, status);
 
-        UserResponseDTO user = userService.updateUserStatus(userId, status);
+        UserResponseDTO user = userService.updateUserStatus(userId, status, version);
         return ResponseEntity.ok(ApiResponseDTO.success("User status updated successfully", user));
     }
 
     @PutMapping("/{userId}/last-login")
     public ResponseEntity<ApiResponseDTO<Void>> updateLastLogin(@PathVariable String userId) {
-        log.info("Updating last login for user ID: {}", userId);
+        log.debug("Updating last login for user ID: {}", userId);
 
         userService.updateLastLogin(userId);
         return ResponseEntity.ok(ApiResponseDTO.success("Last login updated successfully", null));
@@ -126,7 +179,7 @@ public class UserController {
 
     @DeleteMapping("/{userId}")
     public ResponseEntity<ApiResponseDTO<Void>> deleteUser(@PathVariable String userId) {
-        log.info("Deleting user with ID: {}", userId);
+        log.debug("Deleting user with ID: {}", userId);
 
         userService.deleteUser(userId);
         return ResponseEntity.ok(ApiResponseDTO.success("User deleted successfully", null));
@@ -134,7 +187,7 @@ public class UserController {
 
     @GetMapping("/statistics")
     public ResponseEntity<ApiResponseDTO<Map<String, Long>>> getUserStatistics() {
-        log.info("Fetching user statistics");
+        log.debug("Fetching user statistics");
 
         Map<String, Long> stats = userService.getUserStatistics();
         return ResponseEntity.ok(ApiResponseDTO.success("User statistics retrieved successfully", stats));
@@ -142,9 +195,18 @@ public class UserController {
 
     @GetMapping("/expired")
     public ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> getExpiredAccounts() {
-        log.info("Fetching expired student accounts");
+        log.debug("Fetching expired student accounts");
 
         List<UserResponseDTO> expiredAccounts = userService.getExpiredStudentAccounts();
         return ResponseEntity.ok(ApiResponseDTO.success("Expired student accounts retrieved successfully", expiredAccounts));
     }
+
+    private void writeNdjsonLine(OutputStream out, UserResponseDTO user) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(user));
+            out.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
@@ -19,4 +19,7 @@ public class ProfileUpdateRequestDTO {
     private String phoneNumber;
 
     private String department;
+
+    // Optional: the version the client last read; a mismatch is rejected instead of overwriting
+    private Long version;
 }
@@ -14,4 +14,7 @@ import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 public class RoleUpdateRequestDTO {
     @NotNull(message = "New Role is required")
     private UserRole newRole;
+
+    // Optional: the version the client last read; a mismatch is rejected instead of overwriting
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package ng.edu.futo.sict_e_library.user_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponseDTO<T> {
+    private List<T> items;
+    private Integer size;
+    private String nextCursor;
+    private Boolean hasNext;
+}
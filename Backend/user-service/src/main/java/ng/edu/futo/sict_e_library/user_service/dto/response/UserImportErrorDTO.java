@@ -0,0 +1,16 @@
+package ng.edu.futo.sict_e_library.user_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportErrorDTO {
+    private long line;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package ng.edu.futo.sict_e_library.user_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportReportDTO {
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private List<UserImportErrorDTO> errors;
+}
@@ -0,0 +1,37 @@
+package ng.edu.futo.sict_e_library.user_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker of a chunked scheduler job. The row exists only while a run is in flight,
+ * so a run that finds one resumes after {@code lastKey} instead of starting over.
+ */
+@Entity
+@Table(name = "scheduler_job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCheckpoint {
+    @Id
+    @Column(length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String lastKey;
+
+    @Column(nullable = false)
+    private Long processed;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,53 @@
+package ng.edu.futo.sict_e_library.user_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A {@code UserEvent} waiting to be relayed to Kafka. Rows are written in the same
+ * transaction as the change they describe and deleted once the broker acknowledges them.
+ * While a relay is sending a row, {@link #claimedUntil} keeps other relays off it.
+ */
+@Entity
+@Table(name = "user_event_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_event_outbox_seq")
+    @SequenceGenerator(name = "user_event_outbox_seq", sequenceName = "user_event_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String eventId;
+
+    @Column(nullable = false, length = 40)
+    private String eventType;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(length = 100)
+    private String email;
+
+    @Column(length = 100)
+    private String firstName;
+
+    @Column(length = 100)
+    private String lastName;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime claimedUntil;
+}
@@ -8,26 +8,40 @@ import lombok.NoArgsConstructor;
 import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users", indexes = {
-        @Index(name = "idx_email", columnList = "email", unique = true),
-        @Index(name = "idx_status", columnList = "status")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.MATRIC_NUMBER_CONSTRAINT, columnNames = "matric_number"),
+        @UniqueConstraint(name = User.STAFF_ID_CONSTRAINT, columnNames = "staff_id")
+}, indexes = {
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_role_created_at_id", columnList = "role, created_at, id"),
+        @Index(name = "idx_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_graduation_year", columnList = "grad_year, status")
 })
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
+    // The database is the real guard against duplicate registrations; see GlobalExceptionHandler
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+    public static final String MATRIC_NUMBER_CONSTRAINT = "uk_users_matric_number";
+    public static final String STAFF_ID_CONSTRAINT = "uk_users_staff_id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(nullable = false, length = 100)
@@ -83,8 +97,21 @@ public class User {
 
     private LocalDateTime expiryWarningEmailSentAt;
 
+    // Bumped by every admin-facing change; existing rows start at 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (updatedAt == null) {
+            updatedAt = now;
+        }
         if (status == null) {
             status = UserStatus.ACTIVE;
         }
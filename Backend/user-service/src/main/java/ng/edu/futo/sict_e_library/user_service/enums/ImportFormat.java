@@ -0,0 +1,6 @@
+package ng.edu.futo.sict_e_library.user_service.enums;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,16 @@
+package ng.edu.futo.sict_e_library.user_service.enums;
+
+/**
+ * Only append new constants: the binary event encoding writes the ordinal on the wire.
+ */
+public enum UserEventType {
+    USER_REGISTERED,
+    USER_PROFILE_UPDATED,
+    USER_ROLE_CHANGED,
+    USER_STATUS_CHANGED,
+    USER_EXPIRY_WARNING,
+    USER_EXPIRED,
+    USER_DELETED,
+    /** A cached field changed without a lifecycle event (e.g. last login); only evicts caches. */
+    USER_CACHE_INVALIDATED
+}
@@ -0,0 +1,173 @@
+package ng.edu.futo.sict_e_library.user_service.event;
+
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains {@link OutboxEvent} rows to the {@code user-events} topic.
+ * <p>
+ * Each pass runs in three steps so no transaction or row lock is held while the broker is
+ * waited on: a short transaction claims a batch of the oldest unclaimed rows for
+ * {@code user.events.outbox.claim-lease-ms}; the batch is then handed to the producer at
+ * once so the records share broker requests; a second transaction deletes the rows Kafka
+ * acknowledged and releases the rest for the next poll. If the relay dies mid-batch, its
+ * claim simply lapses. Delivery is at-least-once and consumers must tolerate duplicate
+ * event IDs.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${user.events.outbox.relay-enabled:true}")
+    private boolean relayEnabled;
+
+    @Value("${user.events.outbox.batch-size:500}")
+    private Integer batchSize;
+
+    @Value("${user.events.outbox.send-timeout-ms:30000}")
+    private Long sendTimeoutMs;
+
+    // Must outlast the send timeout, or another relay could claim a batch that is still in flight
+    @Value("${user.events.outbox.claim-lease-ms:60000}")
+    private Long claimLeaseMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, UserEvent> kafkaTemplate,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${user.events.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        if (!relayEnabled) {
+            return;
+        }
+
+        try {
+            relayPending();
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay pass failed, pending events will be retried: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Relays full batches until the outbox is drained or a batch is not fully acknowledged.
+     *
+     * @return number of events acknowledged and deleted
+     */
+    int relayPending() {
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch == null || batch.isEmpty()) {
+                return relayed;
+            }
+
+            Set<Long> acknowledged = send(batch);
+            List<Long> failed = batch.stream()
+                    .map(OutboxEvent::getId)
+                    .filter(id -> !acknowledged.contains(id))
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!acknowledged.isEmpty()) {
+                    outboxEventRepository.deleteAllByIdIn(List.copyOf(acknowledged));
+                }
+                if (!failed.isEmpty()) {
+                    outboxEventRepository.release(failed);
+                }
+            });
+            relayed += acknowledged.size();
+            log.debug("Relayed {} user events", acknowledged.size());
+
+            if (!failed.isEmpty()) {
+                log.warn("Kafka did not acknowledge {} of {} user events, they will be retried", failed.size(), batch.size());
+                return relayed;
+            }
+            if (batch.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockClaimable(now, Limit.of(batchSize));
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).toList(),
+                    now.plusNanos(TimeUnit.MILLISECONDS.toNanos(claimLeaseMs)));
+        }
+        return batch;
+    }
+
+    /**
+     * Sends the batch outside any transaction and waits up to the send timeout for the acks.
+     *
+     * @return IDs of the rows the broker acknowledged
+     */
+    private Set<Long> send(List<OutboxEvent> batch) {
+        Map<Long, CompletableFuture<?>> acks = new LinkedHashMap<>();
+        for (OutboxEvent row : batch) {
+            try {
+                acks.put(row.getId(), kafkaTemplate.send(UserEventProducer.TOPIC, row.getUserId(), toUserEvent(row)));
+            } catch (RuntimeException ex) {
+                acks.put(row.getId(), CompletableFuture.failedFuture(ex));
+            }
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acks.values().toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // Some sends failed or are still pending; only the acknowledged ones are deleted
+            log.debug("User event batch was not fully acknowledged: {}", ex.getMessage());
+        }
+
+        Set<Long> acknowledged = new HashSet<>();
+        acks.forEach((id, ack) -> {
+            if (ack.isDone() && !ack.isCompletedExceptionally()) {
+                acknowledged.add(id);
+            }
+        });
+        return acknowledged;
+    }
+
+    private static UserEvent toUserEvent(OutboxEvent row) {
+        return UserEvent.builder()
+                .eventId(row.getEventId())
+                .eventType(row.getEventType())
+                .userId(row.getUserId())
+                .email(row.getEmail())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .message(row.getMessage())
+                .timestamp(row.getCreatedAt())
+                .build();
+    }
+}
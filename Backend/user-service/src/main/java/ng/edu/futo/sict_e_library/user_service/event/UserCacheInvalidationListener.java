@@ -0,0 +1,31 @@
+package ng.edu.futo.sict_e_library.user_service.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.service.UserCache;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this replica's {@link UserCache} coherent with changes made on other replicas: every
+ * event, lifecycle or {@code USER_CACHE_INVALIDATED}, names a user whose cached copy may now
+ * be stale. Every replica listens in its own consumer group, so each one sees every event on
+ * the topic.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheInvalidationListener {
+
+    private final UserCache userCache;
+
+    @KafkaListener(
+            topics = UserEventProducer.TOPIC,
+            groupId = "${user.cache.remote-invalidation.group-id:user-service-cache-${random.uuid}}",
+            autoStartup = "${user.cache.remote-invalidation.enabled:true}"
+    )
+    public void onUserEvent(UserEvent event) {
+        log.debug("Evicting cached user {} after {} event", event.getUserId(), event.getEventType());
+        userCache.evictLocal(event.getUserId(), event.getEmail());
+    }
+}
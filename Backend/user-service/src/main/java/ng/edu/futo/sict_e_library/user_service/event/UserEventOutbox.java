@@ -0,0 +1,65 @@
+package ng.edu.futo.sict_e_library.user_service.event;
+
+import lombok.RequiredArgsConstructor;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transactional outbox for {@code user-events}. Callers append events inside the transaction
+ * that makes the change, so an event exists if and only if its change committed;
+ * {@link OutboxRelay} publishes them afterwards in batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class UserEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public void append(UserEventType type, User user, String message) {
+        outboxEventRepository.save(newEvent(type, user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), message));
+    }
+
+    public void append(UserEventType type, UserResponseDTO user, String message) {
+        outboxEventRepository.save(newEvent(type, user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), message));
+    }
+
+    public void appendAll(UserEventType type, List<UserView> users, String message) {
+        outboxEventRepository.saveAll(users.stream()
+                .map(user -> newEvent(type, user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(), message))
+                .toList());
+    }
+
+    /**
+     * Asks every replica to drop its cached copy of the user, for changes that append no
+     * lifecycle event of their own.
+     */
+    public void appendInvalidation(String userId, String email) {
+        outboxEventRepository.save(newEvent(UserEventType.USER_CACHE_INVALIDATED, userId, email, null, null, null));
+    }
+
+    private static OutboxEvent newEvent(UserEventType type, String userId, String email,
+                                        String firstName, String lastName, String message) {
+        return OutboxEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(type.name())
+                .userId(userId)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .message(message)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.stereotype.Component;
 public class UserEventProducer {
 
     private final KafkaTemplate<String, UserEvent> kafkaTemplate;
-    private static final String TOPIC = "user-events";
+    public static final String TOPIC = "user-events";
 
     public void sendUserEvent(UserEvent event) {
         log.info("Sending user event: {} for user: {}", event.getEventType(), event.getEmail());
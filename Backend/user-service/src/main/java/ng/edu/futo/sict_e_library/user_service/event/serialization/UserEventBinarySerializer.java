@@ -0,0 +1,250 @@
+package ng.edu.futo.sict_e_library.user_service.event.serialization;
+
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact binary encoding of a {@link UserEvent}. Layout, version 1:
+ * <pre>
+ * byte    0x01, format version (a JSON value never starts with it)
+ * byte    event type: {@link UserEventType} ordinal, or 0xFF followed by the type as a string
+ * byte    presence bits, in field order below; absent fields are not written
+ * id      eventId
+ * id      userId
+ * string  email, firstName, lastName, message
+ * time    timestamp
+ * </pre>
+ * An {@code id} is a kind byte followed by either 16 bytes (0, a canonical UUID) or a string
+ * (1, anything else). A {@code string} is a varint UTF-8 byte length followed by the bytes.
+ * A {@code time} is the UTC epoch second as a zigzag varlong followed by the nanos as a varint.
+ * <p>
+ * Each thread encodes into its own reusable scratch buffer and only the final copy is
+ * allocated, so the hot path does no reflection and no intermediate garbage.
+ */
+public class UserEventBinarySerializer implements Serializer<UserEvent> {
+
+    static final byte VERSION_1 = 0x01;
+    static final int CUSTOM_TYPE = 0xFF;
+    static final int ID_UUID = 0;
+    static final int ID_STRING = 1;
+
+    static final int HAS_EVENT_ID = 1;
+    static final int HAS_USER_ID = 1 << 1;
+    static final int HAS_EMAIL = 1 << 2;
+    static final int HAS_FIRST_NAME = 1 << 3;
+    static final int HAS_LAST_NAME = 1 << 4;
+    static final int HAS_MESSAGE = 1 << 5;
+    static final int HAS_TIMESTAMP = 1 << 6;
+
+    private static final UserEventType[] TYPES = UserEventType.values();
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+    private static final byte[] HEX = new byte[128];
+
+    static {
+        Arrays.fill(HEX, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            HEX["0123456789abcdef".charAt(i)] = (byte) i;
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        Scratch out = SCRATCH.get();
+        out.reset();
+        out.writeByte(VERSION_1);
+        writeType(out, event.getEventType());
+        out.writeByte(presence(event));
+        writeId(out, event.getEventId());
+        writeId(out, event.getUserId());
+        out.writeString(event.getEmail());
+        out.writeString(event.getFirstName());
+        out.writeString(event.getLastName());
+        out.writeString(event.getMessage());
+        writeTimestamp(out, event.getTimestamp());
+        return out.toByteArray();
+    }
+
+    static UserEventType typeOf(int code) {
+        return code < TYPES.length ? TYPES[code] : null;
+    }
+
+    private static int presence(UserEvent event) {
+        int bits = 0;
+        if (event.getEventId() != null) bits |= HAS_EVENT_ID;
+        if (event.getUserId() != null) bits |= HAS_USER_ID;
+        if (event.getEmail() != null) bits |= HAS_EMAIL;
+        if (event.getFirstName() != null) bits |= HAS_FIRST_NAME;
+        if (event.getLastName() != null) bits |= HAS_LAST_NAME;
+        if (event.getMessage() != null) bits |= HAS_MESSAGE;
+        if (event.getTimestamp() != null) bits |= HAS_TIMESTAMP;
+        return bits;
+    }
+
+    private static void writeType(Scratch out, String eventType) {
+        for (UserEventType type : TYPES) {
+            if (type.name().equals(eventType)) {
+                out.writeByte(type.ordinal());
+                return;
+            }
+        }
+        out.writeByte(CUSTOM_TYPE);
+        out.writeString(eventType == null ? "" : eventType);
+    }
+
+    private static void writeId(Scratch out, String id) {
+        if (id == null) {
+            return;
+        }
+        if (!writeUuid(out, id)) {
+            out.writeByte(ID_STRING);
+            out.writeString(id);
+        }
+    }
+
+    private static void writeTimestamp(Scratch out, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return;
+        }
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        out.writeVarLong((seconds << 1) ^ (seconds >> 63));
+        out.writeVarLong(timestamp.getNano());
+    }
+
+    /**
+     * Writes {@code id} as 16 bytes if it is in the lower-case 8-4-4-4-12 form
+     * {@link java.util.UUID#toString()} produces, the only form that survives the round trip
+     * unchanged. Digits are validated with a table lookup rather than per-character range
+     * checks, which mispredict badly on random hex.
+     */
+    private static boolean writeUuid(Scratch out, String id) {
+        if (id.length() != 36 || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return false;
+        }
+
+        long msb = 0;
+        long lsb = 0;
+        int invalid = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            char c = id.charAt(i);
+            int nibble = c < HEX.length ? HEX[c] : -1;
+            invalid |= nibble;
+            if (i < 18) {
+                msb = (msb << 4) | (nibble & 0xF);
+            } else {
+                lsb = (lsb << 4) | (nibble & 0xF);
+            }
+        }
+        if (invalid < 0) {
+            return false;
+        }
+
+        out.writeByte(ID_UUID);
+        out.writeLong(msb);
+        out.writeLong(lsb);
+        return true;
+    }
+
+    private static final class Scratch {
+
+        private byte[] buf = new byte[256];
+        private int pos;
+
+        void reset() {
+            pos = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (v >>> shift);
+            }
+        }
+
+        void writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        void writeString(String s) {
+            if (s == null) {
+                return;
+            }
+            int length = s.length();
+            int encoded = utf8Length(s);
+            writeVarLong(encoded);
+            ensure(encoded);
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | (c >> 6));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Lone surrogates are replaced, matching String.getBytes(UTF_8)
+                    buf[pos++] = (byte) '?';
+                } else {
+                    buf[pos++] = (byte) (0xE0 | (c >> 12));
+                    buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private static int utf8Length(String s) {
+            int length = s.length();
+            int bytes = length;
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    if (c < 0x800) {
+                        bytes += 1;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        bytes += 2;
+                        i++;
+                    } else if (!Character.isSurrogate(c)) {
+                        bytes += 2;
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ng.edu.futo.sict_e_library.user_service.event.serialization;
+
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static ng.edu.futo.sict_e_library.user_service.event.serialization.UserEventBinarySerializer.*;
+
+/**
+ * Reads a {@link UserEvent} written in either {@link UserEventFormat}, told apart by the first
+ * byte: the binary encoding starts with its version byte, JSON never does.
+ */
+public class UserEventDeserializer implements Deserializer<UserEvent> {
+
+    @Override
+    public UserEvent deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+
+        try {
+            return data[0] == VERSION_1 ? readBinary(data) : UserEventJsonSerializer.MAPPER.readValue(data, UserEvent.class);
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException("Could not read user event", ex);
+        }
+    }
+
+    private static UserEvent readBinary(byte[] data) {
+        Reader in = new Reader(data);
+        in.pos = 1;
+
+        UserEvent event = new UserEvent();
+        int typeCode = in.readByte();
+        if (typeCode == CUSTOM_TYPE) {
+            String name = in.readString();
+            event.setEventType(name.isEmpty() ? null : name);
+        } else {
+            // A code from a newer producer is left unnamed rather than failing the whole record
+            UserEventType type = typeOf(typeCode);
+            event.setEventType(type != null ? type.name() : null);
+        }
+
+        int presence = in.readByte();
+        if ((presence & HAS_EVENT_ID) != 0) event.setEventId(in.readId());
+        if ((presence & HAS_USER_ID) != 0) event.setUserId(in.readId());
+        if ((presence & HAS_EMAIL) != 0) event.setEmail(in.readString());
+        if ((presence & HAS_FIRST_NAME) != 0) event.setFirstName(in.readString());
+        if ((presence & HAS_LAST_NAME) != 0) event.setLastName(in.readString());
+        if ((presence & HAS_MESSAGE) != 0) event.setMessage(in.readString());
+        if ((presence & HAS_TIMESTAMP) != 0) {
+            long zigzag = in.readVarLong();
+            long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+            event.setTimestamp(LocalDateTime.ofEpochSecond(seconds, (int) in.readVarLong(), ZoneOffset.UTC));
+        }
+        return event;
+    }
+
+    private static final class Reader {
+
+        private final byte[] data;
+        private int pos;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            return data[pos++] & 0xFF;
+        }
+
+        long readLong() {
+            long v = 0;
+            for (int i = 0; i < 8; i++) {
+                v = (v << 8) | (data[pos++] & 0xFF);
+            }
+            return v;
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return v;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in user event");
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            String s = new String(data, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        String readId() {
+            return readByte() == ID_UUID ? new UUID(readLong(), readLong()).toString() : readString();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package ng.edu.futo.sict_e_library.user_service.event.serialization;
+
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Wire format used for {@link UserEvent} values on {@code user-events}, selected with
+ * {@code user.events.serialization.format}. Consumers read either format regardless of the
+ * setting (see {@link UserEventDeserializer}), so it can be switched without draining the topic.
+ */
+public enum UserEventFormat {
+    /** Human-readable, handy when inspecting the topic with console tools. */
+    JSON,
+    /** Compact schema'd encoding, see {@link UserEventBinarySerializer}. */
+    BINARY;
+
+    public Serializer<UserEvent> serializer() {
+        return switch (this) {
+            case JSON -> new UserEventJsonSerializer();
+            case BINARY -> new UserEventBinarySerializer();
+        };
+    }
+}
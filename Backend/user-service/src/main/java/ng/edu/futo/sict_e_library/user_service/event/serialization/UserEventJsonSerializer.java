@@ -0,0 +1,32 @@
+package ng.edu.futo.sict_e_library.user_service.event.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Writes a {@link UserEvent} as a JSON object with an ISO-8601 {@code timestamp}.
+ */
+public class UserEventJsonSerializer implements Serializer<UserEvent> {
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        try {
+            return MAPPER.writeValueAsBytes(event);
+        } catch (JsonProcessingException ex) {
+            throw new SerializationException("Could not write user event as JSON", ex);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package ng.edu.futo.sict_e_library.user_service.exception;
 
 import ng.edu.futo.sict_e_library.user_service.dto.response.ApiResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -28,6 +32,23 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDTO.error(ex.getMessage()));
     }
 
+    /**
+     * A registration that raced past the duplicate check and hit one of the unique constraints
+     * on {@code users}; anything else is left to the generic handler.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        DuplicateUserException duplicate = toDuplicateUserException(ex);
+        return duplicate != null ? handleDuplicateUserException(duplicate) : handleGenericException(ex);
+    }
+
+    @ExceptionHandler(StaleUserVersionException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleStaleUserVersionException(StaleUserVersionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(InvalidEmailDomainException.class)
     public ResponseEntity<ApiResponseDTO<Void>> handleInvalidEmailDomainException(InvalidEmailDomainException ex) {
         return ResponseEntity
@@ -42,6 +63,27 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDTO.error(ex.getMessage()));
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleInvalidSearchException(InvalidSearchException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ApiResponseDTO<Void>> handleInvalidImportException(InvalidImportException ex) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponseDTO.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponseDTO<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -67,4 +109,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponseDTO.error("An unexpected error occurred: " + ex.getMessage()));
     }
+
+    private static DuplicateUserException toDuplicateUserException(DataIntegrityViolationException ex) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation) || violation.getConstraintName() == null) {
+            return null;
+        }
+        // PostgreSQL reports the constraint name as declared; H2 reports its backing index, which contains it
+        String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateUserException("A user with this email already exists");
+        }
+        if (constraint.contains(User.MATRIC_NUMBER_CONSTRAINT)) {
+            return new DuplicateUserException("A user with this matric number already exists");
+        }
+        if (constraint.contains(User.STAFF_ID_CONSTRAINT)) {
+            return new DuplicateUserException("A user with this staff ID already exists");
+        }
+        return null;
+    }
 }
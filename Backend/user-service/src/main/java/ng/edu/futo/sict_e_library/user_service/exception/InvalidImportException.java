@@ -0,0 +1,7 @@
+package ng.edu.futo.sict_e_library.user_service.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ng.edu.futo.sict_e_library.user_service.exception;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package ng.edu.futo.sict_e_library.user_service.repository;
+
+import ng.edu.futo.sict_e_library.user_service.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
@@ -1,18 +1,41 @@
 package ng.edu.futo.sict_e_library.user_service.repository;
 
+import jakarta.persistence.QueryHint;
 import ng.edu.futo.sict_e_library.user_service.entity.User;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.RoleStatusCount;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserIdentifiers;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+    /**
+     * Constructor expression and FROM clause shared by every query returning {@link UserView}.
+     */
+    String USER_VIEW_SELECT = "SELECT new ng.edu.futo.sict_e_library.user_service.repository.projection.UserView(" +
+            "u.id, u.email, u.firstName, u.lastName, u.role, u.status, u.accountType, u.phoneNumber, " +
+            "u.department, u.matricNumber, u.staffId, u.gradYear, u.emailVerified, u.createdAt, " +
+            "u.updatedAt, u.lastLoginAt, u.version) FROM User u ";
+
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
@@ -21,8 +44,68 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     boolean existsByStaffId(String staffId);
 
+    // One round trip for all three unique identifiers. UNION ALL rather than OR so each branch is
+    // an equality lookup on its own unique index on every database; a missing identifier becomes ''
+    // so the branch is still a point lookup instead of a walk over every NULL in the index.
+    @Query("SELECT u.email AS email, u.matricNumber AS matricNumber, u.staffId AS staffId FROM User u WHERE u.email = :email " +
+            "UNION ALL SELECT u.email, u.matricNumber, u.staffId FROM User u WHERE u.matricNumber = COALESCE(:matricNumber, '') " +
+            "UNION ALL SELECT u.email, u.matricNumber, u.staffId FROM User u WHERE u.staffId = COALESCE(:staffId, '')")
+    List<UserIdentifiers> findIdentifierCollisions(@Param("email") String email,
+                                                   @Param("matricNumber") String matricNumber,
+                                                   @Param("staffId") String staffId);
+
+    // Targeted updates guarded by the optimistic version: 0 rows means the user is gone or was changed meanwhile
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.firstName = COALESCE(:firstName, u.firstName), u.lastName = COALESCE(:lastName, u.lastName), " +
+           "u.phoneNumber = COALESCE(:phoneNumber, u.phoneNumber), u.department = COALESCE(:department, u.department), " +
+           "u.updatedAt = :now, u.version = u.version + 1 WHERE u.id = :id AND u.version = :version")
+    int updateProfile(@Param("id") String id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                      @Param("phoneNumber") String phoneNumber, @Param("department") String department,
+                      @Param("now") LocalDateTime now, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id = :id AND u.version = :version")
+    int updateRole(@Param("id") String id, @Param("role") UserRole role, @Param("now") LocalDateTime now, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = :status, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id = :id AND u.version = :version")
+    int updateStatus(@Param("id") String id, @Param("status") UserStatus status, @Param("now") LocalDateTime now, @Param("version") Long version);
+
+    // Set-based duplicate checks for bulk import: one query per identifier per chunk
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.matricNumber FROM User u WHERE u.matricNumber IN :matricNumbers")
+    List<String> findExistingMatricNumbers(@Param("matricNumbers") Collection<String> matricNumbers);
+
+    @Query("SELECT u.staffId FROM User u WHERE u.staffId IN :staffIds")
+    List<String> findExistingStaffIds(@Param("staffIds") Collection<String> staffIds);
+
     List<User> findByRole(UserRole role);
 
+    List<UserView> findByRoleOrderByCreatedAtAscIdAsc(UserRole role, Limit limit);
+
+    @Query(USER_VIEW_SELECT + "WHERE u.role = :role " +
+           "AND (u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id)) " +
+           "ORDER BY u.createdAt ASC, u.id ASC")
+    List<UserView> findByRoleAfter(@Param("role") UserRole role,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") String id,
+                                   Limit limit);
+
+    List<User> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) " +
+           "ORDER BY u.createdAt ASC, u.id ASC")
+    List<User> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u ORDER BY u.createdAt ASC, u.id ASC")
+    Stream<User> streamAllOrdered();
+
     List<User> findByStatus(UserStatus status);
 
     List<User> findByRoleAndStatus(UserRole role, UserStatus status);
@@ -33,17 +116,74 @@ public interface UserRepository extends JpaRepository<User, String> {
     @Query("SELECT u FROM User u WHERE u.gradYear = :warningYear AND u.status = 'ACTIVE' AND u.expiryWarningEmailSentAt IS NULL")
     List<User> findStudentsNearingExpiry(@Param("warningYear") Integer warningYear);
 
+    @Query(USER_VIEW_SELECT + "WHERE u.gradYear IS NOT NULL AND u.gradYear < :currentYear AND u.status = 'ACTIVE' " +
+           "AND u.id > :lastId ORDER BY u.id ASC")
+    List<UserView> findExpiredStudentChunk(@Param("currentYear") Integer currentYear, @Param("lastId") String lastId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.status = 'EXPIRED', u.accountNotExpired = false, u.accountNotLocked = true, " +
+           "u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.status = 'ACTIVE'")
+    int expireAccounts(@Param("ids") List<String> ids, @Param("now") LocalDateTime now);
+
+    @Query(USER_VIEW_SELECT + "WHERE u.gradYear = :warningYear AND u.status = 'ACTIVE' AND u.expiryWarningEmailSentAt IS NULL " +
+           "AND u.id > :lastId ORDER BY u.id ASC")
+    List<UserView> findStudentsNearingExpiryChunk(@Param("warningYear") Integer warningYear, @Param("lastId") String lastId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.expiryWarningEmailSentAt = :now WHERE u.id IN :ids AND u.expiryWarningEmailSentAt IS NULL")
+    int markExpiryWarningsSent(@Param("ids") List<String> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Stamps a login without touching {@code updatedAt}, which the deletion job's grace period
+     * is measured from. A stamp never moves backwards, so a late flush cannot undo a newer one.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.lastLoginAt = :at WHERE u.id IN :ids AND (u.lastLoginAt IS NULL OR u.lastLoginAt < :at)")
+    int recordLastLogins(@Param("ids") List<String> ids, @Param("at") LocalDateTime at);
+
+    @Query(USER_VIEW_SELECT + "WHERE u.role = :role AND u.status = 'EXPIRED' AND u.updatedAt < :cutoff " +
+           "AND u.id > :lastId ORDER BY u.id ASC")
+    List<UserView> findExpiredBeforeChunk(@Param("role") UserRole role, @Param("cutoff") LocalDateTime cutoff,
+                                          @Param("lastId") String lastId, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<String> ids);
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") UserRole role);
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.status = :status")
     Long countByStatus(@Param("status") UserStatus status);
 
+    @Query("SELECT u.role AS role, u.status AS status, COUNT(u) AS total FROM User u GROUP BY u.role, u.status")
+    List<RoleStatusCount> countGroupedByRoleAndStatus();
+
     @Query("SELECT u FROM User u WHERE u.department = :department")
     List<User> findByDepartment(@Param("department") String department);
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-           "OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<User> searchUsers(@Param("keyword") String keyword);
+    /**
+     * Ranked substring search over email, first name and last name. The LOWER(column) LIKE
+     * predicates match the pg_trgm GIN expression indexes created by UserSearchIndexInitializer;
+     * on databases without them (H2 in tests) the same query falls back to a scan.
+     * Exact email matches rank first, then prefix matches, then other substring matches.
+     * The ranking sorts every match, so the cost follows the match count; the service requires
+     * at least three characters, the shortest keyword a trigram index can serve.
+     *
+     * @param keyword lower-cased keyword
+     * @param pattern escaped {@code %keyword%} LIKE pattern
+     * @param prefix  escaped {@code keyword%} LIKE pattern
+     */
+    @Query(USER_VIEW_SELECT +
+           "WHERE LOWER(u.email) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' " +
+           "OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\' " +
+           "ORDER BY CASE WHEN LOWER(u.email) = :keyword THEN 0 " +
+           "WHEN LOWER(u.email) LIKE :prefix ESCAPE '\\' OR LOWER(u.firstName) LIKE :prefix ESCAPE '\\' " +
+           "OR LOWER(u.lastName) LIKE :prefix ESCAPE '\\' THEN 1 ELSE 2 END, " +
+           "u.lastName ASC, u.firstName ASC, u.id ASC")
+    Slice<UserView> searchUsers(@Param("keyword") String keyword,
+                                @Param("pattern") String pattern,
+                                @Param("prefix") String prefix,
+                                Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package ng.edu.futo.sict_e_library.user_service.repository.projection;
+
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+
+/**
+ * One cell of the role x status user count matrix.
+ */
+public interface RoleStatusCount {
+    UserRole getRole();
+
+    UserStatus getStatus();
+
+    Long getTotal();
+}
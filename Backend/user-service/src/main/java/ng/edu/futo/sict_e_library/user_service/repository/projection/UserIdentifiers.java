@@ -0,0 +1,12 @@
+package ng.edu.futo.sict_e_library.user_service.repository.projection;
+
+/**
+ * The unique identifiers of an existing user, used to tell which one a registration collides with.
+ */
+public interface UserIdentifiers {
+    String getEmail();
+
+    String getMatricNumber();
+
+    String getStaffId();
+}
@@ -1,26 +1,50 @@
 package ng.edu.futo.sict_e_library.user_service.scheduler;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.entity.JobCheckpoint;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
-import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
+import ng.edu.futo.sict_e_library.user_service.repository.JobCheckpointRepository;
 import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import ng.edu.futo.sict_e_library.user_service.service.UserCache;
+import ng.edu.futo.sict_e_library.user_service.service.UserStatisticsSnapshot;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.Year;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class StudentAccountExpiryScheduler {
 
+    static final String EXPIRE_JOB = "expire-student-accounts";
+    static final String WARN_JOB = "send-expiry-warnings";
+    static final String DELETE_JOB = "delete-expired-accounts";
+
     private final UserRepository userRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final UserStatisticsSnapshot userStatisticsSnapshot;
+    private final UserCache userCache;
+    private final UserEventOutbox userEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, AtomicLong> progress = new ConcurrentHashMap<>();
 
     @Value("${scheduler.student-account-cleanup.enabled}")
     private Boolean cleanupEnabled;
@@ -28,12 +52,30 @@ public class StudentAccountExpiryScheduler {
     @Value("${scheduler.student-account-cleanup.warning-days-before-expiry}")
     private Integer warningDaysBeforeExpiry;
 
+    @Value("${scheduler.student-account-cleanup.chunk-size:1000}")
+    private Integer chunkSize;
+
+    public StudentAccountExpiryScheduler(UserRepository userRepository,
+                                         JobCheckpointRepository jobCheckpointRepository,
+                                         UserStatisticsSnapshot userStatisticsSnapshot,
+                                         UserCache userCache,
+                                         UserEventOutbox userEventOutbox,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.userStatisticsSnapshot = userStatisticsSnapshot;
+        this.userCache = userCache;
+        this.userEventOutbox = userEventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Runs daily at 2:00 AM to check for expired student accounts
      */
 
     @Scheduled(cron = "${scheduler.student-account-cleanup.cron}")
-    @Transactional
     public void checkAndExpireStudentAccounts() {
         if (!cleanupEnabled) {
             log.info("Student account cleanup is disabled.");
@@ -43,27 +85,16 @@ public class StudentAccountExpiryScheduler {
         log.info("Starting student account expiry check...");
 
         int currentYear = Year.now().getValue();
-        List<User> expiredStudents = userRepository.findExpiredStudentAccounts(currentYear);
-
-        if (expiredStudents.isEmpty()) {
-            log.info("No expired student accounts found.");
-            return;
-        }
-
-        log.info("Found {} expired student accounts", expiredStudents.size());
-
-        for (User student : expiredStudents) {
-            log.info("Expiring student account: {} (Graduation Year: {})", student.getEmail(), student.getGradYear());
-
-            student.setStatus(UserStatus.EXPIRED);
-            student.setAccountNotExpired(false);
-            student.setAccountNotLocked(true);
-            userRepository.save(student);
-
-            //TODO: send notification to student about account expiry which will ne handled by notification service via kafka
-        }
-
-        log.info("Student account expiry check completed. {} accounts expired", expiredStudents.size());
+        long expired = runChunked(EXPIRE_JOB,
+                lastId -> userRepository.findExpiredStudentChunk(currentYear, lastId, Limit.of(chunkSize)),
+                (chunk, now) -> {
+                    userRepository.expireAccounts(ids(chunk), now);
+                    userEventOutbox.appendAll(UserEventType.USER_EXPIRED, chunk,
+                            "Your e-library account has expired after graduation");
+                });
+
+        userStatisticsSnapshot.reconcile();
+        log.info("Student account expiry check completed. {} accounts expired", expired);
     }
 
     /**
@@ -71,7 +102,6 @@ public class StudentAccountExpiryScheduler {
      */
 
     @Scheduled(cron = "0 0 9 * * MON") //Every Monday at 9:00 AM
-    @Transactional
     public void sendExpiryWarnings() {
         if (!cleanupEnabled) {
             return;
@@ -82,25 +112,15 @@ public class StudentAccountExpiryScheduler {
         int currentYear = Year.now().getValue();
         int warningYear = currentYear + 1; //students graduating next year
 
-        List<User> studentsNearingExpiry = userRepository.findStudentsNearingExpiry(warningYear);
-
-        if (studentsNearingExpiry.isEmpty()) {
-            log.info("No student accounts nearing graduation found.");
-            return;
-        }
+        long warned = runChunked(WARN_JOB,
+                lastId -> userRepository.findStudentsNearingExpiryChunk(warningYear, lastId, Limit.of(chunkSize)),
+                (chunk, now) -> {
+                    userRepository.markExpiryWarningsSent(ids(chunk), now);
+                    userEventOutbox.appendAll(UserEventType.USER_EXPIRY_WARNING, chunk,
+                            "Your e-library account will expire after your graduation year " + warningYear);
+                });
 
-        log.info("Found {} student accounts nearing graduation", studentsNearingExpiry.size());
-
-        for (User student : studentsNearingExpiry) {
-            log.info("Sending expiry warning to student: {} (Graduation Year: {})", student.getEmail(), student.getGradYear());
-
-            student.setExpiryWarningEmailSentAt(LocalDateTime.now());
-            userRepository.save(student);
-
-            //TODO: send warning notification via kafka to student about upcoming account expiry by notification service
-        }
-
-        log.info("Expiry warning process completed. {} warnings sent", studentsNearingExpiry.size());
+        log.info("Expiry warning process completed. {} warnings sent", warned);
     }
 
     /**
@@ -108,7 +128,6 @@ public class StudentAccountExpiryScheduler {
      * Runs monthly on the 1st at 3 AM
      */
     @Scheduled(cron = "0 0 3 1 * ?")
-    @Transactional
     public void deleteExpiredAccounts() {
         if (!cleanupEnabled) {
             return;
@@ -119,23 +138,100 @@ public class StudentAccountExpiryScheduler {
         // Delete accounts expired for more than 6 months
         LocalDateTime sixMonthsAgo = LocalDateTime.now().minusMonths(6);
 
-        List<User> longExpiredStudents = userRepository.findByRoleAndStatus(UserRole.STUDENT, UserStatus.EXPIRED)
-                .stream()
-                .filter(user -> user.getUpdatedAt().isBefore(sixMonthsAgo))
-                .toList();
+        long deleted = runChunked(DELETE_JOB,
+                lastId -> userRepository.findExpiredBeforeChunk(UserRole.STUDENT, sixMonthsAgo, lastId, Limit.of(chunkSize)),
+                (chunk, now) -> {
+                    userRepository.deleteAllByIdIn(ids(chunk));
+                    userEventOutbox.appendAll(UserEventType.USER_DELETED, chunk,
+                            "Your expired e-library account has been deleted");
+                });
 
-        if (longExpiredStudents.isEmpty()) {
-            log.info("No long-expired student accounts to delete.");
-            return;
+        userStatisticsSnapshot.reconcile();
+        log.info("Deletion of long-expired student accounts completed. {} accounts deleted", deleted);
+    }
+
+    /**
+     * Walks the rows selected by {@code nextChunk} in primary-key order, applying {@code apply}
+     * to one bounded chunk per transaction. The checkpoint row is written in the same
+     * transaction as the chunk, so after a crash the next run resumes after the last committed
+     * chunk; it is removed once the job finishes. Every row of a committed chunk is dropped
+     * from this replica's user cache; other replicas evict on the lifecycle event that
+     * {@code apply} appends. Each run is timed as {@code user.scheduler.duration},
+     * tagged with the job and whether it completed.
+     *
+     * @return number of rows processed by this run, including rows of a resumed run
+     */
+    private long runChunked(String job, Function<String, List<UserView>> nextChunk,
+                            BiConsumer<List<UserView>, LocalDateTime> apply) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            long processed = runChunkedTimed(job, nextChunk, apply);
+            outcome = "success";
+            return processed;
+        } finally {
+            sample.stop(Timer.builder("user.scheduler.duration")
+                    .description("Wall time of one student account scheduler run")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
+    }
 
-        log.info("Found and deleting {} long-expired student accounts", longExpiredStudents.size());
+    private long runChunkedTimed(String job, Function<String, List<UserView>> nextChunk,
+                                 BiConsumer<List<UserView>, LocalDateTime> apply) {
+        Counter rows = Counter.builder("user.scheduler.rows")
+                .description("Rows processed by the student account scheduler")
+                .tag("job", job)
+                .register(meterRegistry);
+        AtomicLong runProgress = progress.computeIfAbsent(job, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("user.scheduler.progress", value, AtomicLong::get)
+                    .description("Rows processed so far by the current or last run")
+                    .tag("job", name)
+                    .register(meterRegistry);
+            return value;
+        });
+
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(job)
+                .orElseGet(() -> JobCheckpoint.builder().jobName(job).lastKey("").processed(0L).build());
+        if (checkpoint.getProcessed() > 0) {
+            log.info("Resuming job {} after key {} ({} rows already processed)", job, checkpoint.getLastKey(), checkpoint.getProcessed());
+        }
+        runProgress.set(checkpoint.getProcessed());
+
+        while (true) {
+            List<UserView> chunk = transactionTemplate.execute(status -> {
+                List<UserView> rowsInChunk = nextChunk.apply(checkpoint.getLastKey());
+                if (rowsInChunk.isEmpty()) {
+                    return rowsInChunk;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                apply.accept(rowsInChunk, now);
+                rowsInChunk.forEach(user -> userCache.invalidate(user.getId(), user.getEmail()));
+
+                checkpoint.setLastKey(rowsInChunk.getLast().getId());
+                checkpoint.setProcessed(checkpoint.getProcessed() + rowsInChunk.size());
+                checkpoint.setUpdatedAt(now);
+                jobCheckpointRepository.save(checkpoint);
+                return rowsInChunk;
+            });
+
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            rows.increment(chunk.size());
+            runProgress.set(checkpoint.getProcessed());
+            log.debug("Job {} committed a chunk of {} rows ({} so far)", job, chunk.size(), checkpoint.getProcessed());
+        }
 
-        for (User student : longExpiredStudents) {
-            log.info("Deleting expired student account: {} (Expired since: {})", student.getEmail(), student.getUpdatedAt());
-            userRepository.delete(student);
+        if (jobCheckpointRepository.existsById(job)) {
+            jobCheckpointRepository.deleteById(job);
         }
+        return checkpoint.getProcessed();
+    }
 
-        log.info("Deletion of long-expired student accounts completed. {} accounts deleted", longExpiredStudents.size());
+    private static List<String> ids(List<UserView> chunk) {
+        return chunk.stream().map(UserView::getId).toList();
     }
 }
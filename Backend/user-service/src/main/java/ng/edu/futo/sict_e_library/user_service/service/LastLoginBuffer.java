@@ -0,0 +1,105 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for last-login stamps.
+ * <p>
+ * Logins only record the user in memory; repeated logins by the same user before a flush
+ * coalesce into one entry. Every {@code user.last-login.flush-interval-ms} the buffer is
+ * drained and written with one {@code UPDATE ... WHERE id IN (...)} per distinct stamp.
+ * Stamps are truncated to the second so a login burst shares a handful of statements.
+ * Pending stamps are also flushed on shutdown. Until a flush, reads may show the previous
+ * {@code lastLoginAt}. A flush drops the stamped users from this replica's cache only; other
+ * replicas pick up the new stamp when their entry expires after {@code user.cache.ttl}, since
+ * an invalidation event per login would bring back the per-login writes this buffer removes.
+ */
+@Component
+@Slf4j
+public class LastLoginBuffer {
+
+    private final ConcurrentHashMap<String, PendingLogin> pending = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${user.last-login.flush-batch-size:1000}")
+    private Integer flushBatchSize;
+
+    public LastLoginBuffer(UserRepository userRepository,
+                           UserCache userCache,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        meterRegistry.gauge("user.last-login.pending", pending, Map::size);
+    }
+
+    public void record(String userId, String email) {
+        PendingLogin login = new PendingLogin(email, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        pending.merge(userId, login, LastLoginBuffer::later);
+    }
+
+    @Scheduled(fixedDelayString = "${user.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Only take an entry if it has not been replaced meanwhile; a newer stamp waits for the next flush
+        Map<LocalDateTime, List<String>> idsByStamp = new HashMap<>();
+        Map<String, PendingLogin> drained = new HashMap<>();
+        for (Map.Entry<String, PendingLogin> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.put(entry.getKey(), entry.getValue());
+                idsByStamp.computeIfAbsent(entry.getValue().at(), at -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                idsByStamp.forEach((at, ids) -> {
+                    for (int from = 0; from < ids.size(); from += flushBatchSize) {
+                        userRepository.recordLastLogins(ids.subList(from, Math.min(from + flushBatchSize, ids.size())), at);
+                    }
+                });
+                drained.forEach((userId, login) -> userCache.invalidate(userId, login.email()));
+            });
+        } catch (RuntimeException ex) {
+            drained.forEach((userId, login) -> pending.merge(userId, login, LastLoginBuffer::later));
+            log.warn("Failed to flush {} last-login stamps, will retry: {}", drained.size(), ex.getMessage());
+            return;
+        }
+
+        log.debug("Flushed {} last-login stamps", drained.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static PendingLogin later(PendingLogin a, PendingLogin b) {
+        return b.at().isAfter(a.at()) ? b : a;
+    }
+
+    private record PendingLogin(String email, LocalDateTime at) {
+    }
+}
@@ -0,0 +1,112 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
+import ng.edu.futo.sict_e_library.user_service.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link UserResponseDTO} keyed by user ID and by email.
+ * <p>
+ * Entries expire after {@code user.cache.ttl}, which also bounds how long a read racing a
+ * concurrent update can keep serving the old value. Mutations that append a lifecycle event
+ * call {@link #invalidate}, which drops the local entries after commit; other replicas drop
+ * theirs when that event arrives on {@code user-events} (see
+ * {@code UserCacheInvalidationListener}). Changes without a lifecycle event call
+ * {@link #evict}, which appends a {@code USER_CACHE_INVALIDATED} event for them.
+ * Hit, miss and eviction counts are published to the actuator as {@code cache.*} meters
+ * tagged {@code cache=users.by-id|users.by-email}.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<String, UserResponseDTO> byId;
+    private final Cache<String, UserResponseDTO> byEmail;
+    private final UserEventOutbox userEventOutbox;
+
+    public UserCache(UserEventOutbox userEventOutbox,
+                     MeterRegistry meterRegistry,
+                     @Value("${user.cache.max-size:10000}") long maxSize,
+                     @Value("${user.cache.ttl:PT5M}") Duration ttl) {
+        this.userEventOutbox = userEventOutbox;
+        this.byId = newCache(maxSize, ttl);
+        this.byEmail = newCache(maxSize, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+    }
+
+    public UserResponseDTO getById(String userId, Function<String, UserResponseDTO> loader) {
+        UserResponseDTO cached = byId.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserResponseDTO loaded = loader.apply(userId);
+        put(loaded);
+        return loaded;
+    }
+
+    public UserResponseDTO getByEmail(String email, Function<String, UserResponseDTO> loader) {
+        UserResponseDTO cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+        UserResponseDTO loaded = loader.apply(email);
+        put(loaded);
+        return loaded;
+    }
+
+    /**
+     * Drops the user from this replica's cache once the current transaction commits.
+     */
+    public void invalidate(String userId, String email) {
+        TransactionUtil.runAfterCommit(() -> evictLocal(userId, email));
+    }
+
+    /**
+     * Drops the user from every replica's cache: from this one once the current transaction
+     * commits, from the others when the invalidation event appended to the outbox reaches them.
+     * Must be called inside the transaction that makes the change.
+     */
+    public void evict(String userId, String email) {
+        userEventOutbox.appendInvalidation(userId, email);
+        invalidate(userId, email);
+    }
+
+    public void evictLocal(String userId, String email) {
+        if (userId != null) {
+            byId.invalidate(userId);
+        }
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    public void evictAllLocal() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    private void put(UserResponseDTO user) {
+        byId.put(user.getId(), user);
+        byEmail.put(user.getEmail(), user);
+    }
+
+    private static Cache<String, UserResponseDTO> newCache(long maxSize, Duration ttl) {
+        // Run eviction bookkeeping on the calling thread: it is a few microseconds, and handing it
+        // to the common pool on every write costs a thread wake-up (and, on small pods, a context switch)
+        return Caffeine.newBuilder()
+                .executor(Runnable::run)
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportReportDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+    UserImportReportDTO importUsers(InputStream body, ImportFormat format);
+}
@@ -3,12 +3,15 @@ package ng.edu.futo.sict_e_library.user_service.service;
 import ng.edu.futo.sict_e_library.user_service.dto.request.ProfileUpdateRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.request.RoleUpdateRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.CursorPageResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.PagedResponseDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserResponseDTO registerUser(UserRegistrationRequestDTO request);
@@ -17,9 +20,11 @@ public interface UserService {
 
     UserResponseDTO getUserByEmail(String email);
 
-    List<UserResponseDTO> getAllUsers();
+    CursorPageResponseDTO<UserResponseDTO> getAllUsers(String cursor, int size);
 
-    List<UserResponseDTO> getAllUsersByRole(UserRole role);
+    void streamAllUsers(Consumer<UserResponseDTO> consumer);
+
+    CursorPageResponseDTO<UserResponseDTO> getAllUsersByRole(UserRole role, String cursor, int size);
 
     List<UserResponseDTO> getUsersByStatus(UserStatus status);
 
@@ -27,11 +32,11 @@ public interface UserService {
 
     UserResponseDTO updateUserRole(String userId, RoleUpdateRequestDTO request);
 
-    UserResponseDTO updateUserStatus(String userId, UserStatus status);
+    UserResponseDTO updateUserStatus(String userId, UserStatus status, Long expectedVersion);
 
     void deleteUser(String userId);
 
-    List<UserResponseDTO> searchUsers(String keyword);
+    PagedResponseDTO<UserResponseDTO> searchUsers(String keyword, int page, int size);
 
     List<UserResponseDTO> getUsersByDepartment(String department);
 
@@ -0,0 +1,129 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.RoleStatusCount;
+import ng.edu.futo.sict_e_library.user_service.util.TransactionUtil;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory role x status user counts backing {@code /api/users/statistics}.
+ * <p>
+ * The matrix is loaded with a single {@code GROUP BY role, status} query, kept current by
+ * the mutating paths of {@code UserServiceImpl} after their transactions commit, and
+ * periodically replaced with a fresh aggregate to correct any drift (bulk jobs, other
+ * replicas, or updates racing a reconciliation).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatisticsSnapshot {
+
+    private static final UserRole[] ROLES = UserRole.values();
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private final UserRepository userRepository;
+
+    // A lock rather than synchronized: the first load runs a query, which would pin a virtual thread's carrier
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile LongAdder[][] cells;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user.statistics.reconcile-interval-ms:300000}",
+            initialDelayString = "${user.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LongAdder[][] fresh = emptyCells();
+        for (RoleStatusCount count : userRepository.countGroupedByRoleAndStatus()) {
+            fresh[count.getRole().ordinal()][count.getStatus().ordinal()].add(count.getTotal());
+        }
+        cells = fresh;
+        log.debug("User statistics snapshot reconciled with the database");
+    }
+
+    public void recordCreated(UserRole role, UserStatus status) {
+        TransactionUtil.runAfterCommit(() -> cell(role, status).increment());
+    }
+
+    public void recordDeleted(UserRole role, UserStatus status) {
+        TransactionUtil.runAfterCommit(() -> cell(role, status).decrement());
+    }
+
+    public void recordMoved(UserRole oldRole, UserStatus oldStatus, UserRole newRole, UserStatus newStatus) {
+        if (oldRole == newRole && oldStatus == newStatus) {
+            return;
+        }
+        TransactionUtil.runAfterCommit(() -> {
+            cell(oldRole, oldStatus).decrement();
+            cell(newRole, newStatus).increment();
+        });
+    }
+
+    public Map<String, Long> toStatistics() {
+        LongAdder[][] current = loadedCells();
+        long[] byRole = new long[ROLES.length];
+        long[] byStatus = new long[STATUSES.length];
+        long total = 0;
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                long value = current[r][s].sum();
+                byRole[r] += value;
+                byStatus[s] += value;
+                total += value;
+            }
+        }
+
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("totalUsers", total);
+        stats.put("adminStaff", byRole[UserRole.ADMIN_STAFF.ordinal()]);
+        stats.put("academicStaff", byRole[UserRole.ACADEMIC_STAFF.ordinal()]);
+        stats.put("students", byRole[UserRole.STUDENT.ordinal()]);
+        stats.put("guests", byRole[UserRole.GUEST.ordinal()]);
+        stats.put("activeUsers", byStatus[UserStatus.ACTIVE.ordinal()]);
+        stats.put("inactiveUsers", byStatus[UserStatus.INACTIVE.ordinal()]);
+        stats.put("expiredUsers", byStatus[UserStatus.EXPIRED.ordinal()]);
+        stats.put("suspendedUsers", byStatus[UserStatus.SUSPENDED.ordinal()]);
+        return stats;
+    }
+
+    private LongAdder cell(UserRole role, UserStatus status) {
+        return loadedCells()[role.ordinal()][status.ordinal()];
+    }
+
+    private LongAdder[][] loadedCells() {
+        LongAdder[][] current = cells;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (cells == null) {
+                    reconcile();
+                }
+                current = cells;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private static LongAdder[][] emptyCells() {
+        LongAdder[][] fresh = new LongAdder[ROLES.length][STATUSES.length];
+        for (int r = 0; r < ROLES.length; r++) {
+            for (int s = 0; s < STATUSES.length; s++) {
+                fresh[r][s] = new LongAdder();
+            }
+        }
+        return fresh;
+    }
+}
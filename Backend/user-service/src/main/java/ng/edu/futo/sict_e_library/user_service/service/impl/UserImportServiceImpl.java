@@ -0,0 +1,275 @@
+package ng.edu.futo.sict_e_library.user_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportErrorDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportReportDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.service.UserImportService;
+import ng.edu.futo.sict_e_library.user_service.service.UserStatisticsSnapshot;
+import ng.edu.futo.sict_e_library.user_service.util.EmailValidator;
+import ng.edu.futo.sict_e_library.user_service.util.UserImportReader;
+import ng.edu.futo.sict_e_library.user_service.util.UserImportReader.ImportRow;
+import ng.edu.futo.sict_e_library.user_service.util.UserMapper;
+import ng.edu.futo.sict_e_library.user_service.util.ValidationUtil;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk registration for a whole intake.
+ * <p>
+ * The body is read in chunks of {@code user.import.chunk-size} rows. Each chunk is validated
+ * row by row with the same rules as {@code POST /register}, checked for duplicates with one
+ * {@code IN} query per identifier (plus the identifiers already seen earlier in the file), and
+ * the survivors are inserted in a single transaction using JDBC batching; if that insert fails,
+ * the chunk is bisected until the offending rows are isolated. Rows never fail the import: every
+ * rejected row is reported with its line number.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final EmailValidator emailValidator;
+    private final ValidationUtil validationUtil;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final UserStatisticsSnapshot userStatisticsSnapshot;
+    private final UserEventOutbox userEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${user.import.chunk-size:1000}")
+    private Integer chunkSize;
+
+    @Value("${user.import.max-reported-errors:1000}")
+    private Integer maxReportedErrors;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 EmailValidator emailValidator,
+                                 ValidationUtil validationUtil,
+                                 UserMapper userMapper,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 EntityManager entityManager,
+                                 UserStatisticsSnapshot userStatisticsSnapshot,
+                                 UserEventOutbox userEventOutbox,
+                                 PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.emailValidator = emailValidator;
+        this.validationUtil = validationUtil;
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.userStatisticsSnapshot = userStatisticsSnapshot;
+        this.userEventOutbox = userEventOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public UserImportReportDTO importUsers(InputStream body, ImportFormat format) {
+        long start = System.currentTimeMillis();
+        ImportState state = new ImportState();
+
+        try (UserImportReader reader = new UserImportReader(body, format, objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, state);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to close import body", ex);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Bulk import finished: {} of {} rows imported in {} ms", state.imported, state.total, durationMs);
+        return UserImportReportDTO.builder()
+                .totalRows(state.total)
+                .imported(state.imported)
+                .failed(state.failed)
+                .durationMs(durationMs)
+                .errors(state.errors)
+                .build();
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportState state) {
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            state.total++;
+            String problem = row.error() != null ? row.error() : validate(row.request(), state);
+            if (problem != null) {
+                state.fail(row, problem, maxReportedErrors);
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingEmails = existing(candidates, UserRegistrationRequestDTO::getEmail, userRepository::findExistingEmails);
+        Set<String> existingMatricNumbers = existing(candidates, UserRegistrationRequestDTO::getMatricNumber, userRepository::findExistingMatricNumbers);
+        Set<String> existingStaffIds = existing(candidates, UserRegistrationRequestDTO::getStaffId, userRepository::findExistingStaffIds);
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            UserRegistrationRequestDTO request = row.request();
+            if (existingEmails.contains(request.getEmail())) {
+                state.fail(row, "User with email " + request.getEmail() + " already exists", maxReportedErrors);
+            } else if (existingMatricNumbers.contains(request.getMatricNumber())) {
+                state.fail(row, "User with matric number " + request.getMatricNumber() + " already exists", maxReportedErrors);
+            } else if (existingStaffIds.contains(request.getStaffId())) {
+                state.fail(row, "User with staff ID " + request.getStaffId() + " already exists", maxReportedErrors);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        save(accepted, state);
+    }
+
+    /**
+     * Inserts {@code rows} in one transaction. If that fails (a registration that raced past the
+     * duplicate check, or a value the column cannot hold), the rows are split in half and each
+     * half is retried, so the good rows are still committed and only the rows that fail on their
+     * own are reported. One bad row in a chunk of n costs about 2 log2(n) extra transactions.
+     */
+    private void save(List<ImportRow> rows, ImportState state) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            state.imported += rows.size();
+        } catch (RuntimeException ex) {
+            if (rows.size() == 1) {
+                ImportRow row = rows.getFirst();
+                log.warn("Bulk import row {} could not be saved: {}", row.line(), ex.getMessage());
+                state.fail(row, "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage(), maxReportedErrors);
+                return;
+            }
+            log.debug("Bulk import batch of {} rows rolled back, retrying it in halves: {}", rows.size(), ex.getMessage());
+            int middle = rows.size() / 2;
+            save(rows.subList(0, middle), state);
+            save(rows.subList(middle, rows.size()), state);
+        }
+    }
+
+    private void insert(List<ImportRow> rows) {
+        // Users first, then their events, so each table's inserts go out as one JDBC batch
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            User user = userMapper.toNewUser(row.request());
+            entityManager.persist(user);
+            users.add(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        for (User user : users) {
+            userEventOutbox.append(UserEventType.USER_REGISTERED, user, "Your e-library account has been created");
+            userStatisticsSnapshot.recordCreated(user.getRole(), user.getStatus());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * All problems with one row, or {@code null} if it may be imported. Identifiers of valid
+     * rows are remembered so a later row repeating them is rejected without a query.
+     */
+    private String validate(UserRegistrationRequestDTO request, ImportState state) {
+        List<String> problems = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (request.getEmail() != null && !emailValidator.isValidFacultyEmail(request.getEmail())) {
+            problems.add("Email must be from an approved faculty domain: " + emailValidator.getAllowedDomains());
+        }
+        problems.addAll(validationUtil.validateUserRegistration(request));
+        if (!problems.isEmpty()) {
+            return String.join(", ", problems);
+        }
+
+        if (state.emails.contains(request.getEmail())) {
+            return "Email " + request.getEmail() + " appears more than once in the import";
+        }
+        if (request.getMatricNumber() != null && state.matricNumbers.contains(request.getMatricNumber())) {
+            return "Matric number " + request.getMatricNumber() + " appears more than once in the import";
+        }
+        if (request.getStaffId() != null && state.staffIds.contains(request.getStaffId())) {
+            return "Staff ID " + request.getStaffId() + " appears more than once in the import";
+        }
+        state.emails.add(request.getEmail());
+        if (request.getMatricNumber() != null) {
+            state.matricNumbers.add(request.getMatricNumber());
+        }
+        if (request.getStaffId() != null) {
+            state.staffIds.add(request.getStaffId());
+        }
+        return null;
+    }
+
+    private static Set<String> existing(List<ImportRow> rows,
+                                        Function<UserRegistrationRequestDTO, String> identifier,
+                                        Function<Set<String>, List<String>> lookup) {
+        Set<String> values = rows.stream()
+                .map(row -> identifier.apply(row.request()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return values.isEmpty() ? new HashSet<>() : new HashSet<>(lookup.apply(values));
+    }
+
+    private static final class ImportState {
+        private final Set<String> emails = new HashSet<>();
+        private final Set<String> matricNumbers = new HashSet<>();
+        private final Set<String> staffIds = new HashSet<>();
+        private final List<UserImportErrorDTO> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        void fail(ImportRow row, String message, int maxReportedErrors) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(UserImportErrorDTO.builder()
+                        .line(row.line())
+                        .email(row.request() != null ? row.request().getEmail() : null)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
@@ -1,30 +1,52 @@
 package ng.edu.futo.sict_e_library.user_service.service.impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ng.edu.futo.sict_e_library.user_service.dto.request.ProfileUpdateRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.request.RoleUpdateRequestDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.CursorPageResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.PagedResponseDTO;
 import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
 import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
 import ng.edu.futo.sict_e_library.user_service.exception.DuplicateUserException;
 import ng.edu.futo.sict_e_library.user_service.exception.InvalidEmailDomainException;
+import ng.edu.futo.sict_e_library.user_service.exception.InvalidSearchException;
+import ng.edu.futo.sict_e_library.user_service.exception.StaleUserVersionException;
 import ng.edu.futo.sict_e_library.user_service.exception.UserNotFoundException;
 import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserIdentifiers;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import ng.edu.futo.sict_e_library.user_service.service.LastLoginBuffer;
+import ng.edu.futo.sict_e_library.user_service.service.UserCache;
 import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import ng.edu.futo.sict_e_library.user_service.service.UserStatisticsSnapshot;
+import ng.edu.futo.sict_e_library.user_service.util.CursorUtil;
 import ng.edu.futo.sict_e_library.user_service.util.EmailValidator;
+import ng.edu.futo.sict_e_library.user_service.util.UserMapper;
 import ng.edu.futo.sict_e_library.user_service.util.ValidationUtil;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.Year;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -32,13 +54,24 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MIN_SEARCH_KEYWORD_LENGTH = 3;
+
     private final UserRepository userRepository;
     private final EmailValidator emailValidator;
     private final ValidationUtil validationUtil;
+    private final CursorUtil cursorUtil;
+    private final EntityManager entityManager;
+    private final UserStatisticsSnapshot userStatisticsSnapshot;
+    private final UserCache userCache;
+    private final UserEventOutbox userEventOutbox;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final UserMapper userMapper;
 
     @Override
     public UserResponseDTO registerUser(UserRegistrationRequestDTO request) {
-        log.info("Registering new user with email: {}", request.getEmail());
+        log.debug("Registering new user with email: {}", request.getEmail());
 
         // Validate email domain
         if (!emailValidator.isValidFacultyEmail(request.getEmail())) {
@@ -47,20 +80,10 @@ public class UserServiceImpl implements UserService {
             );
         }
 
-        // Check for duplicate email
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new DuplicateUserException("User with email " + request.getEmail() + " already exists");
-        }
-
-        // Check for duplicate matric number
-        if (request.getMatricNumber() != null && userRepository.existsByMatricNumber(request.getMatricNumber())) {
-            throw new DuplicateUserException("User with matric number " + request.getMatricNumber() + " already exists");
-        }
-
-        // Check for duplicate staff ID
-        if (request.getStaffId() != null && userRepository.existsByStaffId(request.getStaffId())) {
-            throw new DuplicateUserException("User with staff ID " + request.getStaffId() + " already exists");
-        }
+        // Check for duplicate email, matric number and staff ID in one round trip. This is only
+        // the friendly path: a concurrent registration that slips past it is stopped by the
+        // unique constraints at commit and reported the same way by GlobalExceptionHandler.
+        checkForDuplicates(request);
 
         // Validate registration data
         List<String> validationErrors = validationUtil.validateUserRegistration(request);
@@ -69,64 +92,105 @@ public class UserServiceImpl implements UserService {
         }
 
         // Create user entity
-        User user = User.builder()
-                .email(request.getEmail())
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .role(request.getRole())
-                .accountType(request.getAccountType())
-                .phoneNumber(request.getPhoneNumber())
-                .department(request.getDepartment())
-                .matricNumber(request.getMatricNumber())
-                .staffId(request.getStaffId())
-                .gradYear(request.getGradYear())
-                .status(UserStatus.ACTIVE)
-                .emailVerified(false)
-                .accountNotExpired(true)
-                .accountNotLocked(true)
-                .build();
+        User user = userMapper.toNewUser(request);
 
         User savedUser = userRepository.save(user);
+        userStatisticsSnapshot.recordCreated(savedUser.getRole(), savedUser.getStatus());
+        userEventOutbox.append(UserEventType.USER_REGISTERED, savedUser, "Your e-library account has been created");
         log.info("User registered successfully with ID: {}", savedUser.getId());
 
-        return mapToResponseDTO(savedUser);
+        return userMapper.toResponseDTO(savedUser);
+    }
+
+    private void checkForDuplicates(UserRegistrationRequestDTO request) {
+        List<UserIdentifiers> collisions = userRepository.findIdentifierCollisions(
+                request.getEmail(), request.getMatricNumber(), request.getStaffId());
+        if (collisions.isEmpty()) {
+            return;
+        }
+        if (collides(collisions, request.getEmail(), UserIdentifiers::getEmail)) {
+            throw new DuplicateUserException("User with email " + request.getEmail() + " already exists");
+        }
+        if (collides(collisions, request.getMatricNumber(), UserIdentifiers::getMatricNumber)) {
+            throw new DuplicateUserException("User with matric number " + request.getMatricNumber() + " already exists");
+        }
+        if (collides(collisions, request.getStaffId(), UserIdentifiers::getStaffId)) {
+            throw new DuplicateUserException("User with staff ID " + request.getStaffId() + " already exists");
+        }
+    }
+
+    private static boolean collides(List<UserIdentifiers> collisions, String value, Function<UserIdentifiers, String> identifier) {
+        return value != null && collisions.stream().anyMatch(existing -> value.equals(identifier.apply(existing)));
     }
 
+    // SUPPORTS: a cache hit must not open a transaction or borrow a connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponseDTO getUserById(String userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
-        return mapToResponseDTO(user);
+        return userCache.getById(userId, id -> userRepository.findById(id)
+                .map(userMapper::toResponseDTO)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id)));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserResponseDTO getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
-        return mapToResponseDTO(user);
+        return userCache.getByEmail(email, key -> userRepository.findByEmail(key)
+                .map(userMapper::toResponseDTO)
+                .orElseThrow(() -> new UserNotFoundException("User not found with email: " + key)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageResponseDTO<UserResponseDTO> getAllUsers(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        // Fetch one extra row to learn whether another page follows without a COUNT query
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<User> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findAllByOrderByCreatedAtAscIdAsc(limit);
+        } else {
+            CursorUtil.Cursor position = cursorUtil.decode(cursor);
+            users = userRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }
+
+        return toCursorPage(users, pageSize, userMapper::toResponseDTO, user -> cursorUtil.encode(user.getCreatedAt(), user.getId()));
     }
 
     @Override
-    public List<UserResponseDTO> getAllUsersByRole(UserRole role) {
-        return userRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponseDTO> consumer) {
+        try (Stream<User> users = userRepository.streamAllOrdered()) {
+            users.forEach(user -> {
+                consumer.accept(userMapper.toResponseDTO(user));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(user);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponseDTO<UserResponseDTO> getAllUsersByRole(UserRole role, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<UserView> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findByRoleOrderByCreatedAtAscIdAsc(role, limit);
+        } else {
+            CursorUtil.Cursor position = cursorUtil.decode(cursor);
+            users = userRepository.findByRoleAfter(role, position.createdAt(), position.id(), limit);
+        }
+
+        return toCursorPage(users, pageSize, userMapper::toResponseDTO, user -> cursorUtil.encode(user.getCreatedAt(), user.getId()));
     }
 
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getUsersByRole(UserRole role) {
         return userRepository.findByRole(role).stream()
-                .map(this::mapToResponseDTO)
+                .map(userMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
@@ -134,108 +198,151 @@ public class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getUsersByStatus(UserStatus status) {
         return userRepository.findByStatus(status).stream()
-                .map(this::mapToResponseDTO)
+                .map(userMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
     public UserResponseDTO updateProfile(String userId, ProfileUpdateRequestDTO request) {
-        log.info("Updating profile for user ID: {}", userId);
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
-
-        if (request.getFirstName() != null) {
-            user.setFirstName(request.getFirstName());
-        }
-        if (request.getLastName() != null) {
-            user.setLastName(request.getLastName());
-        }
-        if (request.getPhoneNumber() != null) {
-            user.setPhoneNumber(request.getPhoneNumber());
-        }
-        if (request.getDepartment() != null) {
-            user.setDepartment(request.getDepartment());
-        }
-
-        User updatedUser = userRepository.save(user);
+        log.debug("Updating profile for user ID: {}", userId);
+
+        LocalDateTime now = LocalDateTime.now();
+        UserResponseDTO current = applyVersionedUpdate(userId, request.getVersion(), user -> userRepository.updateProfile(
+                userId, request.getFirstName(), request.getLastName(), request.getPhoneNumber(), request.getDepartment(),
+                now, user.getVersion()));
+
+        UserResponseDTO updatedUser = current.toBuilder()
+                .firstName(request.getFirstName() != null ? request.getFirstName() : current.getFirstName())
+                .lastName(request.getLastName() != null ? request.getLastName() : current.getLastName())
+                .phoneNumber(request.getPhoneNumber() != null ? request.getPhoneNumber() : current.getPhoneNumber())
+                .department(request.getDepartment() != null ? request.getDepartment() : current.getDepartment())
+                .updatedAt(now)
+                .version(current.getVersion() + 1)
+                .build();
+        userCache.invalidate(userId, updatedUser.getEmail());
+        userEventOutbox.append(UserEventType.USER_PROFILE_UPDATED, updatedUser, "Your profile has been updated");
         log.info("Profile updated successfully for user ID: {}", userId);
 
-        return mapToResponseDTO(updatedUser);
+        return updatedUser;
     }
 
     @Override
     public UserResponseDTO updateUserRole(String userId, RoleUpdateRequestDTO request) {
-        log.info("Updating role for user ID: {} to {}", userId, request.getNewRole());
+        log.debug("Updating role for user ID: {} to {}", userId, request.getNewRole());
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        LocalDateTime now = LocalDateTime.now();
+        UserResponseDTO current = applyVersionedUpdate(userId, request.getVersion(),
+                user -> userRepository.updateRole(userId, request.getNewRole(), now, user.getVersion()));
 
-        user.setRole(request.getNewRole());
-        User updatedUser = userRepository.save(user);
+        UserResponseDTO updatedUser = current.toBuilder()
+                .role(request.getNewRole())
+                .updatedAt(now)
+                .version(current.getVersion() + 1)
+                .build();
+        userStatisticsSnapshot.recordMoved(current.getRole(), current.getStatus(), updatedUser.getRole(), updatedUser.getStatus());
+        userCache.invalidate(userId, updatedUser.getEmail());
+        userEventOutbox.append(UserEventType.USER_ROLE_CHANGED, updatedUser, "Your role has changed to " + updatedUser.getRole());
 
         log.info("Role updated successfully for user ID: {}", userId);
-        return mapToResponseDTO(updatedUser);
+        return updatedUser;
     }
 
     @Override
-    public UserResponseDTO updateUserStatus(String userId, UserStatus status) {
-        log.info("Updating status for user ID: {} to {}", userId, status);
+    public UserResponseDTO updateUserStatus(String userId, UserStatus status, Long expectedVersion) {
+        log.debug("Updating status for user ID: {} to {}", userId, status);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        LocalDateTime now = LocalDateTime.now();
+        UserResponseDTO current = applyVersionedUpdate(userId, expectedVersion,
+                user -> userRepository.updateStatus(userId, status, now, user.getVersion()));
 
-        user.setStatus(status);
-        User updatedUser = userRepository.save(user);
+        UserResponseDTO updatedUser = current.toBuilder()
+                .status(status)
+                .updatedAt(now)
+                .version(current.getVersion() + 1)
+                .build();
+        userStatisticsSnapshot.recordMoved(current.getRole(), current.getStatus(), updatedUser.getRole(), updatedUser.getStatus());
+        userCache.invalidate(userId, updatedUser.getEmail());
+        userEventOutbox.append(UserEventType.USER_STATUS_CHANGED, updatedUser, "Your account status is now " + updatedUser.getStatus());
 
         log.info("Status updated successfully for user ID: {}", userId);
-        return mapToResponseDTO(updatedUser);
+        return updatedUser;
+    }
+
+    /**
+     * Runs a single targeted {@code UPDATE ... WHERE id = ? AND version = ?} against the user's
+     * current state, which is usually served from the cache, so the common case costs one
+     * statement and no entity load or dirty check. A stale cached copy fails the version check
+     * and is retried once against a fresh read. A mismatch with the caller's expected version,
+     * or a second failed check, means someone else changed the user and is reported as a conflict.
+     *
+     * @return the state the update was applied to
+     */
+    private UserResponseDTO applyVersionedUpdate(String userId, Long expectedVersion, ToIntFunction<UserResponseDTO> update) {
+        UserResponseDTO current = getUserById(userId);
+        for (int attempt = 0; ; attempt++) {
+            boolean expected = expectedVersion == null || expectedVersion.equals(current.getVersion());
+            if (expected && update.applyAsInt(current) == 1) {
+                return current;
+            }
+            if (attempt == 1) {
+                throw new StaleUserVersionException("User " + userId + " was modified by someone else; reload it and retry");
+            }
+            userCache.evictLocal(userId, current.getEmail());
+            current = getUserById(userId);
+        }
     }
 
     @Override
     public void deleteUser(String userId) {
-        log.info("Deleting user with ID: {}", userId);
+        log.debug("Deleting user with ID: {}", userId);
 
-        if (!userRepository.existsById(userId)) {
-            throw new UserNotFoundException("User not found with ID: " + userId);
-        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
 
-        userRepository.deleteById(userId);
+        userRepository.delete(user);
+        userStatisticsSnapshot.recordDeleted(user.getRole(), user.getStatus());
+        userCache.invalidate(userId, user.getEmail());
+        userEventOutbox.append(UserEventType.USER_DELETED, user, "Your e-library account has been deleted");
         log.info("User deleted successfully with ID: {}", userId);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserResponseDTO> searchUsers(String keyword) {
-        return userRepository.searchUsers(keyword).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    public PagedResponseDTO<UserResponseDTO> searchUsers(String keyword, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE);
+        String normalized = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+
+        // pg_trgm extracts no trigram from one or two characters, so shorter keywords could only scan
+        if (normalized.length() < MIN_SEARCH_KEYWORD_LENGTH) {
+            throw new InvalidSearchException(
+                    "Search keyword must be at least " + MIN_SEARCH_KEYWORD_LENGTH + " characters");
+        }
+
+        String escaped = escapeLikeWildcards(normalized);
+        Slice<UserView> results = userRepository.searchUsers(
+                normalized, "%" + escaped + "%", escaped + "%", PageRequest.of(pageNumber, pageSize));
+
+        return PagedResponseDTO.<UserResponseDTO>builder()
+                .items(results.stream().map(userMapper::toResponseDTO).collect(Collectors.toList()))
+                .page(pageNumber)
+                .size(results.getNumberOfElements())
+                .hasNext(results.hasNext())
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserResponseDTO> getUsersByDepartment(String department) {
         return userRepository.findByDepartment(department).stream()
-                .map(this::mapToResponseDTO)
+                .map(userMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Long> getUserStatistics() {
-        Map<String, Long> stats = new HashMap<>();
-
-        stats.put("totalUsers", userRepository.count());
-        stats.put("adminStaff", userRepository.countByRole(UserRole.ADMIN_STAFF));
-        stats.put("academicStaff", userRepository.countByRole(UserRole.ACADEMIC_STAFF));
-        stats.put("students", userRepository.countByRole(UserRole.STUDENT));
-        stats.put("guests", userRepository.countByRole(UserRole.GUEST));
-        stats.put("activeUsers", userRepository.countByStatus(UserStatus.ACTIVE));
-        stats.put("inactiveUsers", userRepository.countByStatus(UserStatus.INACTIVE));
-        stats.put("expiredUsers", userRepository.countByStatus(UserStatus.EXPIRED));
-        stats.put("suspendedUsers", userRepository.countByStatus(UserStatus.SUSPENDED));
-
-        return stats;
+        return userStatisticsSnapshot.toStatistics();
     }
 
     @Override
@@ -243,37 +350,35 @@ public class UserServiceImpl implements UserService {
     public List<UserResponseDTO> getExpiredStudentAccounts() {
         int currentYear = Year.now().getValue();
         return userRepository.findExpiredStudentAccounts(currentYear).stream()
-                .map(this::mapToResponseDTO)
+                .map(userMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    // Existence is checked through the cache; the stamp itself is written behind in batches
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public void updateLastLogin(String userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        UserResponseDTO user = getUserById(userId);
+        lastLoginBuffer.record(userId, user.getEmail());
+    }
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+    private static String escapeLikeWildcards(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
     }
 
-    private UserResponseDTO mapToResponseDTO(User user) {
-        return UserResponseDTO.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .role(user.getRole())
-                .status(user.getStatus())
-                .accountType(user.getAccountType())
-                .phoneNumber(user.getPhoneNumber())
-                .department(user.getDepartment())
-                .matricNumber(user.getMatricNumber())
-                .staffId(user.getStaffId())
-                .gradYear(user.getGradYear())
-                .emailVerified(user.getEmailVerified())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .lastLoginAt(user.getLastLoginAt())
+    private <T> CursorPageResponseDTO<UserResponseDTO> toCursorPage(List<T> rows, int pageSize,
+                                                                  Function<T, UserResponseDTO> mapper,
+                                                                  Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return CursorPageResponseDTO.<UserResponseDTO>builder()
+                .items(page.stream().map(mapper).collect(Collectors.toList()))
+                .size(page.size())
+                .nextCursor(hasNext ? cursorOf.apply(page.getLast()) : null)
+                .hasNext(hasNext)
                 .build();
     }
 }
@@ -0,0 +1,40 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import ng.edu.futo.sict_e_library.user_service.exception.InvalidCursorException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque keyset cursors used for paginated user listings.
+ * A cursor points at the last row of a page by its (createdAt, id) sort key.
+ */
+@Component
+public class CursorUtil {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode(LocalDateTime createdAt, String id) {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new InvalidCursorException("Malformed page cursor: " + cursor);
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separatorIndex)), raw.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Malformed page cursor: " + cursor);
+        }
+    }
+
+    public record Cursor(LocalDateTime createdAt, String id) {
+    }
+}
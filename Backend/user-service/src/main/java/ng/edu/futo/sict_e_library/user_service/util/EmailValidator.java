@@ -1,31 +1,56 @@
 package ng.edu.futo.sict_e_library.user_service.util;
 
-import lombok.Getter;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+/**
+ * Checks that an email belongs to an approved faculty domain.
+ * <p>
+ * {@code faculty.email.allowed-domains} is compiled once into a small open-addressing table of
+ * case-folded domains, so a check hashes the part after {@code @} in place without allocating.
+ * An allowed domain also admits its subdomains: with {@code futo.edu.ng} allowed,
+ * {@code sict.futo.edu.ng} is accepted but {@code notfuto.edu.ng} is not. When the
+ * {@code faculty.email.*} properties change at runtime (an {@link EnvironmentChangeEvent} from
+ * a config refresh), the rules are rebuilt and swapped in as a whole.
+ */
 @Component
+@Slf4j
 public class EmailValidator {
-    @Getter
-    @Value("${faculty.email.allowed-domains}")
-    private List<String> allowedDomains;
 
-    @Value("${faculty.email.validation-enabled}")
-    private boolean validationEnabled;
+    private static final String ALLOWED_DOMAINS = "faculty.email.allowed-domains";
+    private static final String VALIDATION_ENABLED = "faculty.email.validation-enabled";
+
+    private final Environment environment;
+    private volatile Rules rules;
+
+    public EmailValidator(Environment environment) {
+        this.environment = environment;
+        this.rules = loadRules();
+    }
 
     public boolean isValidFacultyEmail(String email) {
-        if (!validationEnabled) {
+        Rules current = rules;
+        if (!current.validationEnabled()) {
             return true;
         }
 
-        if (email == null || email.trim().isEmpty()) {
+        if (email == null || email.isBlank()) {
             return false;
         }
 
-        String domain = extractDomain(email);
-        return allowedDomains.stream().anyMatch(allowedDomain -> allowedDomain.equalsIgnoreCase(domain));
+        int at = email.indexOf('@');
+        return at >= 0 && current.domains().matches(email, at + 1);
+    }
+
+    public List<String> getAllowedDomains() {
+        return rules.allowedDomains();
     }
 
     public String extractDomain(String email) {
@@ -34,4 +59,119 @@ public class EmailValidator {
         }
         return email.substring(email.indexOf("@") + 1);
     }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith("faculty.email."))) {
+            return;
+        }
+        try {
+            rules = loadRules();
+            log.info("Reloaded faculty email domains: {}", rules.allowedDomains());
+        } catch (RuntimeException ex) {
+            log.warn("Keeping previous faculty email domains, new configuration is invalid: {}", ex.getMessage());
+        }
+    }
+
+    private Rules loadRules() {
+        Binder binder = Binder.get(environment);
+        List<String> allowedDomains = binder.bind(ALLOWED_DOMAINS, Bindable.listOf(String.class))
+                .orElseThrow(() -> new IllegalStateException(ALLOWED_DOMAINS + " is not set"))
+                .stream()
+                .map(String::trim)
+                .filter(domain -> !domain.isEmpty())
+                .toList();
+        boolean validationEnabled = binder.bind(VALIDATION_ENABLED, Boolean.class)
+                .orElseThrow(() -> new IllegalStateException(VALIDATION_ENABLED + " is not set"));
+        return new Rules(validationEnabled, allowedDomains, new DomainTable(allowedDomains));
+    }
+
+    private record Rules(boolean validationEnabled, List<String> allowedDomains, DomainTable domains) {
+    }
+
+    /**
+     * Immutable set of folded domains, hashed right to left so that one backward pass over an
+     * email's domain yields the hash of every dot-separated suffix along the way.
+     */
+    static final class DomainTable {
+
+        private final String[] keys;
+        private final int[] hashes;
+        private final int mask;
+
+        DomainTable(List<String> domains) {
+            int capacity = Integer.highestOneBit(Math.max(domains.size(), 1) * 4 - 1) << 1;
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.mask = capacity - 1;
+            for (String domain : domains) {
+                String folded = fold(domain);
+                int hash = hash(folded);
+                int slot = hash & mask;
+                while (keys[slot] != null && !keys[slot].equals(folded)) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = folded;
+                hashes[slot] = hash;
+            }
+        }
+
+        /**
+         * Whether {@code email.substring(from)}, or any suffix of it that starts after a dot,
+         * is in the table.
+         */
+        boolean matches(String email, int from) {
+            int hash = 0;
+            for (int i = email.length() - 1; i >= from; i--) {
+                char c = email.charAt(i);
+                if (c == '.' && i > from && i < email.length() - 1 && contains(hash, email, i + 1)) {
+                    return true;
+                }
+                hash = 31 * hash + fold(c);
+            }
+            return from < email.length() && contains(hash, email, from);
+        }
+
+        private boolean contains(int hash, String email, int from) {
+            int length = email.length() - from;
+            for (int slot = hash & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && keys[slot].length() == length && equalsFolded(keys[slot], email, from)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean equalsFolded(String key, String email, int from) {
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != fold(email.charAt(from + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(String folded) {
+            int hash = 0;
+            for (int i = folded.length() - 1; i >= 0; i--) {
+                hash = 31 * hash + folded.charAt(i);
+            }
+            return hash;
+        }
+
+        private static String fold(String domain) {
+            char[] chars = domain.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = fold(chars[i]);
+            }
+            return new String(chars);
+        }
+
+        private static char fold(char c) {
+            if (c < 128) {
+                return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+            }
+            return Character.toLowerCase(c);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic users for load tests and benchmarks.
+ * <p>
+ * Row {@code i} depends only on the random seed, the reference date and {@code i}, so any
+ * row (and its ID and email) can be recomputed without generating the ones before it; a load
+ * driver can address seeded users directly. The mix approximates the faculty: 85% students
+ * spread over seven intake years (the oldest cohort has graduated, partly already expired),
+ * 8% academic staff, 2% admin staff and 5% guests, across weighted departments.
+ */
+public class UserDataGenerator {
+
+    /** Column order of {@link #row(int)}. */
+    public static final String INSERT_SQL = "INSERT INTO users (id, email, first_name, last_name, role, status, " +
+            "account_type, phone_number, department, matric_number, staff_id, grad_year, email_verified, " +
+            "account_not_expired, account_not_locked, created_at, updated_at, last_login_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String[] FIRST_NAMES = {
+            "Chinedu", "Ngozi", "Emeka", "Adaeze", "Obinna", "Chiamaka", "Ifeanyi", "Amarachi", "Tochukwu", "Uchechi",
+            "Kelechi", "Nneka", "Chukwuemeka", "Ebere", "Somto", "Ogechi", "Ikenna", "Chidinma", "Nnamdi", "Ifeoma",
+            "Tunde", "Aisha", "Babajide", "Folake", "Musa", "Halima", "Segun", "Yetunde", "Ibrahim", "Zainab"
+    };
+    private static final String[] LAST_NAMES = {
+            "Okafor", "Eze", "Nwosu", "Okeke", "Obi", "Nwachukwu", "Okonkwo", "Anyanwu", "Iwu", "Onyekachi",
+            "Uzor", "Ibe", "Chukwu", "Nnaji", "Ogbonna", "Emenike", "Agu", "Oparaocha", "Ekwueme", "Madu",
+            "Adeyemi", "Bello", "Abubakar", "Olawale", "Suleiman", "Ogunleye", "Danjuma", "Akinola", "Yusuf", "Balogun"
+    };
+    // Weighted towards the school's own departments
+    private static final String[] DEPARTMENTS = {
+            "Computer Science", "Computer Science", "Computer Science", "Information Technology", "Information Technology",
+            "Cyber Security", "Software Engineering", "Software Engineering", "Electrical Engineering", "Mathematics",
+            "Physics", "Statistics"
+    };
+    private static final int INTAKE_YEARS = 7;
+    private static final int PROGRAMME_YEARS = 5;
+
+    private final long seed;
+    private final LocalDate referenceDate;
+
+    /**
+     * @param seed          random seed; the same seed and reference date always give the same rows
+     * @param referenceDate the "today" that graduation years and timestamps are relative to
+     */
+    public UserDataGenerator(long seed, LocalDate referenceDate) {
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+    }
+
+    public String userId(int i) {
+        return UUID.nameUUIDFromBytes(("seed-" + seed + "-user-" + i).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public String email(int i) {
+        SplittableRandom random = random(i);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return email(first, last, i);
+    }
+
+    public String lastName(int i) {
+        SplittableRandom random = random(i);
+        random.nextInt(FIRST_NAMES.length);
+        return LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    /**
+     * Row {@code i} as parameters for {@link #INSERT_SQL}.
+     */
+    public Object[] row(int i) {
+        SplittableRandom random = random(i);
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        double roll = random.nextDouble();
+        UserRole role = roll < 0.85 ? UserRole.STUDENT
+                : roll < 0.93 ? UserRole.ACADEMIC_STAFF
+                : roll < 0.95 ? UserRole.ADMIN_STAFF
+                : UserRole.GUEST;
+        LocalDateTime now = referenceDate.atTime(12, 0);
+        String department = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+        String phoneNumber = random.nextDouble() < 0.7 ? "080" + (10_000_000 + random.nextInt(90_000_000)) : null;
+
+        AccountType accountType;
+        UserStatus status;
+        String matricNumber = null;
+        String staffId = null;
+        Integer gradYear = null;
+        LocalDateTime createdAt;
+        if (role == UserRole.STUDENT) {
+            int entryYear = referenceDate.getYear() - random.nextInt(INTAKE_YEARS);
+            gradYear = entryYear + PROGRAMME_YEARS;
+            accountType = AccountType.STUDENT;
+            matricNumber = entryYear + String.format("%07d", i);
+            createdAt = LocalDate.of(entryYear, 9, 1).atStartOfDay().plusMinutes(random.nextInt(120 * 24 * 60));
+            if (gradYear < referenceDate.getYear()) {
+                // graduated; some are still waiting for the nightly expiry job
+                status = random.nextDouble() < 0.6 ? UserStatus.EXPIRED : UserStatus.ACTIVE;
+            } else {
+                status = pickActiveMostly(random);
+            }
+        } else {
+            accountType = role == UserRole.ADMIN_STAFF ? AccountType.ADMIN : AccountType.STAFF;
+            staffId = role == UserRole.GUEST ? null : "SP" + String.format("%07d", i);
+            createdAt = now.minusMinutes(random.nextInt(8 * 365 * 24 * 60));
+            status = pickActiveMostly(random);
+        }
+        if (createdAt.isAfter(now)) {
+            createdAt = now.minusMinutes(random.nextInt(60 * 24) + 1);
+        }
+
+        LocalDateTime updatedAt = between(random, createdAt, now);
+        LocalDateTime lastLoginAt = random.nextDouble() < 0.75
+                ? between(random, createdAt.isBefore(now.minusDays(180)) ? now.minusDays(180) : createdAt, now)
+                : null;
+
+        return new Object[]{
+                userId(i),
+                email(first, last, i),
+                first,
+                last,
+                role.name(),
+                status.name(),
+                accountType.name(),
+                phoneNumber,
+                department,
+                matricNumber,
+                staffId,
+                gradYear,
+                random.nextDouble() < 0.9,
+                status != UserStatus.EXPIRED,
+                status != UserStatus.SUSPENDED,
+                Timestamp.valueOf(createdAt),
+                Timestamp.valueOf(updatedAt),
+                lastLoginAt != null ? Timestamp.valueOf(lastLoginAt) : null
+        };
+    }
+
+    private SplittableRandom random(int i) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + i);
+    }
+
+    private static String email(String first, String last, int i) {
+        return (first + "." + last + i).toLowerCase(Locale.ROOT) + "@futo.edu.ng";
+    }
+
+    private static UserStatus pickActiveMostly(SplittableRandom random) {
+        double roll = random.nextDouble();
+        return roll < 0.96 ? UserStatus.ACTIVE : roll < 0.98 ? UserStatus.INACTIVE : UserStatus.SUSPENDED;
+    }
+
+    private static LocalDateTime between(SplittableRandom random, LocalDateTime from, LocalDateTime to) {
+        long minutes = Duration.between(from, to).toMinutes();
+        return minutes <= 0 ? to : from.plusMinutes(random.nextLong(minutes + 1));
+    }
+}
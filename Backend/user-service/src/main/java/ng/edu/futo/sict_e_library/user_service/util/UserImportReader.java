@@ -0,0 +1,197 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a bulk import body one line at a time, so the whole upload is never held in memory.
+ * <p>
+ * CSV input needs a header row naming the {@link UserRegistrationRequestDTO} fields (camelCase
+ * or snake_case, any order); fields may be double-quoted but must not span lines. NDJSON input
+ * is one registration object per line. Blank lines are skipped. A row that cannot be parsed is
+ * returned with an error instead of failing the whole import.
+ */
+public class UserImportReader implements Closeable {
+
+    public record ImportRow(long line, UserRegistrationRequestDTO request, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private String[] columns;
+    private long lineNumber;
+
+    public UserImportReader(InputStream body, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The next non-blank row, or {@code null} at the end of the input.
+     */
+    public ImportRow next() {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (format == ImportFormat.NDJSON) {
+            return parseJson(line);
+        }
+        if (columns == null) {
+            columns = parseHeader(line);
+            return next();
+        }
+        return parseCsv(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import body", ex);
+        }
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            return new ImportRow(lineNumber, objectMapper.readValue(line, UserRegistrationRequestDTO.class), null);
+        } catch (JsonProcessingException ex) {
+            return new ImportRow(lineNumber, null, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private String[] parseHeader(String line) {
+        List<String> names = splitCsv(line);
+        if (names == null) {
+            throw new InvalidImportException("CSV header has an unterminated quoted field");
+        }
+        String[] normalized = new String[names.size()];
+        for (int i = 0; i < normalized.length; i++) {
+            normalized[i] = names.get(i).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+        }
+        if (!List.of(normalized).contains("email")) {
+            throw new InvalidImportException("CSV header must include an email column");
+        }
+        return normalized;
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return new ImportRow(lineNumber, null, "Unterminated quoted field");
+        }
+        if (values.size() != columns.length) {
+            return new ImportRow(lineNumber, null, "Expected " + columns.length + " fields but found " + values.size());
+        }
+
+        UserRegistrationRequestDTO request = new UserRegistrationRequestDTO();
+        try {
+            for (int i = 0; i < columns.length; i++) {
+                String value = values.get(i).trim();
+                if (!value.isEmpty()) {
+                    set(request, columns[i], value);
+                }
+            }
+        } catch (IllegalArgumentException ex) {
+            return new ImportRow(lineNumber, request, ex.getMessage());
+        }
+        return new ImportRow(lineNumber, request, null);
+    }
+
+    private static void set(UserRegistrationRequestDTO request, String column, String value) {
+        switch (column) {
+            case "email" -> request.setEmail(value);
+            case "firstname" -> request.setFirstName(value);
+            case "lastname" -> request.setLastName(value);
+            case "role" -> request.setRole(parseEnum(UserRole.class, "role", value));
+            case "accounttype" -> request.setAccountType(parseEnum(AccountType.class, "accountType", value));
+            case "phonenumber" -> request.setPhoneNumber(value);
+            case "department" -> request.setDepartment(value);
+            case "matricnumber" -> request.setMatricNumber(value);
+            case "staffid" -> request.setStaffId(value);
+            case "gradyear" -> {
+                try {
+                    request.setGradYear(Integer.valueOf(value));
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Invalid gradYear: " + value);
+                }
+            }
+            default -> {
+                // unknown columns are ignored so exports from other tools can be fed in as-is
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    /**
+     * The fields of one CSV line, or {@code null} if a quoted field is not closed on it.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,82 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conversions between the users table and its API shapes, shared by single registration,
+ * bulk import and every read path.
+ */
+@Component
+public class UserMapper {
+
+    /**
+     * A new, active, unverified user from a registration request.
+     */
+    public User toNewUser(UserRegistrationRequestDTO request) {
+        return User.builder()
+                .email(request.getEmail())
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .role(request.getRole())
+                .accountType(request.getAccountType())
+                .phoneNumber(request.getPhoneNumber())
+                .department(request.getDepartment())
+                .matricNumber(request.getMatricNumber())
+                .staffId(request.getStaffId())
+                .gradYear(request.getGradYear())
+                .status(UserStatus.ACTIVE)
+                .emailVerified(false)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build();
+    }
+
+    public UserResponseDTO toResponseDTO(User user) {
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .accountType(user.getAccountType())
+                .phoneNumber(user.getPhoneNumber())
+                .department(user.getDepartment())
+                .matricNumber(user.getMatricNumber())
+                .staffId(user.getStaffId())
+                .gradYear(user.getGradYear())
+                .emailVerified(user.getEmailVerified())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLoginAt(user.getLastLoginAt())
+                .version(user.getVersion())
+                .build();
+    }
+
+    public UserResponseDTO toResponseDTO(UserView user) {
+        return UserResponseDTO.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .accountType(user.getAccountType())
+                .phoneNumber(user.getPhoneNumber())
+                .department(user.getDepartment())
+                .matricNumber(user.getMatricNumber())
+                .staffId(user.getStaffId())
+                .gradYear(user.getGradYear())
+                .emailVerified(user.getEmailVerified())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .lastLoginAt(user.getLastLoginAt())
+                .version(user.getVersion())
+                .build();
+    }
+}
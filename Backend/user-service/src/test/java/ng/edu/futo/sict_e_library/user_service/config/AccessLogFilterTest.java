@@ -0,0 +1,104 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Access Log Filter Tests")
+public class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("ng.edu.futo.sict_e_library.user_service.access");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+        // No sampling, so only writes, errors and slow reads are logged
+        filter = new AccessLogFilter(0.0, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Should skip successful reads and log writes with structured fields")
+    void testLogsWritesButNotSampledOutReads() throws Exception {
+        // When
+        filter.doFilter(request("GET", "/api/users/abc"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request("PUT", "/api/users/abc/status"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> fields = fields(appender.list.getFirst());
+        assertThat(fields).containsEntry("method", "PUT")
+                .containsEntry("route", "/api/users/{userId}")
+                .containsEntry("status", 200)
+                .containsEntry("userId", "abc")
+                .containsKey("latencyMs");
+    }
+
+    @Test
+    @DisplayName("Should always log failed reads")
+    void testLogsFailedReads() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        // When
+        filter.doFilter(request("GET", "/api/users/missing"), response, new MockFilterChain());
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        assertThat(fields(appender.list.getFirst())).containsEntry("status", 404);
+    }
+
+    @Test
+    @DisplayName("Should keep the caller's request ID in the MDC during the request and echo it back")
+    void testRequestIdPropagation() throws Exception {
+        // Given
+        MockHttpServletRequest request = request("GET", "/api/users/abc");
+        request.addHeader(AccessLogFilter.REQUEST_ID_HEADER, "req-42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seenByHandler = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> seenByHandler.set(MDC.get(AccessLogFilter.REQUEST_ID)));
+
+        // Then
+        assertThat(seenByHandler.get()).isEqualTo("req-42");
+        assertThat(response.getHeader(AccessLogFilter.REQUEST_ID_HEADER)).isEqualTo("req-42");
+        assertThat(MDC.get(AccessLogFilter.REQUEST_ID)).isNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{userId}");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", "abc"));
+        return request;
+    }
+
+    private static Map<String, Object> fields(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
@@ -0,0 +1,131 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({MetricsConfig.class, MetricsConfigTest.RegistryConfig.class})
+@DisplayName("Metrics Config Tests")
+public class MetricsConfigTest {
+
+    @TestConfiguration
+    static class RegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MeterFilter latencyHistogramFilter;
+
+    @BeforeEach
+    void setUp() {
+        IntStream.range(0, 3).forEach(i -> userRepository.save(User.builder()
+                .email("student" + i + "@futo.edu.ng")
+                .firstName("Student")
+                .lastName("Number" + i)
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .matricNumber("2020000000" + i)
+                .gradYear(2030)
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Should record rows returned per repository method, including streams once closed")
+    void testRepositoryRowMetrics() {
+        // When
+        userRepository.findAll();
+        userRepository.findByEmail("missing@futo.edu.ng");
+        userRepository.existsByEmail("student0@futo.edu.ng");
+        try (Stream<User> users = userRepository.streamAllOrdered()) {
+            users.forEach(user -> { });
+        }
+
+        // Then
+        assertThat(rows("findAll").totalAmount()).isEqualTo(3);
+        assertThat(rows("findAll").max()).isEqualTo(3);
+        assertThat(rows("findByEmail").count()).isEqualTo(1);
+        assertThat(rows("findByEmail").totalAmount()).isZero();
+        assertThat(rows("streamAllOrdered").totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.find("user.repository.rows").tag("method", "existsByEmail").summary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep recording into the same summary on repeated calls")
+    void testRepositoryRowMetricsReuseSummary() {
+        // Given
+        userRepository.findAll();
+        DistributionSummary first = rows("findAll");
+        long calls = first.count();
+
+        // When
+        userRepository.findAll();
+
+        // Then
+        assertThat(rows("findAll")).isSameAs(first);
+        assertThat(first.count()).isEqualTo(calls + 1);
+    }
+
+    @Test
+    @DisplayName("Should export histogram buckets for endpoint, repository and scheduler timers only")
+    void testLatencyHistogramFilter() {
+        // Given
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(latencyHistogramFilter);
+
+        // When
+        registry.timer("http.server.requests", "uri", "/api/users/{userId}").record(Duration.ofMillis(5));
+        registry.timer("user.scheduler.duration", "job", "expire-student-accounts").record(Duration.ofMinutes(10));
+        registry.timer("kafka.send").record(Duration.ofMillis(5));
+        String scrape = registry.scrape();
+
+        // Then
+        assertThat(scrape).contains("http_server_requests_seconds_bucket{uri=\"/api/users/{userId}\",le=\"0.001\"}");
+        assertThat(scrape).contains("http_server_requests_seconds_bucket{uri=\"/api/users/{userId}\",le=\"30.0\"}");
+        assertThat(scrape).doesNotContain("http_server_requests_seconds_bucket{uri=\"/api/users/{userId}\",le=\"7200.0\"}");
+        assertThat(scrape).contains("user_scheduler_duration_seconds_bucket{job=\"expire-student-accounts\",le=\"7200.0\"}");
+        assertThat(scrape).doesNotContain("kafka_send_seconds_bucket");
+    }
+
+    private DistributionSummary rows(String method) {
+        return meterRegistry.get("user.repository.rows").tag("repository", "UserRepository").tag("method", method).summary();
+    }
+}
@@ -0,0 +1,90 @@
+package ng.edu.futo.sict_e_library.user_service.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Scheduler Config Tests")
+public class SchedulerConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(SchedulerConfig.class);
+
+    @Test
+    @DisplayName("Should use the platform-thread pool by default")
+    void testPlatformThreadsByDefault() {
+        contextRunner.run(context -> {
+            // Then
+            assertThat(context).hasSingleBean(TaskScheduler.class);
+            assertThat(context.getBean("taskScheduler")).isInstanceOf(ThreadPoolTaskScheduler.class);
+        });
+    }
+
+    @Test
+    @DisplayName("Should run jobs on virtual threads when virtual threads are enabled")
+    void testVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            // Given
+            assertThat(context).hasSingleBean(TaskScheduler.class);
+            TaskScheduler scheduler = context.getBean("taskScheduler", TaskScheduler.class);
+            assertThat(scheduler).isInstanceOf(ThreadPoolTaskScheduler.class);
+            CompletableFuture<Thread> ranOn = new CompletableFuture<>();
+
+            // When
+            scheduler.schedule(() -> ranOn.complete(Thread.currentThread()), Instant.now());
+
+            // Then
+            Thread thread = ranOn.get(5, TimeUnit.SECONDS);
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("student-account-scheduler-");
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Should keep running a fixed-delay task while another one is blocked")
+    void testBlockedFixedDelayTaskDoesNotDelayOthers(boolean virtualThreads) {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=" + virtualThreads).run(context -> {
+            // Given
+            TaskScheduler scheduler = context.getBean("taskScheduler", TaskScheduler.class);
+            CountDownLatch blockedStarted = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch otherRuns = new CountDownLatch(5);
+
+            // When
+            ScheduledFuture<?> blocked = scheduler.scheduleWithFixedDelay(() -> {
+                blockedStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }, Duration.ofMillis(10));
+            ScheduledFuture<?> other;
+            try {
+                assertThat(blockedStarted.await(5, TimeUnit.SECONDS)).isTrue();
+                other = scheduler.scheduleWithFixedDelay(otherRuns::countDown, Duration.ofMillis(10));
+
+                // Then
+                assertThat(otherRuns.await(5, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                release.countDown();
+                blocked.cancel(true);
+            }
+            other.cancel(true);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package ng.edu.futo.sict_e_library.user_service.controller;
+
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("User Controller Versioned Update Tests")
+public class UserControllerVersionedUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("controller@futo.edu.ng")
+                .firstName("Controller")
+                .lastName("User")
+                .role(UserRole.ACADEMIC_STAFF)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STAFF)
+                .staffId("SS/400")
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should return 200 with the new version when only the cached copy was stale")
+    void testStaleCachedVersionReturnsOk() throws Exception {
+        // Given
+        long cachedVersion = userService.getUserById(user.getId()).getVersion();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.updateRole(user.getId(), UserRole.ADMIN_STAFF, LocalDateTime.now(), cachedVersion));
+
+        // When / Then
+        mockMvc.perform(put("/api/users/{userId}/profile", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"department\":\"SICT\",\"version\":" + (cachedVersion + 1) + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.department").value("SICT"))
+                .andExpect(jsonPath("$.data.version").value(cachedVersion + 2));
+    }
+
+    @Test
+    @DisplayName("Should return 409 when someone else changed the user since the client read it")
+    void testConcurrentModificationReturnsConflict() throws Exception {
+        // Given
+        long readVersion = userService.getUserById(user.getId()).getVersion();
+        mockMvc.perform(put("/api/users/{userId}/role", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newRole\":\"ADMIN_STAFF\",\"version\":" + readVersion + "}"))
+                .andExpect(status().isOk());
+
+        // When / Then
+        mockMvc.perform(put("/api/users/{userId}/status", user.getId())
+                        .param("status", "SUSPENDED")
+                        .param("version", String.valueOf(readVersion)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when the user does not exist")
+    void testMissingUserReturnsNotFound() throws Exception {
+        // When / Then
+        mockMvc.perform(put("/api/users/{userId}/profile", "no-such-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"department\":\"SICT\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+    }
+}
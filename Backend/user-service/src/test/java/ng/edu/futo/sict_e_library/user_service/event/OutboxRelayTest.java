@@ -0,0 +1,120 @@
+package ng.edu.futo.sict_e_library.user_service.event;
+
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Outbox Relay Tests")
+public class OutboxRelayTest {
+
+    @MockitoBean
+    private KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private final List<Boolean> sentInTransaction = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        given(kafkaTemplate.send(eq(UserEventProducer.TOPIC), anyString(), any(UserEvent.class))).willAnswer(invocation -> {
+            sentInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            String userId = invocation.getArgument(1);
+            return userId.startsWith("failing")
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(new SendResult<>(null, null));
+        });
+    }
+
+    @Test
+    @DisplayName("Should send with no transaction open and delete the acknowledged events")
+    void testRelaysAndDeletesAcknowledgedEvents() {
+        // Given
+        save("user-1", null);
+        save("user-2", null);
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(sentInTransaction).containsExactly(false, false);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep events Kafka did not acknowledge and release them for the next poll")
+    void testKeepsUnacknowledgedEvents() {
+        // Given
+        save("user-1", null);
+        OutboxEvent failing = save("failing-user", null);
+        save("user-3", null);
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(outboxEventRepository.findAll()).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getId()).isEqualTo(failing.getId());
+                    assertThat(event.getClaimedUntil()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should skip events another relay has claimed until the claim lapses")
+    void testSkipsEventsClaimedElsewhere() {
+        // Given
+        save("user-1", LocalDateTime.now().plusMinutes(1));
+        save("user-2", LocalDateTime.now().minusSeconds(1));
+
+        // When
+        int relayed = outboxRelay.relayPending();
+
+        // Then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(outboxEventRepository.findAll()).singleElement()
+                .extracting(OutboxEvent::getUserId)
+                .isEqualTo("user-1");
+    }
+
+    private OutboxEvent save(String userId, LocalDateTime claimedUntil) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(UserEventType.USER_PROFILE_UPDATED.name())
+                .userId(userId)
+                .email(userId + "@futo.edu.ng")
+                .createdAt(LocalDateTime.now())
+                .claimedUntil(claimedUntil)
+                .build());
+    }
+}
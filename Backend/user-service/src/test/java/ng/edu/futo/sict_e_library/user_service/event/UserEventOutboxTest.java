@@ -0,0 +1,117 @@
+package ng.edu.futo.sict_e_library.user_service.event;
+
+import ng.edu.futo.sict_e_library.user_service.dto.request.UserRegistrationRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("User Event Outbox Tests")
+public class UserEventOutboxTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserEventOutbox userEventOutbox;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should append the event in the transaction that writes the user")
+    void testEventAppendedWithUserWrite() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        List<OutboxEvent> seenInTransaction = transactionTemplate.execute(status -> {
+            userService.registerUser(student("outbox.commit@futo.edu.ng", "20201268001"));
+            return outboxEventRepository.findAll();
+        });
+
+        // Then
+        assertThat(seenInTransaction).singleElement()
+                .extracting(OutboxEvent::getEventType)
+                .isEqualTo(UserEventType.USER_REGISTERED.name());
+        String userId = userRepository.findByEmail("outbox.commit@futo.edu.ng").orElseThrow().getId();
+        assertThat(outboxEventRepository.findAll()).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getUserId()).isEqualTo(userId);
+                    assertThat(event.getClaimedUntil()).isNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should leave no outbox row when the user write rolls back")
+    void testRolledBackWriteLeavesNoEvent() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            UserResponseDTO registered = userService.registerUser(student("outbox.rollback@futo.edu.ng", "20201268002"));
+            assertThat(registered.getId()).isNotNull();
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(userRepository.findByEmail("outbox.rollback@futo.edu.ng")).isEmpty();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse to append an event outside a transaction")
+    void testAppendRequiresTransaction() {
+        // When / Then
+        assertThatThrownBy(() -> userEventOutbox.appendInvalidation("user-1", "user1@futo.edu.ng"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private static UserRegistrationRequestDTO student(String email, String matricNumber) {
+        return UserRegistrationRequestDTO.builder()
+                .email(email)
+                .firstName("Ada")
+                .lastName("Okafor")
+                .role(UserRole.STUDENT)
+                .accountType(AccountType.STUDENT)
+                .department("Computer Science")
+                .matricNumber(matricNumber)
+                .gradYear(Year.now().getValue() + 2)
+                .build();
+    }
+}
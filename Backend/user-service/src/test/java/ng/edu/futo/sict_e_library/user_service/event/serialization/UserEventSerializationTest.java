@@ -0,0 +1,85 @@
+package ng.edu.futo.sict_e_library.user_service.event.serialization;
+
+import ng.edu.futo.sict_e_library.user_service.event.UserEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("User Event Serialization Tests")
+public class UserEventSerializationTest {
+
+    private final UserEventDeserializer deserializer = new UserEventDeserializer();
+
+    private UserEvent expiredEvent() {
+        return UserEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType("USER_EXPIRED")
+                .userId(UUID.randomUUID().toString())
+                .email("student@students.futo.edu.ng")
+                .firstName("Chukwuemeka")
+                .lastName("Ọkọnkwọ")
+                .message("Your e-library account has expired after graduation")
+                .timestamp(LocalDateTime.of(2025, 1, 1, 2, 0, 0, 123456789))
+                .build();
+    }
+
+    @ParameterizedTest
+    @EnumSource(UserEventFormat.class)
+    @DisplayName("Should read back every field written in each format")
+    void testRoundTrip(UserEventFormat format) {
+        // Given
+        UserEvent event = expiredEvent();
+
+        // When
+        byte[] bytes = format.serializer().serialize("user-events", event);
+        UserEvent read = deserializer.deserialize("user-events", bytes);
+
+        // Then
+        assertThat(read).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should keep non-UUID ids, unknown event types and missing fields in binary")
+    void testBinaryRoundTripIrregularEvent() {
+        // Given
+        UserEvent event = UserEvent.builder()
+                .eventId("legacy-42")
+                .eventType("SOME_FUTURE_EVENT")
+                .userId(UUID.randomUUID().toString().toUpperCase())
+                .email("staff@futo.edu.ng")
+                .message("emoji 📚 and a lone \uD800 surrogate")
+                .build();
+
+        // When
+        byte[] bytes = UserEventFormat.BINARY.serializer().serialize("user-events", event);
+        UserEvent read = deserializer.deserialize("user-events", bytes);
+
+        // Then
+        assertThat(read.getEventId()).isEqualTo("legacy-42");
+        assertThat(read.getEventType()).isEqualTo("SOME_FUTURE_EVENT");
+        assertThat(read.getUserId()).isEqualTo(event.getUserId());
+        assertThat(read.getFirstName()).isNull();
+        assertThat(read.getTimestamp()).isNull();
+        assertThat(read.getMessage()).isEqualTo("emoji 📚 and a lone ? surrogate");
+    }
+
+    @Test
+    @DisplayName("Should encode a typical event in less than half the JSON size")
+    void testBinaryIsCompact() {
+        // Given
+        UserEvent event = expiredEvent();
+
+        // When
+        int json = UserEventFormat.JSON.serializer().serialize("user-events", event).length;
+        int binary = UserEventFormat.BINARY.serializer().serialize("user-events", event).length;
+
+        // Then
+        assertThat(binary).isLessThan(json / 2);
+    }
+}
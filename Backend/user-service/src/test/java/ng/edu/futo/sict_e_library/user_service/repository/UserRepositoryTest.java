@@ -4,17 +4,27 @@ import ng.edu.futo.sict_e_library.user_service.entity.User;
 import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
 import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
 import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.RoleStatusCount;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserIdentifiers;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ActiveProfiles("test")
@@ -231,6 +241,42 @@ public class UserRepositoryTest {
         assertThat(expiredAccounts).allMatch(user -> user.getGradYear() < 2025);
     }
 
+    @Test
+    @DisplayName("Should expire student accounts chunk by chunk in key order")
+    void testExpireStudentAccountsInChunks() {
+        // Given
+        testStudent.setGradYear(2020);
+        userRepository.save(testStudent);
+        User secondGraduate = User.builder()
+                .email("graduate@futo.edu.ng")
+                .firstName("Grad")
+                .lastName("Uate")
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .matricNumber("20181268001")
+                .gradYear(2021)
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build();
+        userRepository.save(secondGraduate);
+        userRepository.save(testStaff);
+
+        // When
+        List<UserView> firstChunk = userRepository.findExpiredStudentChunk(2025, "", Limit.of(1));
+        int expired = userRepository.expireAccounts(List.of(firstChunk.getFirst().getId()), LocalDateTime.now());
+        List<UserView> secondChunk = userRepository.findExpiredStudentChunk(2025, firstChunk.getLast().getId(), Limit.of(1));
+        List<UserView> afterLastChunk = userRepository.findExpiredStudentChunk(2025, secondChunk.getLast().getId(), Limit.of(1));
+
+        // Then
+        assertThat(expired).isEqualTo(1);
+        assertThat(userRepository.findById(firstChunk.getFirst().getId()).orElseThrow().getStatus()).isEqualTo(UserStatus.EXPIRED);
+        assertThat(secondChunk).hasSize(1);
+        assertThat(secondChunk.getFirst().getId()).isGreaterThan(firstChunk.getFirst().getId());
+        assertThat(afterLastChunk).isEmpty();
+    }
+
     @Test
     @DisplayName("Should find students nearing expiry")
     void testFindStudentsNearingExpiry() {
@@ -298,6 +344,28 @@ public class UserRepositoryTest {
         assertThat(expiredCount).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("Should count users grouped by role and status in one query")
+    void testCountGroupedByRoleAndStatus() {
+        // Given
+        testStudent.setStatus(UserStatus.EXPIRED);
+        userRepository.save(testStudent);
+        userRepository.save(testStaff);
+        userRepository.save(testAdmin);
+
+        // When
+        List<RoleStatusCount> counts = userRepository.countGroupedByRoleAndStatus();
+
+        // Then
+        assertThat(counts).hasSize(3);
+        assertThat(counts).anySatisfy(count -> {
+            assertThat(count.getRole()).isEqualTo(UserRole.STUDENT);
+            assertThat(count.getStatus()).isEqualTo(UserStatus.EXPIRED);
+            assertThat(count.getTotal()).isEqualTo(1);
+        });
+        assertThat(counts).extracting(RoleStatusCount::getTotal).containsOnly(1L);
+    }
+
     @Test
     @DisplayName("Should find users by department")
     void testFindByDepartment() {
@@ -339,9 +407,9 @@ public class UserRepositoryTest {
         userRepository.save(testAdmin);
 
         // When
-        List<User> johnResults = userRepository.searchUsers("john");
-        List<User> staffResults = userRepository.searchUsers("futo.edu.ng");
-        List<User> smithResults = userRepository.searchUsers("Smith");
+        List<UserView> johnResults = search("john");
+        List<UserView> staffResults = search("futo.edu.ng");
+        List<UserView> smithResults = search("Smith");
 
         // Then
         assertThat(johnResults).hasSize(1);
@@ -353,4 +421,182 @@ public class UserRepositoryTest {
         assertThat(smithResults).hasSize(1);
         assertThat(smithResults.getFirst().getLastName()).isEqualToIgnoringCase("Smith");
     }
+
+    @Test
+    @DisplayName("Should page through users by keyset on (createdAt, id)")
+    void testKeysetPagination() {
+        // Given
+        userRepository.save(testStudent);
+        userRepository.save(testStaff);
+        userRepository.save(testAdmin);
+
+        // When
+        List<User> firstPage = userRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(2));
+        User lastOfFirstPage = firstPage.getLast();
+        List<User> secondPage = userRepository.findPageAfter(lastOfFirstPage.getCreatedAt(), lastOfFirstPage.getId(), Limit.of(2));
+
+        // Then
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage).extracting(User::getId).doesNotContainAnyElementsOf(firstPage.stream().map(User::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should page users of a single role through the projection")
+    void testFindByRoleProjectionPagination() {
+        // Given
+        userRepository.save(testStudent);
+        userRepository.save(testStaff);
+        userRepository.save(testAdmin);
+
+        User secondStaff = User.builder()
+                .email("staff2@futo.edu.ng")
+                .firstName("Second")
+                .lastName("Staff")
+                .role(UserRole.ACADEMIC_STAFF)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STAFF)
+                .staffId("89002")
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build();
+        userRepository.save(secondStaff);
+
+        // When
+        List<UserView> firstPage = userRepository.findByRoleOrderByCreatedAtAscIdAsc(UserRole.ACADEMIC_STAFF, Limit.of(1));
+        UserView last = firstPage.getLast();
+        List<UserView> secondPage = userRepository.findByRoleAfter(UserRole.ACADEMIC_STAFF, last.getCreatedAt(), last.getId(), Limit.of(1));
+
+        // Then
+        assertThat(firstPage).hasSize(1);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.getFirst().getId()).isNotEqualTo(last.getId());
+        assertThat(secondPage).allMatch(user -> user.getRole() == UserRole.ACADEMIC_STAFF);
+    }
+
+    @Test
+    @DisplayName("Should rank exact and prefix matches first and page the results")
+    void testSearchUsersRankingAndPaging() {
+        // Given
+        userRepository.save(testStudent);
+        userRepository.save(testStaff);
+        userRepository.save(testAdmin);
+
+        // When
+        List<UserView> adminResults = search("admin");
+        Slice<UserView> firstPage = userRepository.searchUsers("futo", "%futo%", "futo%", PageRequest.of(0, 2));
+        Slice<UserView> literalUnderscore = userRepository.searchUsers("a_min", "%a\\_min%", "a\\_min%", PageRequest.of(0, 20));
+
+        // Then
+        assertThat(adminResults.getFirst().getEmail()).isEqualTo("admin@futo.edu.ng");
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(firstPage.hasNext()).isTrue();
+        assertThat(literalUnderscore.getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stamp last logins in bulk without touching updatedAt or moving backwards")
+    void testRecordLastLogins() {
+        // Given
+        User saved = userRepository.saveAndFlush(testStudent);
+        LocalDateTime updatedAt = saved.getUpdatedAt();
+        LocalDateTime login = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+        // When
+        int stamped = userRepository.recordLastLogins(List.of(saved.getId()), login);
+        int stale = userRepository.recordLastLogins(List.of(saved.getId()), login.minusHours(1));
+        User reloaded = userRepository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(stamped).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(reloaded.getLastLoginAt()).isEqualTo(login);
+        assertThat(reloaded.getUpdatedAt()).isEqualTo(updatedAt);
+    }
+
+    @Test
+    @DisplayName("Should return only the identifiers that already exist for a bulk import chunk")
+    void testFindExistingIdentifiers() {
+        // Given
+        userRepository.save(testStudent);
+        userRepository.save(testStaff);
+
+        // When
+        List<String> emails = userRepository.findExistingEmails(List.of("student@futo.edu.ng", "new@futo.edu.ng"));
+        List<String> matricNumbers = userRepository.findExistingMatricNumbers(List.of("20201268043", "20209999999"));
+        List<String> staffIds = userRepository.findExistingStaffIds(List.of("NOPE-1"));
+
+        // Then
+        assertThat(emails).containsExactly("student@futo.edu.ng");
+        assertThat(matricNumbers).containsExactly("20201268043");
+        assertThat(staffIds).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply a targeted update only when the version matches and bump it")
+    void testVersionedRoleUpdate() {
+        // Given
+        User saved = userRepository.saveAndFlush(testStudent);
+        long version = saved.getVersion();
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        int applied = userRepository.updateRole(saved.getId(), UserRole.ACADEMIC_STAFF, now, version);
+        int stale = userRepository.updateRole(saved.getId(), UserRole.ADMIN_STAFF, now, version);
+        User reloaded = userRepository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(reloaded.getRole()).isEqualTo(UserRole.ACADEMIC_STAFF);
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Should report every existing identifier a registration collides with in one probe")
+    void testFindIdentifierCollisions() {
+        // Given
+        userRepository.saveAll(List.of(testStudent, testStaff));
+
+        // When
+        List<UserIdentifiers> collisions = userRepository.findIdentifierCollisions("new@futo.edu.ng", "20201268043", "89001");
+        List<UserIdentifiers> none = userRepository.findIdentifierCollisions("new@futo.edu.ng", null, null);
+
+        // Then
+        assertThat(collisions).extracting(UserIdentifiers::getEmail)
+                .containsExactlyInAnyOrder("student@futo.edu.ng", "staff@futo.edu.ng");
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate matric number through the named unique constraint")
+    void testMatricNumberUniqueConstraint() {
+        // Given
+        userRepository.saveAndFlush(testStudent);
+        User duplicate = User.builder()
+                .email("other@futo.edu.ng")
+                .firstName("Other")
+                .lastName("Student")
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .matricNumber("20201268043")
+                .emailVerified(false)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build();
+
+        // When & Then
+        assertThatThrownBy(() -> userRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .cause()
+                .isInstanceOfSatisfying(ConstraintViolationException.class, violation ->
+                        assertThat(violation.getConstraintName().toLowerCase()).contains(User.MATRIC_NUMBER_CONSTRAINT));
+    }
+
+    private List<UserView> search(String keyword) {
+        String normalized = keyword.toLowerCase();
+        return userRepository.searchUsers(normalized, "%" + normalized + "%", normalized + "%", PageRequest.of(0, 20)).getContent();
+    }
 }
@@ -0,0 +1,173 @@
+package ng.edu.futo.sict_e_library.user_service.scheduler;
+
+import ng.edu.futo.sict_e_library.user_service.entity.JobCheckpoint;
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.event.UserEventOutbox;
+import ng.edu.futo.sict_e_library.user_service.repository.JobCheckpointRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.projection.UserView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willCallRealMethod;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+        "scheduler.student-account-cleanup.enabled=true",
+        "scheduler.student-account-cleanup.chunk-size=2"
+})
+@ActiveProfiles("test")
+@DisplayName("Student Account Expiry Scheduler Tests")
+public class StudentAccountExpirySchedulerTest {
+
+    @MockitoSpyBean
+    private UserEventOutbox userEventOutbox;
+
+    @Autowired
+    private StudentAccountExpiryScheduler scheduler;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private List<String> graduatedIds;
+    private String currentStudentId;
+
+    @BeforeEach
+    void setUp() {
+        jobCheckpointRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+
+        int lastYear = Year.now().getValue() - 1;
+        graduatedIds = IntStream.range(0, 5)
+                .mapToObj(i -> userRepository.save(student("graduate" + i, lastYear)).getId())
+                .sorted()
+                .toList();
+        currentStudentId = userRepository.save(student("current", lastYear + 3)).getId();
+    }
+
+    @Test
+    @DisplayName("Should expire graduated students one chunk per transaction and drop the checkpoint")
+    void testExpiresInChunks() {
+        // When
+        scheduler.checkAndExpireStudentAccounts();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserView>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(userEventOutbox, times(3)).appendAll(eq(UserEventType.USER_EXPIRED), chunks.capture(), anyString());
+        assertThat(chunks.getAllValues())
+                .extracting(chunk -> chunk.stream().map(UserView::getId).toList())
+                .containsExactly(graduatedIds.subList(0, 2), graduatedIds.subList(2, 4), graduatedIds.subList(4, 5));
+
+        assertThat(statuses()).containsAllEntriesOf(graduatedIds.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> UserStatus.EXPIRED)));
+        assertThat(statuses()).containsEntry(currentStudentId, UserStatus.ACTIVE);
+        assertThat(jobCheckpointRepository.existsById(StudentAccountExpiryScheduler.EXPIRE_JOB)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should publish one expiry event per expired user for other replicas to evict on")
+    void testPublishesExpiryEventsForEveryExpiredUser() {
+        // When
+        scheduler.checkAndExpireStudentAccounts();
+
+        // Then
+        assertThat(outboxEventRepository.findAll())
+                .allSatisfy(event -> assertThat(event.getEventType()).isEqualTo(UserEventType.USER_EXPIRED.name()))
+                .extracting(OutboxEvent::getUserId)
+                .containsExactlyInAnyOrderElementsOf(graduatedIds);
+    }
+
+    @Test
+    @DisplayName("Should keep the checkpoint of the last committed chunk when a run crashes and resume after it")
+    void testResumesAfterCrash() {
+        // Given
+        UserEventOutbox spy = AopTestUtils.getUltimateTargetObject(userEventOutbox);
+        willCallRealMethod()
+                .willThrow(new IllegalStateException("simulated crash"))
+                .given(spy).appendAll(eq(UserEventType.USER_EXPIRED), anyList(), anyString());
+
+        // When
+        assertThatThrownBy(() -> scheduler.checkAndExpireStudentAccounts())
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(StudentAccountExpiryScheduler.EXPIRE_JOB).orElseThrow();
+        assertThat(checkpoint.getLastKey()).isEqualTo(graduatedIds.get(1));
+        assertThat(checkpoint.getProcessed()).isEqualTo(2);
+        assertThat(expiredIds()).containsExactlyInAnyOrderElementsOf(graduatedIds.subList(0, 2));
+
+        // When
+        willCallRealMethod().given(spy).appendAll(eq(UserEventType.USER_EXPIRED), anyList(), anyString());
+        scheduler.checkAndExpireStudentAccounts();
+
+        // Then
+        assertThat(expiredIds()).containsExactlyInAnyOrderElementsOf(graduatedIds);
+        assertThat(outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType().equals(UserEventType.USER_EXPIRED.name()))
+                .map(OutboxEvent::getUserId))
+                .containsExactlyInAnyOrderElementsOf(graduatedIds);
+        assertThat(jobCheckpointRepository.existsById(StudentAccountExpiryScheduler.EXPIRE_JOB)).isFalse();
+    }
+
+    private Map<String, UserStatus> statuses() {
+        return userRepository.findAll().stream().collect(Collectors.toMap(User::getId, User::getStatus));
+    }
+
+    private List<String> expiredIds() {
+        return userRepository.findAll().stream()
+                .filter(user -> user.getStatus() == UserStatus.EXPIRED)
+                .map(User::getId)
+                .toList();
+    }
+
+    private static User student(String name, int gradYear) {
+        return User.builder()
+                .email(name + "@futo.edu.ng")
+                .firstName(name)
+                .lastName("Student")
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .department("Computer Science")
+                .matricNumber(name.toUpperCase())
+                .gradYear(gradYear)
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Flushes are driven by the tests; the scheduled one would race their assertions
+@SpringBootTest(properties = "user.last-login.flush-interval-ms=3600000")
+@ActiveProfiles("test")
+@DisplayName("Last Login Buffer Tests")
+public class LastLoginBufferTest {
+
+    @Autowired
+    private LastLoginBuffer lastLoginBuffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        lastLoginBuffer.flush();
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("login@futo.edu.ng")
+                .firstName("Login")
+                .lastName("User")
+                .role(UserRole.STUDENT)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STUDENT)
+                .matricNumber("20201268050")
+                .gradYear(2030)
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated logins into one pending stamp written by one flush")
+    void testCoalescesLogins() {
+        // Given
+        LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // When
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        double pending = meterRegistry.get("user.last-login.pending").gauge().value();
+        lastLoginBuffer.flush();
+
+        // Then
+        assertThat(pending).isEqualTo(1);
+        assertThat(meterRegistry.get("user.last-login.pending").gauge().value()).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getLastLoginAt()).isAfterOrEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should drop the flushed users from the local cache without writing outbox events")
+    void testInvalidatesLocallyWithoutOutboxEvents() {
+        // Given
+        assertThat(userService.getUserById(user.getId()).getLastLoginAt()).isNull();
+
+        // When
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        lastLoginBuffer.flush();
+
+        // Then
+        assertThat(userService.getUserById(user.getId()).getLastLoginAt()).isNotNull();
+        assertThat(userService.getUserByEmail(user.getEmail()).getLastLoginAt()).isNotNull();
+        assertThat(outboxEventRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never move a newer last login backwards")
+    void testNeverMovesLastLoginBackwards() {
+        // Given
+        LocalDateTime newer = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> userRepository.recordLastLogins(List.of(user.getId()), newer));
+
+        // When
+        lastLoginBuffer.record(user.getId(), user.getEmail());
+        lastLoginBuffer.flush();
+
+        // Then
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getLastLoginAt()).isEqualTo(newer);
+    }
+
+    @Test
+    @DisplayName("Should flush pending stamps when the application shuts down")
+    void testFlushesOnShutdown() {
+        // Given
+        UserRepository repository = mock(UserRepository.class);
+        UserCache cache = mock(UserCache.class);
+
+        // When
+        new ApplicationContextRunner()
+                .withBean(UserRepository.class, () -> repository)
+                .withBean(UserCache.class, () -> cache)
+                .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(LastLoginBuffer.class)
+                .run(context -> context.getBean(LastLoginBuffer.class).record("user-1", "user1@futo.edu.ng"));
+
+        // Then
+        verify(repository).recordLastLogins(any(), any());
+        verify(cache).invalidate("user-1", "user1@futo.edu.ng");
+    }
+}
@@ -0,0 +1,150 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportErrorDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserImportReportDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.OutboxEvent;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
+import ng.edu.futo.sict_e_library.user_service.enums.UserEventType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "user.import.chunk-size=4")
+@ActiveProfiles("test")
+@DisplayName("User Import Service Tests")
+public class UserImportServiceTest {
+
+    private static final String HEADER = "email,first_name,last_name,role,account_type,staff_id,department\n";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import valid rows and report each invalid row with its line number")
+    void testPartialFailureReport() {
+        // Given
+        String csv = HEADER
+                + staffRow("ada@futo.edu.ng", "SS/001")
+                + "not-an-email,Bad,Email,ACADEMIC_STAFF,STAFF,SS/002,SICT\n"
+                + "chi@futo.edu.ng,Chi,Obi,ACADEMIC_STAFF,STAFF,,SICT\n"
+                + staffRow("dayo@futo.edu.ng", "SS/004")
+                + "eze@futo.edu.ng,\"Eze,Obi\n"
+                + staffRow("femi@futo.edu.ng", "SS/006");
+
+        // When
+        UserImportReportDTO report = importCsv(csv);
+
+        // Then
+        assertThat(report.getTotalRows()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(UserImportErrorDTO::getLine).containsExactly(3L, 4L, 6L);
+        assertThat(report.getErrors().get(1).getMessage()).contains("Staff ID is required");
+        assertThat(report.getErrors().get(2).getMessage()).isEqualTo("Unterminated quoted field");
+        assertThat(userRepository.findAll()).extracting(User::getEmail)
+                .containsExactlyInAnyOrder("ada@futo.edu.ng", "dayo@futo.edu.ng", "femi@futo.edu.ng");
+        assertThat(outboxEventRepository.findAll())
+                .hasSize(3)
+                .allMatch(event -> event.getEventType().equals(UserEventType.USER_REGISTERED.name()));
+    }
+
+    @Test
+    @DisplayName("Should reject identifiers that already exist or repeat within the file")
+    void testDuplicateDetection() {
+        // Given
+        userRepository.save(User.builder()
+                .email("existing@futo.edu.ng")
+                .firstName("Existing")
+                .lastName("User")
+                .role(UserRole.ACADEMIC_STAFF)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STAFF)
+                .staffId("SS/100")
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build());
+        String csv = HEADER
+                + staffRow("existing@futo.edu.ng", "SS/101")
+                + staffRow("new@futo.edu.ng", "SS/100")
+                + staffRow("twice@futo.edu.ng", "SS/102")
+                + staffRow("twice@futo.edu.ng", "SS/103")
+                + staffRow("other@futo.edu.ng", "SS/102");
+
+        // When
+        UserImportReportDTO report = importCsv(csv);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(UserImportErrorDTO::getLine, UserImportErrorDTO::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "User with email existing@futo.edu.ng already exists"),
+                        tuple(3L, "User with staff ID SS/100 already exists"),
+                        tuple(5L, "Email twice@futo.edu.ng appears more than once in the import"),
+                        tuple(6L, "Staff ID SS/102 appears more than once in the import"));
+        assertThat(userRepository.findByEmail("twice@futo.edu.ng")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should commit the good rows of a chunk whose insert fails and report only the bad row")
+    void testChunkCommitIsolatesFailingRow() {
+        // Given - a department longer than the column passes validation but fails the insert
+        String csv = HEADER
+                + staffRow("a@futo.edu.ng", "SS/201")
+                + staffRow("b@futo.edu.ng", "SS/202")
+                + "c@futo.edu.ng,C,User,ACADEMIC_STAFF,STAFF,SS/203," + "x".repeat(101) + "\n"
+                + staffRow("d@futo.edu.ng", "SS/204")
+                + staffRow("e@futo.edu.ng", "SS/205");
+
+        // When
+        UserImportReportDTO report = importCsv(csv);
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(4);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(4);
+            assertThat(error.getEmail()).isEqualTo("c@futo.edu.ng");
+            assertThat(error.getMessage()).startsWith("Could not be saved");
+        });
+        assertThat(userRepository.findAll()).extracting(User::getEmail)
+                .containsExactlyInAnyOrder("a@futo.edu.ng", "b@futo.edu.ng", "d@futo.edu.ng", "e@futo.edu.ng");
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getEmail)
+                .containsExactlyInAnyOrder("a@futo.edu.ng", "b@futo.edu.ng", "d@futo.edu.ng", "e@futo.edu.ng");
+    }
+
+    private UserImportReportDTO importCsv(String csv) {
+        return userImportService.importUsers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV);
+    }
+
+    private static String staffRow(String email, String staffId) {
+        return email + ",First,Last,ACADEMIC_STAFF,STAFF," + staffId + ",SICT\n";
+    }
+}
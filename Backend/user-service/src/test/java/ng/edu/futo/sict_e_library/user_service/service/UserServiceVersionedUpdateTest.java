@@ -0,0 +1,137 @@
+package ng.edu.futo.sict_e_library.user_service.service;
+
+import ng.edu.futo.sict_e_library.user_service.dto.request.ProfileUpdateRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.request.RoleUpdateRequestDTO;
+import ng.edu.futo.sict_e_library.user_service.dto.response.UserResponseDTO;
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.exception.StaleUserVersionException;
+import ng.edu.futo.sict_e_library.user_service.exception.UserNotFoundException;
+import ng.edu.futo.sict_e_library.user_service.repository.OutboxEventRepository;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("User Service Versioned Update Tests")
+public class UserServiceVersionedUpdateTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(User.builder()
+                .email("versioned@futo.edu.ng")
+                .firstName("Versioned")
+                .lastName("User")
+                .role(UserRole.ACADEMIC_STAFF)
+                .status(UserStatus.ACTIVE)
+                .accountType(AccountType.STAFF)
+                .staffId("SS/300")
+                .emailVerified(true)
+                .accountNotExpired(true)
+                .accountNotLocked(true)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should retry against a fresh read when the cached version is stale")
+    void testStaleCachedVersionSucceeds() {
+        // Given - the cached copy is read, then another replica changes the row behind it
+        long cachedVersion = userService.getUserById(user.getId()).getVersion();
+        changeRoleBehindCache(UserRole.ADMIN_STAFF, cachedVersion);
+        assertThat(userService.getUserById(user.getId()).getVersion()).isEqualTo(cachedVersion);
+
+        // When
+        UserResponseDTO updated = userService.updateProfile(user.getId(), ProfileUpdateRequestDTO.builder()
+                .department("SICT")
+                .version(cachedVersion + 1)
+                .build());
+
+        // Then
+        assertThat(updated.getVersion()).isEqualTo(cachedVersion + 2);
+        assertThat(updated.getRole()).isEqualTo(UserRole.ADMIN_STAFF);
+        assertThat(updated.getDepartment()).isEqualTo("SICT");
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(cachedVersion + 2);
+        assertThat(stored.getDepartment()).isEqualTo("SICT");
+        assertThat(userService.getUserById(user.getId()).getVersion()).isEqualTo(cachedVersion + 2);
+    }
+
+    @Test
+    @DisplayName("Should apply an unversioned update after a stale cached read")
+    void testStaleCachedVersionWithoutExpectedVersion() {
+        // Given
+        long cachedVersion = userService.getUserById(user.getId()).getVersion();
+        changeRoleBehindCache(UserRole.ADMIN_STAFF, cachedVersion);
+
+        // When
+        UserResponseDTO updated = userService.updateUserStatus(user.getId(), UserStatus.SUSPENDED, null);
+
+        // Then
+        assertThat(updated.getVersion()).isEqualTo(cachedVersion + 2);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getStatus()).isEqualTo(UserStatus.SUSPENDED);
+    }
+
+    @Test
+    @DisplayName("Should reject an update based on a version someone else has since changed")
+    void testConcurrentModificationIsRejected() {
+        // Given - two clients read the same version and the first one wins
+        long readVersion = userService.getUserById(user.getId()).getVersion();
+        userService.updateUserRole(user.getId(), RoleUpdateRequestDTO.builder()
+                .newRole(UserRole.ADMIN_STAFF)
+                .version(readVersion)
+                .build());
+
+        // When / Then
+        assertThatThrownBy(() -> userService.updateProfile(user.getId(), ProfileUpdateRequestDTO.builder()
+                .department("SICT")
+                .version(readVersion)
+                .build()))
+                .isInstanceOf(StaleUserVersionException.class);
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getVersion()).isEqualTo(readVersion + 1);
+        assertThat(stored.getDepartment()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should report a missing user instead of a conflict")
+    void testMissingUser() {
+        // When / Then
+        assertThatThrownBy(() -> userService.updateUserStatus("no-such-user", UserStatus.SUSPENDED, 0L))
+                .isInstanceOf(UserNotFoundException.class);
+    }
+
+    private void changeRoleBehindCache(UserRole role, long version) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                assertThat(userRepository.updateRole(user.getId(), role, LocalDateTime.now(), version)).isEqualTo(1));
+    }
+}
@@ -0,0 +1,80 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Email Validator Tests")
+public class EmailValidatorTest {
+
+    private MockEnvironment environment;
+    private EmailValidator emailValidator;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("faculty.email.allowed-domains", "futo.edu.ng, staff.example.org")
+                .withProperty("faculty.email.validation-enabled", "true");
+        emailValidator = new EmailValidator(environment);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"student@futo.edu.ng", "Lecturer@FUTO.Edu.NG", "dean@sict.futo.edu.ng",
+            "someone@students.sict.futo.edu.ng", "admin@staff.example.org"})
+    @DisplayName("Should accept allowed domains and their subdomains in any case")
+    void testAcceptsAllowedDomains(String email) {
+        assertThat(emailValidator.isValidFacultyEmail(email)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"student@notfuto.edu.ng", "student@futo.edu.ng.evil.com", "student@edu.ng",
+            "student@.futo.edu.ng", "student@futo.edu.ng.", "student@", "futo.edu.ng", "student@example.org", " "})
+    @DisplayName("Should reject lookalike, partial and malformed domains")
+    void testRejectsOtherDomains(String email) {
+        assertThat(emailValidator.isValidFacultyEmail(email)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should accept everything when validation is disabled")
+    void testValidationDisabled() {
+        // Given
+        environment.setProperty("faculty.email.validation-enabled", "false");
+
+        // When
+        emailValidator.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("faculty.email.validation-enabled")));
+
+        // Then
+        assertThat(emailValidator.isValidFacultyEmail("anyone@gmail.com")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should swap in new domains on a config refresh and keep the old ones if the new value is invalid")
+    void testRebuildOnEnvironmentChange() {
+        // Given
+        environment.setProperty("faculty.email.allowed-domains", "unn.edu.ng");
+
+        // When
+        emailValidator.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("faculty.email.allowed-domains")));
+
+        // Then
+        assertThat(emailValidator.isValidFacultyEmail("student@unn.edu.ng")).isTrue();
+        assertThat(emailValidator.isValidFacultyEmail("student@futo.edu.ng")).isFalse();
+        assertThat(emailValidator.getAllowedDomains()).containsExactly("unn.edu.ng");
+
+        // When
+        environment.setProperty("faculty.email.validation-enabled", "maybe");
+        emailValidator.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("faculty.email.validation-enabled")));
+
+        // Then
+        assertThat(emailValidator.isValidFacultyEmail("student@unn.edu.ng")).isTrue();
+        assertThat(emailValidator.isValidFacultyEmail("anyone@gmail.com")).isFalse();
+    }
+}
@@ -0,0 +1,87 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import ng.edu.futo.sict_e_library.user_service.entity.User;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.enums.UserStatus;
+import ng.edu.futo.sict_e_library.user_service.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("User Data Generator Tests")
+public class UserDataGeneratorTest {
+
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 10, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Should generate the same rows for the same seed and different rows for another seed")
+    void testDeterministic() {
+        // Given
+        UserDataGenerator first = new UserDataGenerator(42, REFERENCE_DATE);
+        UserDataGenerator second = new UserDataGenerator(42, REFERENCE_DATE);
+        UserDataGenerator other = new UserDataGenerator(7, REFERENCE_DATE);
+
+        // When & Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(first.row(i)).isEqualTo(second.row(i));
+            assertThat(first.row(i)[0]).isEqualTo(first.userId(i));
+            assertThat(first.row(i)[1]).isEqualTo(first.email(i));
+            assertThat(first.userId(i)).isNotEqualTo(other.userId(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should load into the users table with unique identifiers and a realistic mix")
+    void testRowsLoadIntoUsersTable() {
+        // Given
+        UserDataGenerator generator = new UserDataGenerator(42, REFERENCE_DATE);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            rows.add(generator.row(i));
+        }
+
+        // When
+        jdbcTemplate.batchUpdate(UserDataGenerator.INSERT_SQL, rows);
+        List<User> users = userRepository.findAll();
+
+        // Then
+        assertThat(users).hasSize(2_000);
+        assertThat(users).extracting(User::getEmail).doesNotHaveDuplicates();
+        assertThat(users).extracting(User::getMatricNumber).filteredOn(Objects::nonNull).doesNotHaveDuplicates();
+
+        Map<UserRole, Long> byRole = users.stream().collect(Collectors.groupingBy(User::getRole, Collectors.counting()));
+        assertThat(byRole.get(UserRole.STUDENT)).isBetween(1_600L, 1_800L);
+        assertThat(byRole).containsKeys(UserRole.ACADEMIC_STAFF, UserRole.ADMIN_STAFF, UserRole.GUEST);
+
+        List<User> students = users.stream().filter(user -> user.getRole() == UserRole.STUDENT).toList();
+        assertThat(students).allSatisfy(student -> assertThat(student.getGradYear()).isNotNull());
+        assertThat(students).anySatisfy(student -> {
+            assertThat(student.getGradYear()).isLessThan(REFERENCE_DATE.getYear());
+            assertThat(student.getStatus()).isEqualTo(UserStatus.ACTIVE);
+        });
+        assertThat(users).filteredOn(user -> user.getStatus() == UserStatus.EXPIRED)
+                .isNotEmpty()
+                .allSatisfy(user -> assertThat(user.getAccountNotExpired()).isFalse());
+        assertThat(users).allSatisfy(user -> assertThat(user.getCreatedAt()).isBefore(REFERENCE_DATE.plusDays(1).atStartOfDay()));
+    }
+}
@@ -0,0 +1,157 @@
+package ng.edu.futo.sict_e_library.user_service.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ng.edu.futo.sict_e_library.user_service.enums.AccountType;
+import ng.edu.futo.sict_e_library.user_service.enums.ImportFormat;
+import ng.edu.futo.sict_e_library.user_service.enums.UserRole;
+import ng.edu.futo.sict_e_library.user_service.exception.InvalidImportException;
+import ng.edu.futo.sict_e_library.user_service.util.UserImportReader.ImportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("User Import Reader Tests")
+public class UserImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should keep commas inside quoted fields and unescape doubled quotes")
+    void testQuotedFields() {
+        // Given
+        String csv = "email,firstName,lastName,department\n"
+                + "ada@futo.edu.ng,Ada,\"Obi, Jr.\",\"Computer \"\"Science\"\"\"\n";
+
+        // When
+        List<ImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        // Then
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.error()).isNull();
+            assertThat(row.line()).isEqualTo(2);
+            assertThat(row.request().getLastName()).isEqualTo("Obi, Jr.");
+            assertThat(row.request().getDepartment()).isEqualTo("Computer \"Science\"");
+        });
+    }
+
+    @Test
+    @DisplayName("Should report an unterminated quote as a row error and carry on")
+    void testUnterminatedQuote() {
+        // Given
+        String csv = """
+                email,firstName,lastName
+                ada@futo.edu.ng,"Ada,Obi
+                bayo@futo.edu.ng,Bayo,Ade
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).request()).isNull();
+        assertThat(rows.get(0).error()).isEqualTo("Unterminated quoted field");
+        assertThat(rows.get(1).error()).isNull();
+        assertThat(rows.get(1).request().getEmail()).isEqualTo("bayo@futo.edu.ng");
+    }
+
+    @Test
+    @DisplayName("Should reject a header with an unterminated quote")
+    void testUnterminatedQuoteInHeader() {
+        // Given
+        String csv = "email,\"firstName,lastName\nada@futo.edu.ng,Ada,Obi\n";
+
+        // When / Then
+        assertThatThrownBy(() -> readAll(csv, ImportFormat.CSV))
+                .isInstanceOf(InvalidImportException.class)
+                .hasMessageContaining("unterminated");
+    }
+
+    @Test
+    @DisplayName("Should normalise header names and ignore unknown columns")
+    void testHeaderNormalisation() {
+        // Given
+        String csv = "﻿ EMAIL ,First_Name,last_name,Account_Type,role,staff_id,favourite_colour\n"
+                + "emeka@futo.edu.ng,Emeka,Eze,staff,academic_staff,SS/001,blue\n";
+
+        // When
+        List<ImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        // Then
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.error()).isNull();
+            assertThat(row.request().getEmail()).isEqualTo("emeka@futo.edu.ng");
+            assertThat(row.request().getFirstName()).isEqualTo("Emeka");
+            assertThat(row.request().getLastName()).isEqualTo("Eze");
+            assertThat(row.request().getAccountType()).isEqualTo(AccountType.STAFF);
+            assertThat(row.request().getRole()).isEqualTo(UserRole.ACADEMIC_STAFF);
+            assertThat(row.request().getStaffId()).isEqualTo("SS/001");
+        });
+    }
+
+    @Test
+    @DisplayName("Should require an email column")
+    void testMissingEmailHeader() {
+        // Given
+        String csv = "firstName,lastName\nAda,Obi\n";
+
+        // When / Then
+        assertThatThrownBy(() -> readAll(csv, ImportFormat.CSV))
+                .isInstanceOf(InvalidImportException.class);
+    }
+
+    @Test
+    @DisplayName("Should report field count mismatches and bad values with their line numbers")
+    void testRowErrors() {
+        // Given
+        String csv = """
+                email,firstName,role
+
+                ada@futo.edu.ng,Ada
+                bayo@futo.edu.ng,Bayo,janitor
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(csv, ImportFormat.CSV);
+
+        // Then
+        assertThat(rows).extracting(ImportRow::line).containsExactly(3L, 4L);
+        assertThat(rows.get(0).error()).isEqualTo("Expected 3 fields but found 2");
+        assertThat(rows.get(1).error()).isEqualTo("Invalid role: janitor");
+    }
+
+    @Test
+    @DisplayName("Should read NDJSON and report malformed lines")
+    void testNdjson() {
+        // Given
+        String ndjson = """
+                {"email":"ada@futo.edu.ng","firstName":"Ada"}
+                {"email":
+                """;
+
+        // When
+        List<ImportRow> rows = readAll(ndjson, ImportFormat.NDJSON);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).request().getFirstName()).isEqualTo("Ada");
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+    }
+
+    private List<ImportRow> readAll(String body, ImportFormat format) {
+        List<ImportRow> rows = new ArrayList<>();
+        UserImportReader reader = new UserImportReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, objectMapper);
+        for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
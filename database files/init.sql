@@ -7,7 +7,7 @@ CREATE DATABASE IF NOT EXISTS user_db;
 -- Create users table (will be auto-created by JPA, but this is for reference)
 CREATE TABLE IF NOT EXISTS users (
     id VARCHAR(255) PRIMARY KEY,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,
     first_name VARCHAR(100) NOT NULL,
     last_name VARCHAR(100) NOT NULL,
     role VARCHAR(20) NOT NULL,
@@ -15,8 +15,8 @@ CREATE TABLE IF NOT EXISTS users (
     account_type VARCHAR(20) NOT NULL,
     phone_number VARCHAR(20),
     department VARCHAR(100),
-    matric_number VARCHAR(50) UNIQUE,
-    staff_id VARCHAR(50) UNIQUE,
+    matric_number VARCHAR(50),
+    staff_id VARCHAR(50),
     graduation_year INTEGER,
     email_verified BOOLEAN NOT NULL DEFAULT FALSE,
     account_non_expired BOOLEAN NOT NULL DEFAULT TRUE,
@@ -24,14 +24,27 @@ CREATE TABLE IF NOT EXISTS users (
     created_at TIMESTAMP NOT NULL,
     updated_at TIMESTAMP NOT NULL,
     last_login_at TIMESTAMP,
-    expiry_warning_email_sent_at TIMESTAMP
+    expiry_warning_email_sent_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Named so duplicate registrations can be reported per identifier (see User.EMAIL_CONSTRAINT etc.)
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_matric_number UNIQUE (matric_number),
+    CONSTRAINT uk_users_staff_id UNIQUE (staff_id)
 );
 
--- Create indexes
-CREATE INDEX IF NOT EXISTS idx_email ON users(email);
+-- Create indexes (email, matric_number and staff_id are indexed by their unique constraints)
 CREATE INDEX IF NOT EXISTS idx_status ON users(status);
-CREATE INDEX IF NOT EXISTS idx_role ON users(role);
-CREATE INDEX IF NOT EXISTS idx_graduation_year ON users(graduation_year);
+-- idx_role used to cover role alone; IF NOT EXISTS would keep that definition, so drop it by name
+DROP INDEX IF EXISTS idx_role;
+CREATE INDEX IF NOT EXISTS idx_role_created_at_id ON users(role, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_graduation_year ON users(graduation_year, status);
+CREATE INDEX IF NOT EXISTS idx_created_at_id ON users(created_at, id);
+
+-- Trigram indexes for user search (also applied at startup by UserSearchIndexInitializer)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (LOWER(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (LOWER(last_name) gin_trgm_ops);
 
 -- Grant privileges
 GRANT ALL PRIVILEGES ON DATABASE user_db TO username;
\ No newline at end of file
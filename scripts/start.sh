@@ -0,0 +1,157 @@
+#!/usr/bin/env bash
+# Starts the e-library services from their built jars (mvn package in each Backend module).
+#
+#   scripts/start.sh [--aot] [--cds] [service...]
+#
+#   --aot   run with the bean definitions generated at build time (build with mvn -Paot package)
+#   --cds   run from an extracted jar with a class data sharing archive; the archive is created by a
+#           training run the first time and again whenever the jar changes
+#
+# Discovery and config start first and are waited for; the other services then start together.
+# Logs, pid files and CDS archives go to run/<service>/. JAVA_OPTS applies to every service and
+# JAVA_OPTS_<SERVICE> (e.g. JAVA_OPTS_USER_SERVICE="-Xmx384m") to one. scripts/startup-report.sh
+# prints startup time and memory per service afterwards.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUN_DIR="${RUN_DIR:-$ROOT/run}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAVA_OPTS="${JAVA_OPTS:--XX:+UseSerialGC -Xss512k -Xmx256m}"
+START_TIMEOUT="${START_TIMEOUT:-180}"
+
+INFRASTRUCTURE=(service-discovery config-service)
+SERVICES=(auth-service user-service document-service approval-service notification-service gateway-service)
+
+AOT=false
+CDS=false
+SELECTED=()
+for arg in "$@"; do
+    case "$arg" in
+        --aot) AOT=true ;;
+        --cds) CDS=true ;;
+        -h|--help) sed -n '2,14p' "$0"; exit 0 ;;
+        *) SELECTED+=("$arg") ;;
+    esac
+done
+
+log() { echo "[start] $*"; }
+
+# The runnable jar of a module: the -exec classifier when the module publishes a plain jar too
+find_jar() {
+    local target="$ROOT/Backend/$1/target"
+    local jar
+    jar=$(ls "$target"/"$1"-*-exec.jar 2>/dev/null | head -n 1 || true)
+    if [[ -z "$jar" ]]; then
+        jar=$(ls "$target"/"$1"-*.jar 2>/dev/null | grep -v -e '-plain.jar$' | head -n 1 || true)
+    fi
+    [[ -n "$jar" ]] || { echo "[start] no jar for $1, run mvn package in Backend/$1" >&2; return 1; }
+    echo "$jar"
+}
+
+is_running() {
+    local pid_file="$RUN_DIR/$1/$1.pid"
+    [[ -f "$pid_file" ]] && kill -0 "$(cat "$pid_file")" 2>/dev/null
+}
+
+service_opts() {
+    local var="JAVA_OPTS_$(echo "$1" | tr 'a-z-' 'A-Z_')"
+    local opts="$JAVA_OPTS ${!var:-}"
+    if $AOT; then
+        # Refresh scope is left out of the generated context, see the aot profile in the module's pom
+        opts="$opts -Dspring.aot.enabled=true -Dspring.cloud.refresh.enabled=false"
+    fi
+    echo "$opts"
+}
+
+# The archive is kept per mode, since an AOT run loads a different set of classes
+cds_archive() {
+    if $AOT; then echo "$1-aot.jsa"; else echo "$1.jsa"; fi
+}
+
+# Extracts the jar and runs the context once to record the classes it loads
+prepare_cds() {
+    local service=$1 jar=$2 dir="$RUN_DIR/$1/cds"
+    local archive
+    archive=$(cds_archive "$service")
+    if [[ ! -f "$dir/$(basename "$jar")" || "$jar" -nt "$dir/$(basename "$jar")" ]]; then
+        rm -rf "$dir"
+        "$JAVA" -Djarmode=tools -jar "$jar" extract --destination "$dir" >/dev/null
+    elif [[ -f "$dir/$archive" ]]; then
+        return 0
+    fi
+    log "$service: creating class data sharing archive"
+    # shellcheck disable=SC2046
+    (cd "$dir" && "$JAVA" $(service_opts "$service") -XX:ArchiveClassesAtExit="$archive" \
+        -Dspring.context.exit=onRefresh -jar "$(basename "$jar")") > "$RUN_DIR/$service/cds-training.log" 2>&1 \
+        || { log "$service: training run failed, see run/$service/cds-training.log"; return 1; }
+}
+
+launch() {
+    local service=$1 jar
+    if is_running "$service"; then
+        log "$service already running (pid $(cat "$RUN_DIR/$service/$service.pid"))"
+        return 0
+    fi
+    jar=$(find_jar "$service") || return 1
+    mkdir -p "$RUN_DIR/$service"
+
+    local opts workdir="$RUN_DIR/$service" target="$jar"
+    opts=$(service_opts "$service")
+    if $CDS; then
+        prepare_cds "$service" "$jar" || return 1
+        workdir="$RUN_DIR/$service/cds"
+        target="$(basename "$jar")"
+        opts="$opts -XX:SharedArchiveFile=$(cds_archive "$service")"
+    fi
+
+    # shellcheck disable=SC2086
+    (cd "$workdir" && exec nohup "$JAVA" $opts -jar "$target" > "$RUN_DIR/$service/$service.log" 2>&1) &
+    echo $! > "$RUN_DIR/$service/$service.pid"
+    log "$service started (pid $!)"
+}
+
+# Waits for Spring Boot's "Started ... in N seconds" line
+await_started() {
+    local service=$1 waited=0
+    while ! grep -q "Started .* in [0-9.]* seconds" "$RUN_DIR/$service/$service.log" 2>/dev/null; do
+        if ! is_running "$service"; then
+            log "$service exited, see run/$service/$service.log"
+            return 1
+        fi
+        if (( waited >= START_TIMEOUT )); then
+            log "$service not started after ${START_TIMEOUT}s, see run/$service/$service.log"
+            return 1
+        fi
+        sleep 1
+        waited=$((waited + 1))
+    done
+    log "$service up"
+}
+
+contains() {
+    local item=$1; shift
+    [[ $# -eq 0 ]] && return 0
+    local candidate
+    for candidate in "$@"; do [[ "$candidate" == "$item" ]] && return 0; done
+    return 1
+}
+
+mkdir -p "$RUN_DIR"
+failed=0
+
+for service in "${INFRASTRUCTURE[@]}"; do
+    contains "$service" ${SELECTED[@]+"${SELECTED[@]}"} || continue
+    { launch "$service" && await_started "$service"; } || failed=1
+done
+
+started=()
+for service in "${SERVICES[@]}"; do
+    contains "$service" ${SELECTED[@]+"${SELECTED[@]}"} || continue
+    if launch "$service"; then started+=("$service"); else failed=1; fi
+done
+for service in ${started[@]+"${started[@]}"}; do
+    await_started "$service" || failed=1
+done
+
+exit $failed
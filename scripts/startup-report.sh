@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Startup time and memory of each service started by scripts/start.sh.
+#
+#   scripts/startup-report.sh
+#
+# Startup is Spring Boot's own "Started ... in N seconds (process running for M)" line; RSS and
+# PSS come from /proc. PSS splits shared pages (the CDS archive, shared libraries) between the
+# processes mapping them, so its total is what the stack really costs the machine.
+
+set -uo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUN_DIR="${RUN_DIR:-$ROOT/run}"
+
+kb_field() {
+    awk -v field="$1:" '$1 == field { print $2 }' "$2" 2>/dev/null
+}
+
+printf '%-22s %8s %12s %12s %10s %10s\n' service pid context_s process_s rss_mb pss_mb
+total_rss=0
+total_pss=0
+for pid_file in "$RUN_DIR"/*/*.pid; do
+    [[ -f "$pid_file" ]] || continue
+    service=$(basename "$pid_file" .pid)
+    pid=$(cat "$pid_file")
+    line=$(grep -o "Started .* in [0-9.]* seconds (process running for [0-9.]*)" \
+        "$RUN_DIR/$service/$service.log" 2>/dev/null | tail -n 1)
+    context=$(echo "$line" | sed -n 's/.* in \([0-9.]*\) seconds.*/\1/p')
+    process=$(echo "$line" | sed -n 's/.*running for \([0-9.]*\))/\1/p')
+    if kill -0 "$pid" 2>/dev/null; then
+        rss=$(kb_field VmRSS "/proc/$pid/status")
+        pss=$(kb_field Pss "/proc/$pid/smaps_rollup")
+    else
+        rss=""
+        pss=""
+    fi
+    total_rss=$((total_rss + ${rss:-0}))
+    total_pss=$((total_pss + ${pss:-0}))
+    printf '%-22s %8s %12s %12s %10s %10s\n' "$service" "$pid" "${context:--}" "${process:--}" \
+        "$([[ -n "$rss" ]] && echo $((rss / 1024)) || echo -)" "$([[ -n "$pss" ]] && echo $((pss / 1024)) || echo -)"
+done
+printf '%-22s %8s %12s %12s %10s %10s\n' total "" "" "" $((total_rss / 1024)) $((total_pss / 1024))
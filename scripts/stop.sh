@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Stops the services started by scripts/start.sh, gateway first and discovery last.
+#
+#   scripts/stop.sh [service...]
+
+set -uo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUN_DIR="${RUN_DIR:-$ROOT/run}"
+STOP_TIMEOUT="${STOP_TIMEOUT:-30}"
+
+ORDER=(gateway-service notification-service approval-service document-service user-service auth-service
+       config-service service-discovery)
+if [[ $# -gt 0 ]]; then
+    ORDER=("$@")
+fi
+
+for service in "${ORDER[@]}"; do
+    pid_file="$RUN_DIR/$service/$service.pid"
+    [[ -f "$pid_file" ]] || continue
+    pid=$(cat "$pid_file")
+    if kill -0 "$pid" 2>/dev/null; then
+        # SIGTERM lets Spring shut down gracefully (outbox relay, buffered last-login writes)
+        kill "$pid"
+        for _ in $(seq "$STOP_TIMEOUT"); do
+            kill -0 "$pid" 2>/dev/null || break
+            sleep 1
+        done
+        if kill -0 "$pid" 2>/dev/null; then
+            echo "[stop] $service did not stop after ${STOP_TIMEOUT}s, killing"
+            kill -9 "$pid"
+        fi
+        echo "[stop] $service stopped"
+    fi
+    rm -f "$pid_file"
+done